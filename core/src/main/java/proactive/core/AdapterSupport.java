@@ -10,16 +10,47 @@ import java.util.function.Consumer;
 
 /**
  * Provides adaptors for bridging between Reactive Streams {@link Publisher} classes and Java 9 {@link Flow} ones.
+ * <p>
+ * Classes implementing both interfaces, such as the {@link DualSubscriber} and {@link DualSubscription} types,
+ * cross the boundary with a cast rather than a wrapper. Adaptors are unwrapped rather than wrapped again on the way
+ * back, and the subscriber and subscription adaptors are themselves dual, so a signal never passes through more than
+ * one adaptor layer however often it crosses.
+ * <p>
+ * The publisher adaptors implement only the interface they adapt to, since a publisher of both kinds is ambiguous
+ * to methods overloaded on each, such as {@link ProactiveDriver#toContext(Publisher)}.
  */
 public final class AdapterSupport {
     private AdapterSupport() {
     }
 
+    /**
+     * A subscriber implementing both the Reactive Streams and {@link Flow} interfaces. Implementations need only
+     * provide {@link #onSubscribe(Subscription)}.
+     *
+     * @param <T> The value type.
+     */
+    public interface DualSubscriber<T> extends Subscriber<T>, Flow.Subscriber<T> {
+        @Override
+        default void onSubscribe(Flow.Subscription subscription) {
+            onSubscribe(toSubscription(subscription));
+        }
+    }
+
+    /**
+     * A subscription implementing both the Reactive Streams and {@link Flow} interfaces, whose methods are the same.
+     */
+    public interface DualSubscription extends Subscription, Flow.Subscription {
+    }
+
     public static <T> Publisher<T> toPublisher(Flow.Publisher<T> publisher) {
         if (publisher == null) {
             throw new NullPointerException("publisher");
         } else if (publisher instanceof FlowPublisherFromPublisher) {
             return ((FlowPublisherFromPublisher<T>) publisher).publisher;
+        } else if (publisher instanceof Publisher) {
+            @SuppressWarnings("unchecked")
+            Publisher<T> dual = (Publisher<T>) publisher;
+            return dual;
         } else {
             return new PublisherFromFlowPublisher<>(publisher);
         }
@@ -30,6 +61,10 @@ public final class AdapterSupport {
             throw new NullPointerException("publisher");
         } else if (publisher instanceof PublisherFromFlowPublisher) {
             return ((PublisherFromFlowPublisher<T>) publisher).flowPublisher;
+        } else if (publisher instanceof Flow.Publisher) {
+            @SuppressWarnings("unchecked")
+            Flow.Publisher<T> dual = (Flow.Publisher<T>) publisher;
+            return dual;
         } else {
             return new FlowPublisherFromPublisher<>(publisher);
         }
@@ -40,6 +75,10 @@ public final class AdapterSupport {
             throw new NullPointerException("flowSubscriber");
         } else if (subscriber instanceof FlowSubscriberFromSubscriber) {
             return ((FlowSubscriberFromSubscriber<T>) subscriber).subscriber;
+        } else if (subscriber instanceof Subscriber) {
+            @SuppressWarnings("unchecked")
+            Subscriber<T> dual = (Subscriber<T>) subscriber;
+            return dual;
         } else {
             return new SubscriberFromFlowSubscriber<>(subscriber);
         }
@@ -49,7 +88,11 @@ public final class AdapterSupport {
         if (subscriber == null) {
             throw new NullPointerException("subscriber");
         } else if (subscriber instanceof SubscriberFromFlowSubscriber) {
-            return ((SubscriberFromFlowSubscriber<T>)subscriber).flowSubscriber;
+            return ((SubscriberFromFlowSubscriber<T>) subscriber).flowSubscriber;
+        } else if (subscriber instanceof Flow.Subscriber) {
+            @SuppressWarnings("unchecked")
+            Flow.Subscriber<T> dual = (Flow.Subscriber<T>) subscriber;
+            return dual;
         } else {
             return new FlowSubscriberFromSubscriber<>(subscriber);
         }
@@ -66,6 +109,8 @@ public final class AdapterSupport {
             throw new NullPointerException("flowSubscription");
         } else if (flowSubscription instanceof FlowSubscriptionFromSubscription) {
             return ((FlowSubscriptionFromSubscription) flowSubscription).subscription;
+        } else if (flowSubscription instanceof Subscription) {
+            return (Subscription) flowSubscription;
         } else {
             return new SubscriptionFromFlowSubscription(flowSubscription);
         }
@@ -82,6 +127,8 @@ public final class AdapterSupport {
             throw new NullPointerException("subscription");
         } else if (subscription instanceof SubscriptionFromFlowSubscription) {
             return ((SubscriptionFromFlowSubscription) subscription).flowSubscription;
+        } else if (subscription instanceof Flow.Subscription) {
+            return (Flow.Subscription) subscription;
         } else {
             return new FlowSubscriptionFromSubscription(subscription);
         }
@@ -149,7 +196,7 @@ public final class AdapterSupport {
      *
      * @param <T> The value type.
      */
-    static final class SubscriberFromFlowSubscriber<T> implements Subscriber<T> {
+    static final class SubscriberFromFlowSubscriber<T> implements DualSubscriber<T> {
 
         private final Flow.Subscriber<T> flowSubscriber;
 
@@ -162,6 +209,11 @@ public final class AdapterSupport {
             flowSubscriber.onSubscribe(toFlowSubscription(subscription));
         }
 
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            flowSubscriber.onSubscribe(subscription);
+        }
+
         @Override
         public void onNext(T item) {
             flowSubscriber.onNext(item);
@@ -178,7 +230,7 @@ public final class AdapterSupport {
         }
     }
 
-    static final class FlowSubscriberFromSubscriber<T> implements Flow.Subscriber<T> {
+    static final class FlowSubscriberFromSubscriber<T> implements DualSubscriber<T> {
 
         private final Subscriber<T> subscriber;
 
@@ -186,6 +238,11 @@ public final class AdapterSupport {
             this.subscriber = subscriber;
         }
 
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscriber.onSubscribe(subscription);
+        }
+
         @Override
         public void onSubscribe(Flow.Subscription subscription) {
             subscriber.onSubscribe(toSubscription(subscription));
@@ -210,7 +267,7 @@ public final class AdapterSupport {
     /**
      * Adapts a {@link Flow.Subscription} to a Reactive {@link Subscription}.
      */
-    static final class SubscriptionFromFlowSubscription implements Subscription {
+    static final class SubscriptionFromFlowSubscription implements DualSubscription {
         private final Flow.Subscription flowSubscription;
 
         SubscriptionFromFlowSubscription(Flow.Subscription flowSubscription) {
@@ -231,7 +288,7 @@ public final class AdapterSupport {
     /**
      * Adapts a Reactive {@link Subscription} to a {@link Flow.Subscription}.
      */
-    static final class FlowSubscriptionFromSubscription implements Flow.Subscription {
+    static final class FlowSubscriptionFromSubscription implements DualSubscription {
 
         private final Subscription subscription;
 
@@ -0,0 +1,204 @@
+package proactive.core;
+
+import org.reactivestreams.Publisher;
+
+import java.util.function.Predicate;
+
+/**
+ * Values held in an array, which can be scanned a chunk at a time rather than one signal at a time. Scanning tests
+ * a {@link Predicate} against a run of values in a single loop over the array, and only the indexes which pass are
+ * sent onwards, so bulk filters over known values run as tight, monomorphic loops the JIT can optimize.
+ * <p>
+ * Primitive arrays are held as they are, and each value is only boxed when it is tested or sent.
+ *
+ * @param <T> The value type.
+ * @see ChunkedArrayPublisher
+ */
+public abstract class ArraySource<T> {
+
+    /**
+     * @param values The values.
+     * @param <T> The value type.
+     * @return The {@link ArraySource}.
+     */
+    public static <T> ArraySource<T> of(T[] values) {
+        if (values == null) {
+            throw new NullPointerException("values");
+        }
+        return new ArraySource<T>() {
+            @Override
+            public int size() {
+                return values.length;
+            }
+
+            @Override
+            public T get(int index) {
+                return values[index];
+            }
+
+            @Override
+            public int scan(int from, int to, Predicate<? super T> predicate, int[] matches) {
+                int count = 0;
+                for (int i = from; i < to && count < matches.length; i++) {
+                    T value = values[i];
+                    if (value != null && predicate.test(value)) {
+                        matches[count++] = i;
+                    }
+                }
+                return count;
+            }
+        };
+    }
+
+    /**
+     * @param values The values.
+     * @return The {@link ArraySource}.
+     */
+    public static ArraySource<Integer> ofInts(int[] values) {
+        if (values == null) {
+            throw new NullPointerException("values");
+        }
+        return new ArraySource<Integer>() {
+            @Override
+            public int size() {
+                return values.length;
+            }
+
+            @Override
+            public Integer get(int index) {
+                return values[index];
+            }
+
+            @Override
+            public int scan(int from, int to, Predicate<? super Integer> predicate, int[] matches) {
+                int count = 0;
+                for (int i = from; i < to && count < matches.length; i++) {
+                    if (predicate.test(values[i])) {
+                        matches[count++] = i;
+                    }
+                }
+                return count;
+            }
+        };
+    }
+
+    /**
+     * @param values The values.
+     * @return The {@link ArraySource}.
+     */
+    public static ArraySource<Long> ofLongs(long[] values) {
+        if (values == null) {
+            throw new NullPointerException("values");
+        }
+        return new ArraySource<Long>() {
+            @Override
+            public int size() {
+                return values.length;
+            }
+
+            @Override
+            public Long get(int index) {
+                return values[index];
+            }
+
+            @Override
+            public int scan(int from, int to, Predicate<? super Long> predicate, int[] matches) {
+                int count = 0;
+                for (int i = from; i < to && count < matches.length; i++) {
+                    if (predicate.test(values[i])) {
+                        matches[count++] = i;
+                    }
+                }
+                return count;
+            }
+        };
+    }
+
+    /**
+     * @param values The values.
+     * @return The {@link ArraySource}.
+     */
+    public static ArraySource<Double> ofDoubles(double[] values) {
+        if (values == null) {
+            throw new NullPointerException("values");
+        }
+        return new ArraySource<Double>() {
+            @Override
+            public int size() {
+                return values.length;
+            }
+
+            @Override
+            public Double get(int index) {
+                return values[index];
+            }
+
+            @Override
+            public int scan(int from, int to, Predicate<? super Double> predicate, int[] matches) {
+                int count = 0;
+                for (int i = from; i < to && count < matches.length; i++) {
+                    if (predicate.test(values[i])) {
+                        matches[count++] = i;
+                    }
+                }
+                return count;
+            }
+        };
+    }
+
+    ArraySource() {
+    }
+
+    /**
+     * @return The number of values.
+     */
+    public abstract int size();
+
+    /**
+     * @param index The index of the value.
+     * @return The value, boxed if it is primitive, or <code>null</code> if there is none at that index.
+     */
+    public abstract T get(int index);
+
+    /**
+     * Tests the values from <code>from</code> up to <code>to</code> against the {@link Predicate}, in order, and
+     * writes the index of each which passes to <code>matches</code>. <code>null</code> elements are skipped without
+     * being tested. Scanning stops early once <code>matches</code> is full.
+     *
+     * @param from The index of the first value to test.
+     * @param to The index after the last value to test.
+     * @param predicate The {@link Predicate}.
+     * @param matches Receives the indexes of the values which pass.
+     * @return The number of indexes written.
+     */
+    public abstract int scan(int from, int to, Predicate<? super T> predicate, int[] matches);
+
+    /**
+     * @return A {@link Publisher} of every value.
+     */
+    public Publisher<T> publisher() {
+        return new ChunkedArrayPublisher<>(this, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param predicate The {@link Predicate}.
+     * @return A {@link Publisher} of the values which pass the {@link Predicate}, scanned a chunk at a time.
+     */
+    public Publisher<T> filter(Predicate<? super T> predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("predicate");
+        }
+        return new ChunkedArrayPublisher<>(this, predicate, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param predicate The {@link Predicate}.
+     * @return A {@link Publisher} of the first value which passes the {@link Predicate}, if any.
+     */
+    public Publisher<T> find(Predicate<? super T> predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("predicate");
+        }
+        return new ChunkedArrayPublisher<>(this, predicate, 1);
+    }
+}
@@ -1,10 +1,14 @@
 package proactive.core;
 
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import proactive.core.management.Statistics;
+
 import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
 import java.util.function.Consumer;
 
-import static proactive.core.ProactiveDriver.defaultDriver;
-
 /**
  * An abstract base class implementation of {@link Statement}.
  *
@@ -12,9 +16,32 @@ import static proactive.core.ProactiveDriver.defaultDriver;
  */
 public abstract class BaseStatement<O> implements Statement<O> {
 
+    /**
+     * The driver {@link ProactiveDriver.Find found} when the statement was built, or <code>null</code> if none was
+     * available then.
+     */
+    private final ProactiveDriver driver = ProactiveDriver.Find.find();
+
+    /**
+     * This statement {@link #optimize() optimized}, once it has first been executed.
+     */
+    private volatile Statement<O> optimized;
+
+    /**
+     * Provides the {@link ProactiveDriver} this statement executes with: the one current when it was built, so that
+     * executions neither look it up again nor change driver when the default does.
+     *
+     * @return The {@link ProactiveDriver}.
+     * @throws IllegalStateException if none is available.
+     */
+    protected final ProactiveDriver driver() {
+        ProactiveDriver driver = this.driver;
+        return driver != null ? driver : ProactiveDriver.defaultDriver();
+    }
+
     @Override
     public void now() {
-        defaultDriver().subscribe(get());
+        driver().subscribe(execute());
     }
 
     /**
@@ -27,7 +54,127 @@ public abstract class BaseStatement<O> implements Statement<O> {
      */
     @Override
     public void now(Consumer<? super O> nextConsumer, Consumer<? super Throwable> errorConsumer, Runnable completeConsumer, Runnable subscribeConsumer) {
-        defaultDriver().subscribe(get(), nextConsumer, errorConsumer, completeConsumer, subscribeConsumer);
+        driver().subscribe(execute(), nextConsumer, errorConsumer, completeConsumer, subscribeConsumer);
+    }
+
+    @Override
+    public O await() {
+        Awaiter<O> awaiter = new Awaiter<>();
+        driver().subscribe(execute(), awaiter);
+        return awaiter.await();
+    }
+
+    /**
+     * Provides the {@link Context} for a top-level execution of the {@link #optimize() optimized} statement,
+     * metered if {@link Statistics#isEnabled() statistics} are enabled.
+     *
+     * @return The {@link Context} to subscribe to.
+     */
+    private Context<O> execute() {
+        Statement<O> optimized = this.optimized;
+        if (optimized == null) {
+            ProactiveDriver.Find.Scope scope = ProactiveDriver.Find.bind(driver());
+            try {
+                this.optimized = optimized = optimize();
+            } finally {
+                scope.close();
+            }
+        }
+        Context<O> context = optimized.get();
+        if (Statistics.isEnabled()) {
+            return Statistics.meter(driver(), getClass(), context);
+        }
+        return context;
+    }
+
+    /**
+     * Returns a {@link Statement} which executes this one on the {@link Scheduler}. Use this to move a blocking or
+     * CPU-bound statement off the thread which triggers it.
+     *
+     * @param scheduler The {@link Scheduler} to run on.
+     * @return The scheduled {@link Statement}.
+     */
+    public Statement<O> runOn(Scheduler scheduler) {
+        return new ScheduledStatement<>(this, scheduler, false);
+    }
+
+    /**
+     * Returns a {@link Statement} which sends each value of this one from the {@link Scheduler}. Use this to keep
+     * the work of later statements off the thread which produces the values.
+     *
+     * @param scheduler The {@link Scheduler} to emit on.
+     * @return The scheduled {@link Statement}.
+     */
+    public Statement<O> emitOn(Scheduler scheduler) {
+        return new ScheduledStatement<>(this, scheduler, true);
+    }
+
+    /**
+     * Returns a {@link Statement} which executes this one on the shared {@link Schedulers#priority() priority}
+     * scheduler at the {@link Priority}. Interactive statements then keep their latency while batch statements use
+     * whatever capacity is left.
+     *
+     * @param priority The {@link Priority} to run at.
+     * @return The scheduled {@link Statement}.
+     */
+    public Statement<O> withPriority(Priority priority) {
+        return runOn(Schedulers.priority().at(priority));
+    }
+
+    /**
+     * A {@link Subscriber} which blocks the thread calling {@link #await()} until its statement completes.
+     *
+     * @param <O> The value type.
+     */
+    private static final class Awaiter<O> implements Subscriber<O> {
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Subscription subscription;
+        private volatile O last;
+        private volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(O value) {
+            last = value;
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+
+        O await() {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Subscription subscription = this.subscription;
+                if (subscription != null) {
+                    subscription.cancel();
+                }
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            Throwable error = this.error;
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            } else if (error instanceof Error) {
+                throw (Error) error;
+            } else if (error != null) {
+                throw new CompletionException(error);
+            }
+            return last;
+        }
     }
 
     @Override
@@ -0,0 +1,88 @@
+package proactive.core;
+
+import proactive.core.management.BatchStatisticsMXBean;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Striped counters backing a {@link BatchStatisticsMXBean}, shared by every execution of a batching statement.
+ */
+public final class BatchStatistics implements BatchStatisticsMXBean {
+
+    /**
+     * Why a batch was sent.
+     */
+    enum Flush {
+        SIZE, BYTES, LINGER, COMPLETION
+    }
+
+    private final int size;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder values = new LongAdder();
+    private final LongAdder sizeFlushes = new LongAdder();
+    private final LongAdder byteFlushes = new LongAdder();
+    private final LongAdder lingerFlushes = new LongAdder();
+    private final LongAdder completionFlushes = new LongAdder();
+
+    /**
+     * @param size The maximum batch size.
+     */
+    public BatchStatistics(int size) {
+        this.size = size;
+    }
+
+    void flushed(int count, Flush reason) {
+        batches.increment();
+        values.add(count);
+        switch (reason) {
+            case SIZE:
+                sizeFlushes.increment();
+                break;
+            case BYTES:
+                byteFlushes.increment();
+                break;
+            case LINGER:
+                lingerFlushes.increment();
+                break;
+            case COMPLETION:
+                completionFlushes.increment();
+                break;
+        }
+    }
+
+    @Override
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    @Override
+    public long getValues() {
+        return values.sum();
+    }
+
+    @Override
+    public double getFillRatio() {
+        long sent = batches.sum();
+        return sent == 0 ? 0.0 : (double) values.sum() / sent / size;
+    }
+
+    @Override
+    public long getSizeFlushes() {
+        return sizeFlushes.sum();
+    }
+
+    @Override
+    public long getByteFlushes() {
+        return byteFlushes.sum();
+    }
+
+    @Override
+    public long getLingerFlushes() {
+        return lingerFlushes.sum();
+    }
+
+    @Override
+    public long getCompletionFlushes() {
+        return completionFlushes.sum();
+    }
+}
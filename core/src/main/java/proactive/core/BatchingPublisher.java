@@ -0,0 +1,336 @@
+package proactive.core;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import proactive.core.AdapterSupport.DualSubscription;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link Publisher} which groups the values of a source into lists, so that following steps can make one bulk
+ * call per batch rather than one call per value. A batch is sent when it reaches the maximum size, when it would
+ * exceed the maximum number of bytes, when its first value has lingered for the maximum time, or when the source
+ * completes.
+ * <p>
+ * The source is requested {@value #PREFETCH_BATCHES} batches' worth of values up front, and is only replenished
+ * while fewer than that many batches are waiting to be sent, so a slow subscriber holds back the source rather than
+ * letting batches pile up. Each batch is allocated at its full
+ * size up front, so adding a value never resizes it. Lingering runs on the shared {@link Schedulers#timer() timer},
+ * and batches sent because of it are sent from there.
+ *
+ * @param <T> The value type.
+ */
+public final class BatchingPublisher<T> implements Publisher<List<T>> {
+
+    /**
+     * The default maximum batch size.
+     */
+    public static final int DEFAULT_SIZE = 256;
+
+    /**
+     * The number of batches which may wait for the subscriber before the source is paused.
+     */
+    public static final int PREFETCH_BATCHES = 2;
+
+    private final Publisher<T> source;
+    private final int size;
+    private final long lingerNanos;
+    private final long maxBytes;
+    private final ToLongFunction<? super T> weigher;
+    private final BatchStatistics statistics;
+
+    /**
+     * @param source The source {@link Publisher}.
+     * @param size The maximum number of values in a batch.
+     * @param lingerNanos The longest time the first value of a batch waits before the batch is sent, or 0 to wait
+     *                    until the batch is full.
+     * @param maxBytes The maximum number of bytes in a batch, or 0 for no maximum.
+     * @param weigher Provides the number of bytes of each value. Only used with a maximum number of bytes.
+     * @param statistics Records each batch sent.
+     */
+    public BatchingPublisher(Publisher<T> source, int size, long lingerNanos, long maxBytes,
+                             ToLongFunction<? super T> weigher, BatchStatistics statistics) {
+        if (source == null) {
+            throw new NullPointerException("source");
+        } else if (size <= 0) {
+            throw new IllegalArgumentException("size");
+        } else if (lingerNanos < 0) {
+            throw new IllegalArgumentException("linger");
+        } else if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes");
+        } else if (maxBytes > 0 && weigher == null) {
+            throw new NullPointerException("weigher");
+        } else if (statistics == null) {
+            throw new NullPointerException("statistics");
+        }
+        this.source = source;
+        this.size = size;
+        this.lingerNanos = lingerNanos;
+        this.maxBytes = maxBytes;
+        this.weigher = weigher;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super List<T>> subscriber) {
+        source.subscribe(new BatchingSubscriber(subscriber));
+    }
+
+    private final class BatchingSubscriber implements Subscriber<T>, DualSubscription {
+
+        private final Subscriber<? super List<T>> downstream;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /*
+         * The batch state below is guarded by this subscriber's lock, as it is updated both by the source and by
+         * the timer.
+         */
+        private final ArrayDeque<List<T>> ready = new ArrayDeque<>(PREFETCH_BATCHES + 1);
+        private ArrayList<T> current = new ArrayList<>(size);
+        private long bytes;
+        private long generation;
+        private ScheduledFuture<?> linger;
+
+        /**
+         * Values not yet requested from the source because too many batches are waiting.
+         */
+        private long deferred;
+
+        private Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+
+        BatchingSubscriber(Subscriber<? super List<T>> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request((long) size * PREFETCH_BATCHES);
+        }
+
+        @Override
+        public void onNext(T value) {
+            if (done || cancelled) {
+                Util.release(value);
+                return;
+            }
+            long replenish;
+            try {
+                synchronized (this) {
+                    replenish = add(value);
+                }
+            } catch (RuntimeException e) {
+                Util.release(value);
+                upstream.cancel();
+                onError(e);
+                return;
+            }
+            if (replenish > 0) {
+                upstream.request(replenish);
+            }
+            drain();
+        }
+
+        /**
+         * Adds a value to the current batch, sending it if full. Must hold the lock.
+         *
+         * @return The number of values to request from the source.
+         */
+        private long add(T value) {
+            long replenish = 0;
+            long weight = maxBytes > 0 ? weigher.applyAsLong(value) : 0;
+            if (maxBytes > 0 && !current.isEmpty() && bytes + weight > maxBytes) {
+                replenish += flush(BatchStatistics.Flush.BYTES);
+            }
+            current.add(value);
+            bytes += weight;
+            if (current.size() == 1 && lingerNanos > 0) {
+                long batch = generation;
+                linger = Schedulers.timer().schedule(() -> linger(batch), lingerNanos, TimeUnit.NANOSECONDS);
+            }
+            if (current.size() >= size) {
+                replenish += flush(BatchStatistics.Flush.SIZE);
+            } else if (maxBytes > 0 && bytes >= maxBytes) {
+                replenish += flush(BatchStatistics.Flush.BYTES);
+            }
+            return replenish;
+        }
+
+        /**
+         * Moves the current batch to the ready queue. Must hold the lock.
+         *
+         * @return The number of values to request from the source to replace those in the batch.
+         */
+        private long flush(BatchStatistics.Flush reason) {
+            int count = current.size();
+            ready.addLast(current);
+            statistics.flushed(count, reason);
+            current = new ArrayList<>(size);
+            bytes = 0;
+            generation++;
+            if (linger != null) {
+                linger.cancel(false);
+                linger = null;
+            }
+            if (reason == BatchStatistics.Flush.COMPLETION) {
+                return 0;
+            } else if (ready.size() >= PREFETCH_BATCHES) {
+                deferred += count;
+                return 0;
+            }
+            return count;
+        }
+
+        private void linger(long batch) {
+            long replenish;
+            synchronized (this) {
+                if (batch != generation || current.isEmpty() || done || cancelled) {
+                    return;
+                }
+                replenish = flush(BatchStatistics.Flush.LINGER);
+            }
+            if (replenish > 0) {
+                upstream.request(replenish);
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (done) {
+                return;
+            }
+            synchronized (this) {
+                error = throwable;
+                done = true;
+                clear();
+            }
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            synchronized (this) {
+                if (!current.isEmpty()) {
+                    flush(BatchStatistics.Flush.COMPLETION);
+                }
+                done = true;
+            }
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            for (;;) {
+                long current = requested.get();
+                long next = current + n;
+                if (requested.compareAndSet(current, next < 0 ? Long.MAX_VALUE : next)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                upstream.cancel();
+                drain();
+            }
+        }
+
+        /**
+         * Releases every buffered value and stops lingering. Must hold the lock.
+         */
+        private void clear() {
+            if (linger != null) {
+                linger.cancel(false);
+                linger = null;
+            }
+            current.forEach(Util::release);
+            current.clear();
+            for (List<T> batch : ready) {
+                batch.forEach(Util::release);
+            }
+            ready.clear();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (cancelled) {
+                    synchronized (this) {
+                        clear();
+                    }
+                } else {
+                    boolean terminated = done;
+                    Throwable error = this.error;
+                    if (terminated && error != null) {
+                        cancelled = true;
+                        downstream.onError(error);
+                        return;
+                    }
+                    while (requested.get() > 0 && !cancelled) {
+                        List<T> batch;
+                        long replenish = 0;
+                        synchronized (this) {
+                            batch = ready.pollFirst();
+                            if (batch != null && deferred > 0 && ready.size() < PREFETCH_BATCHES && !done) {
+                                replenish = deferred;
+                                deferred = 0;
+                            }
+                        }
+                        if (batch == null) {
+                            break;
+                        }
+                        if (replenish > 0) {
+                            upstream.request(replenish);
+                        }
+                        if (requested.get() != Long.MAX_VALUE) {
+                            requested.decrementAndGet();
+                        }
+                        downstream.onNext(batch);
+                    }
+                    if (terminated && !cancelled && isReadyEmpty()) {
+                        cancelled = true;
+                        downstream.onComplete();
+                        return;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private synchronized boolean isReadyEmpty() {
+            return ready.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package proactive.core;
+
+import java.util.Arrays;
+
+/**
+ * A probabilistic {@link DuplicateFilter} using two generations of Bloom filter in a fixed number of bits. Keys
+ * are added to the current generation and checked against both. Once the current generation holds its capacity,
+ * the previous one is cleared and takes its place, so the oldest keys are forgotten a generation at a time and the
+ * false positive rate never degrades as more keys arrive. A key found only in the previous generation is copied
+ * into the current one, so keys which keep recurring are remembered.
+ * <p>
+ * Each generation is sized for half the requested false positive rate, as a key is checked against both.
+ *
+ * @param <K> The key type.
+ */
+final class BloomDuplicateFilter<K> extends DuplicateFilter<K> {
+
+    private final int capacity;
+    private final double falsePositiveRate;
+    private final int bits;
+    private final int hashes;
+    private long[] current;
+    private long[] previous;
+    private int currentCount;
+    private int previousCount;
+    private long evictions;
+
+    BloomDuplicateFilter(int capacity, double falsePositiveRate) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity");
+        } else if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate");
+        }
+        double rate = falsePositiveRate / 2;
+        double ln2 = Math.log(2);
+        long optimal = (long) Math.ceil(-capacity * Math.log(rate) / (ln2 * ln2));
+        if (optimal > Integer.MAX_VALUE - 63) {
+            throw new IllegalArgumentException("capacity too large for falsePositiveRate");
+        }
+        this.capacity = capacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bits = (int) ((optimal + 63) & ~63L);
+        this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * ln2));
+        this.current = new long[bits / 64];
+        this.previous = new long[bits / 64];
+    }
+
+    @Override
+    boolean add(K key) {
+        long hash = Util.mix(key.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        if (contains(current, h1, h2)) {
+            return false;
+        }
+        boolean seen = previousCount > 0 && contains(previous, h1, h2);
+        if (currentCount >= capacity) {
+            long[] cleared = previous;
+            Arrays.fill(cleared, 0);
+            previous = current;
+            current = cleared;
+            evictions += previousCount;
+            previousCount = currentCount;
+            currentCount = 0;
+        }
+        for (int i = 0; i < hashes; i++) {
+            int bit = index(h1, h2, i);
+            current[bit >>> 6] |= 1L << bit;
+        }
+        currentCount++;
+        return !seen;
+    }
+
+    private boolean contains(long[] filter, int h1, int h2) {
+        for (int i = 0; i < hashes; i++) {
+            int bit = index(h1, h2, i);
+            if ((filter[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Derives the i-th bit index from two hashes, by double hashing.
+     */
+    private int index(int h1, int h2, int i) {
+        int combined = h1 + i * h2;
+        return (combined & Integer.MAX_VALUE) % bits;
+    }
+
+    @Override
+    void reset() {
+        Arrays.fill(current, 0);
+        Arrays.fill(previous, 0);
+        currentCount = 0;
+        previousCount = 0;
+    }
+
+    @Override
+    public String getStrategy() {
+        return "bloom";
+    }
+
+    @Override
+    public synchronized long getSize() {
+        return currentCount + previousCount;
+    }
+
+    @Override
+    public long getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public long getMemoryBytes() {
+        return 2L * bits / 8;
+    }
+
+    @Override
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+}
@@ -0,0 +1,60 @@
+package proactive.core;
+
+/**
+ * The number of values a {@link Context} is known to send, so that a {@link ProactiveDriver} can use its cheapest
+ * single-valued types where they are enough.
+ */
+public enum Cardinality {
+    /**
+     * Completes without sending a value.
+     */
+    EMPTY,
+    /**
+     * Sends at most one value.
+     */
+    OPTIONAL,
+    /**
+     * Sends exactly one value, unless it fails.
+     */
+    ONE,
+    /**
+     * Sends any number of values.
+     */
+    MANY;
+
+    /**
+     * @return <code>true</code> if at most one value is sent.
+     */
+    public boolean isSingle() {
+        return this != MANY;
+    }
+
+    /**
+     * @param count The number of values.
+     * @return The {@link Cardinality} of exactly <code>count</code> values.
+     */
+    public static Cardinality of(int count) {
+        return count == 0 ? EMPTY : count == 1 ? ONE : MANY;
+    }
+
+    /**
+     * @return The {@link Cardinality} after some values may have been dropped.
+     */
+    public Cardinality filtered() {
+        return this == ONE ? OPTIONAL : this;
+    }
+
+    /**
+     * @return The {@link Cardinality} after all but the first value is dropped.
+     */
+    public Cardinality first() {
+        return this == MANY ? OPTIONAL : this;
+    }
+
+    /**
+     * @return The {@link Cardinality} after each value is mapped to any number of others.
+     */
+    public Cardinality flatMapped() {
+        return this == EMPTY ? EMPTY : MANY;
+    }
+}
@@ -0,0 +1,393 @@
+package proactive.core;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import proactive.core.AdapterSupport.DualSubscription;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A {@link Publisher} which runs a linear chain of steps, each mapping a value to an inner {@link Publisher} whose
+ * values go on to the next step, as a series of nested <code>flatMap</code>s would, but with a stack depth which
+ * does not depend on the length of the chain.
+ * <p>
+ * Every signal, from the source and from each inner {@link Publisher}, is queued as an event, and a single drain
+ * loop works through the queue like a trampoline. Inner publishers which send their values as soon as they are
+ * subscribed to only add events to the queue rather than calling into the next step, so the stack never holds more
+ * than one step at a time. All of the chain's state is only touched by the drain loop.
+ * <p>
+ * At most <code>prefetch</code> source values are outstanding at once, and the source is only replenished as the
+ * first step's inner publishers complete while fewer than <code>prefetch</code> results are waiting for the
+ * subscriber. Inner publishers are requested without bound. A step may also limit how many of its inner publishers
+ * run at once, in which case further values wait for it in order.
+ *
+ * @param <T> The result type.
+ */
+public final class ChainPublisher<T> implements Publisher<T> {
+
+    /**
+     * The default number of outstanding source values.
+     */
+    public static final int DEFAULT_PREFETCH = 256;
+
+    private final Publisher<?> source;
+    private final List<Function<Object, ? extends Publisher<?>>> steps;
+    private final int[] maxConcurrency;
+    private final int prefetch;
+
+    /**
+     * @param source The source {@link Publisher}.
+     * @param steps Map each value to the inner {@link Publisher} of the next step, in order.
+     * @param maxConcurrency The maximum number of inner publishers running at once for each step, or 0 for no limit.
+     * @param prefetch The number of outstanding source values.
+     */
+    @SuppressWarnings("unchecked")
+    public ChainPublisher(Publisher<?> source, List<? extends Function<Object, ? extends Publisher<?>>> steps,
+                          int[] maxConcurrency, int prefetch) {
+        if (source == null) {
+            throw new NullPointerException("source");
+        } else if (steps == null || steps.isEmpty()) {
+            throw new IllegalArgumentException("steps");
+        } else if (maxConcurrency == null || maxConcurrency.length != steps.size()) {
+            throw new IllegalArgumentException("maxConcurrency");
+        } else if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch");
+        }
+        this.source = source;
+        this.steps = List.copyOf(steps);
+        this.maxConcurrency = maxConcurrency.clone();
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Trampoline trampoline = new Trampoline(subscriber);
+        subscriber.onSubscribe(trampoline);
+        source.subscribe(trampoline.root);
+    }
+
+    /**
+     * A signal waiting for the drain loop.
+     */
+    private final class Event {
+        /**
+         * The step the value is for, or for completions, the step whose inner publisher completed. The source's
+         * completion is step -1.
+         */
+        private final int step;
+        private final Object value;
+        private final boolean completion;
+        private final InnerSubscriber inner;
+
+        private Event(int step, Object value, boolean completion, InnerSubscriber inner) {
+            this.step = step;
+            this.value = value;
+            this.completion = completion;
+            this.inner = inner;
+        }
+    }
+
+    private final class Trampoline implements DualSubscription {
+
+        private final Subscriber<? super T> downstream;
+        private final Queue<Event> events = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final Set<InnerSubscriber> inners = ConcurrentHashMap.newKeySet();
+        private final RootSubscriber root = new RootSubscriber(this);
+        private volatile Throwable error;
+        private volatile boolean cancelled;
+
+        /*
+         * The state below is only touched by the drain loop.
+         */
+        private final List<ArrayDeque<Object>> waiting;
+        private final int[] running;
+        private final ArrayDeque<T> results = new ArrayDeque<>();
+        private int active;
+        private long replenish;
+        private boolean sourceDone;
+        private boolean terminated;
+
+        Trampoline(Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+            this.waiting = new ArrayList<>(Collections.nCopies(steps.size(), null));
+            this.running = new int[steps.size()];
+        }
+
+        void signal(Event event) {
+            events.offer(event);
+            drain();
+        }
+
+        void fail(Throwable throwable) {
+            if (error == null) {
+                error = throwable;
+            }
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            for (;;) {
+                long current = requested.get();
+                long next = current + n;
+                if (requested.compareAndSet(current, next < 0 ? Long.MAX_VALUE : next)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                drain();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (terminated) {
+                    Event event;
+                    while ((event = events.poll()) != null) {
+                        Util.release(event.value);
+                    }
+                } else {
+                    if (cancelled) {
+                        terminate();
+                    } else if (error != null) {
+                        terminate();
+                        downstream.onError(error);
+                    } else {
+                        process();
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void process() {
+            Event event;
+            while ((event = events.poll()) != null) {
+                if (event.completion) {
+                    complete(event);
+                } else if (event.step == steps.size()) {
+                    results.add(cast(event.value));
+                } else {
+                    start(event.step, event.value);
+                }
+                if (error != null || cancelled) {
+                    return;
+                }
+                emit();
+            }
+            emit();
+            if (replenish > 0 && results.size() < prefetch) {
+                long n = replenish;
+                replenish = 0;
+                root.request(n);
+            }
+            if (sourceDone && active == 0 && results.isEmpty() && events.isEmpty()) {
+                terminated = true;
+                downstream.onComplete();
+            }
+        }
+
+        private void emit() {
+            while (!results.isEmpty() && requested.get() > 0 && !cancelled) {
+                if (requested.get() != Long.MAX_VALUE) {
+                    requested.decrementAndGet();
+                }
+                downstream.onNext(results.poll());
+            }
+        }
+
+        private void complete(Event event) {
+            if (event.step < 0) {
+                sourceDone = true;
+                return;
+            }
+            inners.remove(event.inner);
+            active--;
+            running[event.step]--;
+            if (event.step == 0) {
+                replenish++;
+            }
+            ArrayDeque<Object> queued = waiting.get(event.step);
+            if (queued != null && !queued.isEmpty()) {
+                start(event.step, queued.poll());
+            }
+        }
+
+        private void start(int step, Object value) {
+            int limit = maxConcurrency[step];
+            if (limit > 0 && running[step] >= limit) {
+                if (waiting.get(step) == null) {
+                    waiting.set(step, new ArrayDeque<>());
+                }
+                waiting.get(step).add(value);
+                return;
+            }
+            Publisher<?> publisher;
+            try {
+                publisher = steps.get(step).apply(value);
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+            InnerSubscriber inner = new InnerSubscriber(this, step);
+            inners.add(inner);
+            active++;
+            running[step]++;
+            publisher.subscribe(inner);
+        }
+
+        /**
+         * Cancels the source and every inner publisher, and releases every queued value.
+         */
+        private void terminate() {
+            terminated = true;
+            root.cancel();
+            for (InnerSubscriber inner : inners) {
+                inner.cancel();
+            }
+            inners.clear();
+            Event event;
+            while ((event = events.poll()) != null) {
+                Util.release(event.value);
+            }
+            for (ArrayDeque<Object> queued : waiting) {
+                if (queued != null) {
+                    queued.forEach(Util::release);
+                    queued.clear();
+                }
+            }
+            results.forEach(Util::release);
+            results.clear();
+        }
+
+        @SuppressWarnings("unchecked")
+        private T cast(Object value) {
+            return (T) value;
+        }
+    }
+
+    private final class RootSubscriber implements Subscriber<Object> {
+        private final Trampoline trampoline;
+        private volatile Subscription subscription;
+        private volatile boolean cancelled;
+
+        RootSubscriber(Trampoline trampoline) {
+            this.trampoline = trampoline;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(prefetch);
+            }
+        }
+
+        @Override
+        public void onNext(Object value) {
+            trampoline.signal(new Event(0, value, false, null));
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            trampoline.fail(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            trampoline.signal(new Event(-1, null, true, null));
+        }
+
+        void request(long n) {
+            Subscription subscription = this.subscription;
+            if (subscription != null) {
+                subscription.request(n);
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            Subscription subscription = this.subscription;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+
+    private final class InnerSubscriber implements Subscriber<Object> {
+        private final Trampoline trampoline;
+        private final int step;
+        private volatile Subscription subscription;
+        private volatile boolean cancelled;
+
+        InnerSubscriber(Trampoline trampoline, int step) {
+            this.trampoline = trampoline;
+            this.step = step;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(Object value) {
+            trampoline.signal(new Event(step + 1, value, false, null));
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            trampoline.fail(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            trampoline.signal(new Event(step, null, true, this));
+        }
+
+        void cancel() {
+            cancelled = true;
+            Subscription subscription = this.subscription;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
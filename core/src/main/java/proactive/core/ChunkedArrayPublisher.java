@@ -0,0 +1,161 @@
+package proactive.core;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import proactive.core.AdapterSupport.DualSubscription;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Publisher} of the values of an {@link ArraySource} which pass a {@link Predicate}. Rather than testing
+ * each value as it is sent, the source is {@link ArraySource#scan(int, int, Predicate, int[]) scanned} a chunk at
+ * a time whenever the subscriber has demand and no survivors are left, and the survivors are then sent in order.
+ * <p>
+ * At most <code>limit</code> values are sent, after which it completes, and scanning stops as soon as that many
+ * have passed. Values which do not pass are skipped without being sent or {@link Util#release(Object) released},
+ * so a predicate which drops pooled values must release them itself. <code>null</code> elements are never sent.
+ *
+ * @param <T> The value type.
+ */
+public final class ChunkedArrayPublisher<T> implements Publisher<T> {
+
+    /**
+     * The number of values scanned at a time.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private final ArraySource<T> source;
+    private final Predicate<? super T> predicate;
+    private final int limit;
+
+    /**
+     * @param source The {@link ArraySource}.
+     * @param predicate The {@link Predicate} values must pass, or <code>null</code> to send every value.
+     * @param limit The maximum number of values to send.
+     */
+    public ChunkedArrayPublisher(ArraySource<T> source, Predicate<? super T> predicate, int limit) {
+        if (source == null) {
+            throw new NullPointerException("source");
+        } else if (limit <= 0) {
+            throw new IllegalArgumentException("limit");
+        }
+        this.source = source;
+        this.predicate = predicate;
+        this.limit = limit;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        ChunkSubscription subscription = new ChunkSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.drain();
+    }
+
+    private final class ChunkSubscription implements DualSubscription {
+
+        private final Subscriber<? super T> downstream;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /**
+         * The indexes of the survivors of the last chunk scanned, from {@link #head} up to {@link #count}.
+         */
+        private final int[] matches;
+        private int head;
+        private int count;
+
+        /**
+         * The index of the next value to scan.
+         */
+        private int index;
+        private int sent;
+        private volatile boolean cancelled;
+
+        ChunkSubscription(Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+            this.matches = predicate == null ? null : new int[Math.min(DEFAULT_CHUNK_SIZE, limit)];
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            for (;;) {
+                long current = requested.get();
+                long next = current + n;
+                if (requested.compareAndSet(current, next < 0 ? Long.MAX_VALUE : next)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            int size = source.size();
+            for (;;) {
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && sent < limit && !cancelled) {
+                    T value;
+                    if (predicate == null) {
+                        if (index == size) {
+                            break;
+                        }
+                        value = source.get(index++);
+                        if (value == null) {
+                            continue;
+                        }
+                    } else if (head < count) {
+                        value = source.get(matches[head++]);
+                    } else if (index < size) {
+                        int to = (int) Math.min(size, (long) index + DEFAULT_CHUNK_SIZE);
+                        try {
+                            count = source.scan(index, to, predicate, matches);
+                        } catch (RuntimeException e) {
+                            cancelled = true;
+                            downstream.onError(e);
+                            return;
+                        }
+                        head = 0;
+                        index = count == matches.length ? matches[count - 1] + 1 : to;
+                        continue;
+                    } else {
+                        break;
+                    }
+                    sent++;
+                    emitted++;
+                    downstream.onNext(value);
+                }
+                if (cancelled) {
+                    return;
+                }
+                if (sent == limit || head == count && index == size) {
+                    cancelled = true;
+                    downstream.onComplete();
+                    return;
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package proactive.core;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import proactive.core.AdapterSupport.DualSubscription;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link Publisher} which coalesces bursts of values from a fast source into the newest value, for consumers
+ * which only care about the current state. The source is requested without bound, and each value replaces the one
+ * before it in a single slot, so nothing is allocated per value and superseded values are
+ * {@link Util#release(Object) released}.
+ * <p>
+ * There are three modes:
+ * <ul>
+ *     <li>{@link #latest(Publisher) latest}: the newest value is sent whenever the subscriber has demand.</li>
+ *     <li>{@link #sample(Publisher, Duration) sample}: the newest value is sent once per period, if it changed.</li>
+ *     <li>{@link #debounce(Publisher, Duration) debounce}: the newest value is sent once the source has been quiet
+ *     for the timeout.</li>
+ * </ul>
+ * In every mode, a value not yet sent when the source completes is sent before completing. Timed modes run on the
+ * shared {@link Schedulers#timer() timer}, and send their values from it.
+ *
+ * @param <T> The value type.
+ */
+public final class CoalescingPublisher<T> implements Publisher<T> {
+
+    /**
+     * Creates a {@link CoalescingPublisher} sending the newest value whenever the subscriber has demand.
+     *
+     * @param source The source {@link Publisher}.
+     * @param <T> The value type.
+     * @return The {@link CoalescingPublisher}.
+     */
+    public static <T> CoalescingPublisher<T> latest(Publisher<T> source) {
+        return new CoalescingPublisher<>(source, Mode.LATEST, 0);
+    }
+
+    /**
+     * Creates a {@link CoalescingPublisher} sending the newest value at most once per <code>period</code>.
+     *
+     * @param source The source {@link Publisher}.
+     * @param period The sampling period.
+     * @param <T> The value type.
+     * @return The {@link CoalescingPublisher}.
+     */
+    public static <T> CoalescingPublisher<T> sample(Publisher<T> source, Duration period) {
+        return new CoalescingPublisher<>(source, Mode.SAMPLE, period.toNanos());
+    }
+
+    /**
+     * Creates a {@link CoalescingPublisher} sending the newest value once no other has arrived for the
+     * <code>timeout</code>.
+     *
+     * @param source The source {@link Publisher}.
+     * @param timeout The quiet time.
+     * @param <T> The value type.
+     * @return The {@link CoalescingPublisher}.
+     */
+    public static <T> CoalescingPublisher<T> debounce(Publisher<T> source, Duration timeout) {
+        return new CoalescingPublisher<>(source, Mode.DEBOUNCE, timeout.toNanos());
+    }
+
+    private enum Mode {
+        LATEST, SAMPLE, DEBOUNCE
+    }
+
+    private final Publisher<T> source;
+    private final Mode mode;
+    private final long nanos;
+
+    private CoalescingPublisher(Publisher<T> source, Mode mode, long nanos) {
+        if (source == null) {
+            throw new NullPointerException("source");
+        } else if (mode != Mode.LATEST && nanos <= 0) {
+            throw new IllegalArgumentException("Non-positive duration.");
+        }
+        this.source = source;
+        this.mode = mode;
+        this.nanos = nanos;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        source.subscribe(new CoalescingSubscriber(subscriber));
+    }
+
+    private final class CoalescingSubscriber implements Subscriber<T>, DualSubscription, Runnable {
+
+        private final Subscriber<? super T> downstream;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /**
+         * The newest value received, which has not yet been released to {@link #ready}. Unused in latest mode.
+         */
+        private final AtomicReference<T> latest = new AtomicReference<>();
+
+        /**
+         * The value to send when there is demand.
+         */
+        private final AtomicReference<T> ready = new AtomicReference<>();
+
+        /**
+         * Set while a debounce timer is scheduled, so that only the first value of a burst schedules one.
+         */
+        private final AtomicBoolean armed = new AtomicBoolean();
+
+        private Subscription upstream;
+        private volatile ScheduledFuture<?> timer;
+        private volatile long lastArrival;
+
+        /**
+         * Counts the values received in debounce mode, so the timer can tell whether one arrived while it ran.
+         */
+        private volatile long generation;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private Throwable error;
+
+        CoalescingSubscriber(Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+            if (mode == Mode.SAMPLE) {
+                timer = Schedulers.timer().scheduleAtFixedRate(this, nanos, nanos, TimeUnit.NANOSECONDS);
+            }
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(T value) {
+            if (done || cancelled) {
+                Util.release(value);
+                return;
+            }
+            switch (mode) {
+                case LATEST:
+                    Util.release(ready.getAndSet(value));
+                    drain();
+                    break;
+                case SAMPLE:
+                    Util.release(latest.getAndSet(value));
+                    break;
+                case DEBOUNCE:
+                    lastArrival = System.nanoTime();
+                    generation++;
+                    Util.release(latest.getAndSet(value));
+                    if (armed.compareAndSet(false, true)) {
+                        timer = Schedulers.timer().schedule(this, nanos, TimeUnit.NANOSECONDS);
+                    }
+                    break;
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done = true;
+            stopTimer();
+            Util.release(latest.getAndSet(null));
+            Util.release(ready.getAndSet(null));
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            stopTimer();
+            promote();
+            done = true;
+            drain();
+        }
+
+        /**
+         * Called by the timer to release the newest value in the timed modes.
+         */
+        @Override
+        public void run() {
+            if (mode == Mode.DEBOUNCE) {
+                long generation = this.generation;
+                long quiet = System.nanoTime() - lastArrival;
+                if (quiet < nanos && !done && !cancelled) {
+                    timer = Schedulers.timer().schedule(this, nanos - quiet, TimeUnit.NANOSECONDS);
+                    return;
+                }
+                armed.set(false);
+                T value = latest.getAndSet(null);
+                if (generation != this.generation) {
+                    // A value arrived after the quiet check, so it is not quiet yet. Put back whichever value is
+                    // newest and make sure a timer is scheduled for it.
+                    if (value != null && !latest.compareAndSet(null, value)) {
+                        Util.release(value);
+                    }
+                    if (armed.compareAndSet(false, true)) {
+                        timer = Schedulers.timer().schedule(this, nanos, TimeUnit.NANOSECONDS);
+                    }
+                    return;
+                } else if (value == null) {
+                    return;
+                }
+                Util.release(ready.getAndSet(value));
+            } else {
+                promote();
+            }
+            drain();
+        }
+
+        private void promote() {
+            T value = latest.getAndSet(null);
+            if (value != null) {
+                Util.release(ready.getAndSet(value));
+            }
+        }
+
+        private void stopTimer() {
+            ScheduledFuture<?> timer = this.timer;
+            if (timer != null) {
+                timer.cancel(false);
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            for (;;) {
+                long current = requested.get();
+                long next = current + n;
+                if (requested.compareAndSet(current, next < 0 ? Long.MAX_VALUE : next)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            upstream.cancel();
+            stopTimer();
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (cancelled) {
+                    Util.release(latest.getAndSet(null));
+                    Util.release(ready.getAndSet(null));
+                } else {
+                    boolean terminated = done;
+                    if (requested.get() > 0) {
+                        T value = ready.getAndSet(null);
+                        if (value != null) {
+                            if (requested.get() != Long.MAX_VALUE) {
+                                requested.decrementAndGet();
+                            }
+                            downstream.onNext(value);
+                        }
+                    }
+                    if (terminated && !cancelled && ready.get() == null) {
+                        cancelled = true;
+                        if (error != null) {
+                            downstream.onError(error);
+                        } else {
+                            downstream.onComplete();
+                        }
+                        return;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package proactive.core;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import proactive.core.AdapterSupport.DualSubscription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Publisher} which subscribes once to each of several sources and keeps the latest value of each in a fixed
+ * slot. Whenever a slot changes, the condition is evaluated against the current slots and, if it passes, the result
+ * function's value is sent.
+ * <p>
+ * The condition sees the slots through a {@link Latest} view rather than a copy, so nothing is allocated for values
+ * which do not pass. By default, updates which arrive while the subscriber has no demand are coalesced into a single
+ * evaluation once it does. Conditions which look at each value as it arrives, rather than at the slots as a whole,
+ * should not be coalesced: each update is then queued and evaluated exactly once, in arrival order, with
+ * {@link Latest#updated()} pointing at its slot.
+ * <p>
+ * It completes once every source has completed, and fails as soon as any source fails. Values are held by reference
+ * and never {@link Util#release(Object) released}, so sources of pooled buffers should not be combined.
+ *
+ * @param <R> The result type.
+ */
+public final class CombineLatestPublisher<R> implements Publisher<R> {
+
+    /**
+     * A read-only view of the latest value of each source.
+     */
+    public interface Latest {
+        /**
+         * @return The number of sources.
+         */
+        int size();
+
+        /**
+         * @param index The source index.
+         * @return <code>true</code> if the source has sent a value.
+         */
+        boolean has(int index);
+
+        /**
+         * @param index The source index.
+         * @param <T> The expected value type.
+         * @return The source's latest value, or <code>null</code> if it has not sent one.
+         */
+        <T> T get(int index);
+
+        /**
+         * @return The index of the source whose value led to this evaluation. When updates are coalesced this is the
+         * latest of them.
+         */
+        int updated();
+
+        /**
+         * @return A copy of the latest values, in source order. Sources without a value are <code>null</code>.
+         */
+        List<Object> toList();
+    }
+
+    private final List<? extends Publisher<?>> sources;
+    private final Predicate<? super Latest> condition;
+    private final Function<? super Latest, ? extends R> result;
+    private final boolean coalesce;
+
+    /**
+     * @param sources The sources to combine.
+     * @param condition The condition to check the latest values against.
+     * @param result Provides the value to send when the condition passes.
+     */
+    public CombineLatestPublisher(List<? extends Publisher<?>> sources, Predicate<? super Latest> condition,
+                                  Function<? super Latest, ? extends R> result) {
+        this(sources, condition, result, true);
+    }
+
+    /**
+     * @param sources The sources to combine.
+     * @param condition The condition to check the latest values against.
+     * @param result Provides the value to send when the condition passes.
+     * @param coalesce <code>false</code> to evaluate the condition once for every update, rather than once for all
+     * the updates which arrived since the last evaluation.
+     */
+    public CombineLatestPublisher(List<? extends Publisher<?>> sources, Predicate<? super Latest> condition,
+                                  Function<? super Latest, ? extends R> result, boolean coalesce) {
+        if (sources == null || sources.isEmpty()) {
+            throw new IllegalArgumentException("sources");
+        } else if (condition == null) {
+            throw new NullPointerException("condition");
+        } else if (result == null) {
+            throw new NullPointerException("result");
+        }
+        this.sources = List.copyOf(sources);
+        this.condition = condition;
+        this.result = result;
+        this.coalesce = coalesce;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super R> subscriber) {
+        Coordinator coordinator = new Coordinator(subscriber);
+        subscriber.onSubscribe(coordinator);
+        coordinator.subscribe();
+    }
+
+    private final class Coordinator implements DualSubscription, Latest {
+
+        private final Subscriber<? super R> downstream;
+        private final AtomicReferenceArray<Object> slots;
+        private final List<SourceSubscriber> subscribers;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final Queue<Update> updates = new ConcurrentLinkedQueue<>();
+        private volatile int updated = -1;
+        private volatile boolean dirty;
+        private volatile boolean cancelled;
+
+        Coordinator(Subscriber<? super R> downstream) {
+            this.downstream = downstream;
+            this.slots = new AtomicReferenceArray<>(sources.size());
+            List<SourceSubscriber> subscribers = new ArrayList<>(sources.size());
+            for (int i = 0; i < sources.size(); i++) {
+                subscribers.add(new SourceSubscriber(this, i));
+            }
+            this.subscribers = List.copyOf(subscribers);
+        }
+
+        void subscribe() {
+            for (int i = 0; i < subscribers.size() && !cancelled; i++) {
+                sources.get(i).subscribe(subscribers.get(i));
+            }
+        }
+
+        @Override
+        public int size() {
+            return slots.length();
+        }
+
+        @Override
+        public boolean has(int index) {
+            return slots.get(index) != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(int index) {
+            return (T) slots.get(index);
+        }
+
+        @Override
+        public int updated() {
+            return updated;
+        }
+
+        @Override
+        public List<Object> toList() {
+            Object[] values = new Object[slots.length()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = slots.get(i);
+            }
+            return Arrays.asList(values);
+        }
+
+        void update(int index, Object value) {
+            if (coalesce) {
+                slots.set(index, value);
+                updated = index;
+                dirty = true;
+            } else {
+                updates.offer(new Update(index, value));
+            }
+            drain();
+        }
+
+        void complete() {
+            completed.incrementAndGet();
+            drain();
+        }
+
+        void fail(Throwable throwable) {
+            if (error.compareAndSet(null, throwable)) {
+                cancelSources();
+            }
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            for (;;) {
+                long current = requested.get();
+                long next = current + n;
+                if (requested.compareAndSet(current, next < 0 ? Long.MAX_VALUE : next)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                cancelSources();
+                drain();
+            }
+        }
+
+        private void cancelSources() {
+            for (SourceSubscriber subscriber : subscribers) {
+                subscriber.cancel();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (cancelled) {
+                    clear();
+                } else if (error.get() != null) {
+                    cancelled = true;
+                    clear();
+                    downstream.onError(error.get());
+                } else {
+                    boolean finished = completed.get() == slots.length();
+                    if (coalesce) {
+                        if (dirty && requested.get() > 0) {
+                            dirty = false;
+                            if (!evaluate()) {
+                                continue;
+                            }
+                        }
+                    } else {
+                        Update update;
+                        while (requested.get() > 0 && !cancelled && (update = updates.poll()) != null) {
+                            slots.set(update.index, update.value);
+                            updated = update.index;
+                            if (!evaluate()) {
+                                break;
+                            }
+                        }
+                        if (error.get() != null) {
+                            continue;
+                        }
+                    }
+                    if (finished && !cancelled && (coalesce ? !dirty : updates.isEmpty())) {
+                        cancelled = true;
+                        clear();
+                        downstream.onComplete();
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Evaluates the condition against the current slots, and sends the result if it passes.
+         *
+         * @return <code>false</code> if the condition or result function failed.
+         */
+        private boolean evaluate() {
+            R value = null;
+            try {
+                if (condition.test(this)) {
+                    value = result.apply(this);
+                }
+            } catch (RuntimeException e) {
+                error.compareAndSet(null, e);
+                cancelSources();
+                return false;
+            }
+            if (value != null) {
+                if (requested.get() != Long.MAX_VALUE) {
+                    requested.decrementAndGet();
+                }
+                downstream.onNext(value);
+            }
+            return true;
+        }
+
+        private void clear() {
+            updates.clear();
+            for (int i = 0; i < slots.length(); i++) {
+                slots.set(i, null);
+            }
+        }
+    }
+
+    private static final class Update {
+        private final int index;
+        private final Object value;
+
+        Update(int index, Object value) {
+            this.index = index;
+            this.value = value;
+        }
+    }
+
+    private final class SourceSubscriber implements Subscriber<Object> {
+        private final Coordinator coordinator;
+        private final int index;
+        private volatile Subscription subscription;
+        private volatile boolean cancelled;
+
+        SourceSubscriber(Coordinator coordinator, int index) {
+            this.coordinator = coordinator;
+            this.index = index;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(Object value) {
+            if (!cancelled) {
+                coordinator.update(index, value);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            coordinator.fail(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            coordinator.complete();
+        }
+
+        void cancel() {
+            cancelled = true;
+            Subscription subscription = this.subscription;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
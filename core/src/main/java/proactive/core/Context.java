@@ -1,5 +1,9 @@
 package proactive.core;
 
+import org.reactivestreams.Publisher;
+
+import java.util.concurrent.Flow;
+
 /**
  * A context object, generally provided by a {@link ProactiveDriver}, which indicates the type of value
  * being handled.
@@ -7,4 +11,29 @@ package proactive.core;
  * @param <T> The value type.
  */
 public interface Context<T> {
+
+    /**
+     * @return The number of values this context is known to send. {@link Cardinality#MANY} unless the driver knows
+     * better.
+     */
+    default Cardinality cardinality() {
+        return Cardinality.MANY;
+    }
+
+    /**
+     * Exposes the values of this context as a Reactive Streams {@link Publisher}, so that any
+     * {@link ProactiveDriver} can {@link ProactiveDriver#adopt(Context) adopt} it, even one which did not create it.
+     * Drivers whose contexts hold a {@link Publisher} should return it as it is; by default a context which is a
+     * {@link Flow.Publisher} is adapted.
+     *
+     * @return The {@link Publisher}.
+     * @throws UnsupportedOperationException If the context cannot expose its values.
+     */
+    @SuppressWarnings("unchecked")
+    default Publisher<T> publisher() {
+        if (this instanceof Flow.Publisher) {
+            return AdapterSupport.toPublisher((Flow.Publisher<T>) this);
+        }
+        throw new UnsupportedOperationException("Context does not expose a publisher.");
+    }
 }
@@ -0,0 +1,129 @@
+package proactive.core;
+
+import proactive.core.management.DuplicateFilterStatisticsMXBean;
+
+import java.time.Duration;
+
+/**
+ * Remembers the keys it has seen, in bounded memory, so that repeated values can be dropped. There are three
+ * strategies:
+ * <ul>
+ *     <li>{@link #lru(int) lru}: exact, remembering the most recently seen keys up to a maximum number.</li>
+ *     <li>{@link #expiring(Duration, int) expiring}: exact, remembering keys for a time after they were first seen,
+ *     up to a maximum number.</li>
+ *     <li>{@link #bloom(int, double) bloom}: probabilistic, remembering roughly the most recent keys in a fixed
+ *     number of bits. Keys not seen before are occasionally taken for duplicates, at the configured rate, but
+ *     duplicates are never missed while remembered.</li>
+ * </ul>
+ * Exact filters keep a reference to each key, so keys should be small. Every filter is thread-safe, and publishes
+ * its hit rate and memory use through {@link DuplicateFilterStatisticsMXBean}, which can be registered with
+ * {@link proactive.core.management.Statistics#register(javax.management.ObjectName, Object)}.
+ *
+ * @param <K> The key type.
+ */
+public abstract class DuplicateFilter<K> implements DuplicateFilterStatisticsMXBean {
+
+    /**
+     * Creates an exact filter remembering the <code>maxSize</code> most recently seen keys.
+     *
+     * @param maxSize The maximum number of keys to remember.
+     * @param <K> The key type.
+     * @return The {@link DuplicateFilter}.
+     */
+    public static <K> DuplicateFilter<K> lru(int maxSize) {
+        return new LruDuplicateFilter<>(maxSize);
+    }
+
+    /**
+     * Creates an exact filter remembering each key for the <code>ttl</code> after it was first seen, and at most
+     * <code>maxSize</code> keys, forgetting the oldest first.
+     *
+     * @param ttl How long to remember each key.
+     * @param maxSize The maximum number of keys to remember.
+     * @param <K> The key type.
+     * @return The {@link DuplicateFilter}.
+     */
+    public static <K> DuplicateFilter<K> expiring(Duration ttl, int maxSize) {
+        return new ExpiringDuplicateFilter<>(ttl.toNanos(), maxSize);
+    }
+
+    /**
+     * Creates a probabilistic filter remembering at least the <code>capacity</code> most recently seen keys, in
+     * a fixed number of bits chosen for the false positive rate.
+     *
+     * @param capacity The number of keys to remember.
+     * @param falsePositiveRate The rate at which keys not seen before are taken for duplicates, between 0 and 1
+     *                          exclusive.
+     * @param <K> The key type.
+     * @return The {@link DuplicateFilter}.
+     */
+    public static <K> DuplicateFilter<K> bloom(int capacity, double falsePositiveRate) {
+        return new BloomDuplicateFilter<>(capacity, falsePositiveRate);
+    }
+
+    private long duplicates;
+    private long passed;
+
+    DuplicateFilter() {
+    }
+
+    /**
+     * Checks the key, and remembers it.
+     *
+     * @param key The key. May not be <code>null</code>.
+     * @return <code>true</code> if the key has not been seen before, or has been forgotten.
+     */
+    public final synchronized boolean firstSeen(K key) {
+        if (key == null) {
+            throw new NullPointerException("key");
+        }
+        if (add(key)) {
+            passed++;
+            return true;
+        }
+        duplicates++;
+        return false;
+    }
+
+    /**
+     * Forgets every key, keeping the statistics.
+     */
+    public final synchronized void clear() {
+        reset();
+    }
+
+    /**
+     * Adds the key. Called while holding the filter's lock.
+     *
+     * @param key The key.
+     * @return <code>true</code> if the key was not already remembered.
+     */
+    abstract boolean add(K key);
+
+    /**
+     * Forgets every key. Called while holding the filter's lock.
+     */
+    abstract void reset();
+
+    @Override
+    public final synchronized long getDuplicates() {
+        return duplicates;
+    }
+
+    @Override
+    public final synchronized long getPassed() {
+        return passed;
+    }
+
+    @Override
+    public final synchronized double getHitRate() {
+        long total = duplicates + passed;
+        return total == 0 ? 0 : (double) duplicates / total;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{size=" + getSize() + ", capacity=" + getCapacity()
+                + ", hitRate=" + getHitRate() + "}";
+    }
+}
@@ -0,0 +1,344 @@
+package proactive.core;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import proactive.core.AdapterSupport.DualSubscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A hot {@link Publisher} which any number of threads push values into with {@link #emit(Object)}. Values are
+ * handed over through a bounded {@link RingBuffer}, so emitting only claims a slot with a compare-and-set and
+ * allocates nothing, and they are sent to every current subscriber, in order, by whichever thread next drains the
+ * buffer.
+ * <p>
+ * Values wait in the buffer until every subscriber has demand for them, including while there are no subscribers
+ * at all. Once it is full the {@link Overflow} policy decides what happens to the next value. Subscribers only see
+ * the values still in the buffer when they subscribe and those emitted after, and subscribers arriving after
+ * {@link #complete()} or {@link #error(Throwable)} are terminated straight away.
+ *
+ * @param <T> The value type.
+ */
+public final class EmitterPublisher<T> implements Publisher<T> {
+
+    /**
+     * What {@link #emit(Object)} does when the buffer is full.
+     */
+    public enum Overflow {
+        /**
+         * Waits for space, parking the emitting thread between attempts. Values wait for every subscriber, including
+         * while there are none, so emitting more than the capacity before anything subscribes parks until
+         * {@link #complete()} or {@link #error(Throwable)}.
+         */
+        BLOCK,
+        /**
+         * Drops the oldest value in the buffer to make space.
+         */
+        DROP_OLDEST,
+        /**
+         * Drops the value being emitted.
+         */
+        DROP_NEWEST,
+        /**
+         * Fails the publisher with an {@link IllegalStateException}, dropping every value not yet sent.
+         */
+        FAIL
+    }
+
+    /**
+     * The default buffer capacity.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final long BLOCK_PARK_NANOS = 1000;
+
+    private final AtomicReference<List<Emission>> subscribers = new AtomicReference<>(List.of());
+    private final RingBuffer<T> buffer;
+    private final Overflow overflow;
+    private final AtomicInteger wip = new AtomicInteger();
+
+    /**
+     * The number of {@link #emit(Object)} calls between their check of {@link #done} and their value reaching the
+     * buffer. Completion waits for them, so a value accepted by a racing emit is still sent rather than stranded.
+     */
+    private final AtomicInteger emitting = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean done;
+    private volatile Throwable error;
+
+    /**
+     * @param capacity The minimum number of values the buffer can hold. It is rounded up to a power of two.
+     * @param overflow The {@link Overflow} policy.
+     */
+    public EmitterPublisher(int capacity, Overflow overflow) {
+        if (overflow == null) {
+            throw new NullPointerException("overflow");
+        }
+        this.buffer = new RingBuffer<>(capacity);
+        this.overflow = overflow;
+    }
+
+    /**
+     * Emits a value. This may be called from any thread.
+     *
+     * @param value The value. May not be <code>null</code>.
+     * @return <code>true</code> if the value was buffered, or <code>false</code> if it was dropped, either by the
+     * {@link Overflow} policy or because the publisher has terminated. Dropped values are
+     * {@link Util#release(Object) released}.
+     */
+    public boolean emit(T value) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        emitting.incrementAndGet();
+        boolean buffered = offer(value);
+        emitting.decrementAndGet();
+        drain();
+        return buffered;
+    }
+
+    private boolean offer(T value) {
+        if (done) {
+            Util.release(value);
+            return false;
+        }
+        while (!buffer.offer(value)) {
+            switch (overflow) {
+                case BLOCK:
+                    drain();
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                    if (done) {
+                        Util.release(value);
+                        return false;
+                    }
+                    break;
+                case DROP_OLDEST:
+                    T oldest = buffer.poll();
+                    if (oldest != null) {
+                        dropped.increment();
+                        Util.release(oldest);
+                    }
+                    break;
+                case DROP_NEWEST:
+                    dropped.increment();
+                    Util.release(value);
+                    return false;
+                case FAIL:
+                    dropped.increment();
+                    Util.release(value);
+                    error(new IllegalStateException("Emitter buffer is full."));
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Completes every subscriber once the values already buffered have been sent. Later values are dropped.
+     */
+    public void complete() {
+        done = true;
+        drain();
+    }
+
+    /**
+     * Fails every subscriber with the error. Values not yet sent are dropped.
+     *
+     * @param throwable The error.
+     */
+    public void error(Throwable throwable) {
+        if (throwable == null) {
+            throw new NullPointerException("throwable");
+        }
+        if (!done) {
+            error = throwable;
+            done = true;
+        }
+        drain();
+    }
+
+    /**
+     * @return The number of values dropped by the {@link Overflow} policy.
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return The number of values waiting in the buffer. This is only an estimate while values are being emitted.
+     */
+    public int buffered() {
+        return buffer.size();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Emission emission = new Emission(subscriber);
+        subscriber.onSubscribe(emission);
+        for (;;) {
+            List<Emission> current = subscribers.get();
+            List<Emission> next = new ArrayList<>(current.size() + 1);
+            next.addAll(current);
+            next.add(emission);
+            if (subscribers.compareAndSet(current, next)) {
+                break;
+            }
+        }
+        drain();
+    }
+
+    private void remove(Emission emission) {
+        for (;;) {
+            List<Emission> current = subscribers.get();
+            int index = current.indexOf(emission);
+            if (index < 0) {
+                return;
+            }
+            List<Emission> next = new ArrayList<>(current);
+            next.remove(index);
+            if (subscribers.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            Throwable error = this.error;
+            if (error != null) {
+                clear();
+                for (Emission emission : subscribers.getAndSet(List.of())) {
+                    emission.terminate(error);
+                }
+            } else {
+                List<Emission> current = subscribers.get();
+                long demand = Long.MAX_VALUE;
+                for (Emission emission : current) {
+                    if (!emission.cancelled) {
+                        demand = Math.min(demand, emission.requested.get());
+                    }
+                }
+                long emitted = 0;
+                while (emitted != demand && this.error == null) {
+                    int live = 0;
+                    for (Emission emission : current) {
+                        if (!emission.cancelled) {
+                            live++;
+                        }
+                    }
+                    if (live == 0) {
+                        break;
+                    }
+                    T value = buffer.poll();
+                    if (value == null) {
+                        break;
+                    }
+                    if (value instanceof ReferenceCounted) {
+                        for (int i = 1; i < live; i++) {
+                            ((ReferenceCounted) value).retain();
+                        }
+                    }
+                    // Subscribers may cancel while the value is being sent, so release the references kept for them.
+                    int sent = 0;
+                    for (Emission emission : current) {
+                        if (sent < live && !emission.cancelled) {
+                            emission.downstream.onNext(value);
+                            sent++;
+                        }
+                    }
+                    for (; sent < live; sent++) {
+                        Util.release(value);
+                    }
+                    emitted++;
+                }
+                if (emitted != 0) {
+                    for (Emission emission : current) {
+                        emission.produced(emitted);
+                    }
+                }
+                if (done && this.error == null && emitting.get() == 0 && buffer.isEmpty()) {
+                    for (Emission emission : subscribers.getAndSet(List.of())) {
+                        emission.terminate(null);
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private void clear() {
+        T value;
+        while ((value = buffer.poll()) != null) {
+            Util.release(value);
+        }
+    }
+
+    private final class Emission implements DualSubscription {
+        private final Subscriber<? super T> downstream;
+        private final AtomicLong requested = new AtomicLong();
+        private volatile boolean cancelled;
+
+        Emission(Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            for (;;) {
+                long current = requested.get();
+                long next = current + n;
+                if (requested.compareAndSet(current, next < 0 ? Long.MAX_VALUE : next)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                remove(this);
+                drain();
+            }
+        }
+
+        void produced(long n) {
+            for (;;) {
+                long current = requested.get();
+                if (current == Long.MAX_VALUE || requested.compareAndSet(current, current - n)) {
+                    return;
+                }
+            }
+        }
+
+        void terminate(Throwable error) {
+            if (!cancelled) {
+                cancelled = true;
+                if (error == null) {
+                    downstream.onComplete();
+                } else {
+                    downstream.onError(error);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package proactive.core;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link Scheduler} with a single, dedicated thread which runs tasks in the order they were submitted. Tasks are
+ * handed over through a bounded {@link RingBuffer}, and the thread parks only when there is nothing to run.
+ *
+ * @see Schedulers#eventLoops()
+ */
+final class EventLoop implements Scheduler {
+
+    private final String name;
+    private final RingBuffer<Runnable> tasks;
+    private final Thread thread;
+    private volatile boolean sleeping;
+    private volatile boolean disposed;
+
+    EventLoop(String name, int queueCapacity, ThreadFactory threadFactory) {
+        this.name = name;
+        this.tasks = new RingBuffer<>(queueCapacity);
+        this.thread = threadFactory.newThread(this::run);
+        this.thread.start();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public Kind kind() {
+        return Kind.CUSTOM;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (disposed) {
+            throw new RejectedExecutionException("Event loop '" + name + "' is disposed.");
+        } else if (!tasks.offer(command)) {
+            throw new RejectedExecutionException("Event loop '" + name + "' is full.");
+        }
+        if (sleeping && Thread.currentThread() != thread) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        LockSupport.unpark(thread);
+    }
+
+    private void run() {
+        while (!disposed) {
+            Runnable task = tasks.poll();
+            if (task == null) {
+                // Slots are published lazily, so the check before parking reads the tail instead, which producers
+                // claim with a CAS before they read sleeping. A claimed slot not yet published is spun on.
+                sleeping = true;
+                if (tasks.isEmpty()) {
+                    LockSupport.park(this);
+                } else {
+                    Thread.onSpinWait();
+                }
+                sleeping = false;
+                continue;
+            }
+            try {
+                task.run();
+            } catch (Throwable e) {
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,94 @@
+package proactive.core;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An exact {@link DuplicateFilter} remembering keys for a time after they were first seen. Keys are kept in the
+ * order they were first seen, so expired keys are always at the head and are removed as new keys arrive, in
+ * amortized constant time.
+ *
+ * @param <K> The key type.
+ */
+final class ExpiringDuplicateFilter<K> extends DuplicateFilter<K> {
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LinkedHashMap<K, Long> keys = new LinkedHashMap<>();
+    private long evictions;
+
+    ExpiringDuplicateFilter(long ttlNanos, int maxSize) {
+        if (ttlNanos <= 0) {
+            throw new IllegalArgumentException("ttl");
+        } else if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize");
+        }
+        this.ttlNanos = ttlNanos;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    boolean add(K key) {
+        long now = System.nanoTime();
+        expire(now);
+        if (keys.containsKey(key)) {
+            return false;
+        }
+        if (keys.size() >= maxSize) {
+            Iterator<K> eldest = keys.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+        keys.put(key, now);
+        return true;
+    }
+
+    private void expire(long now) {
+        Iterator<Map.Entry<K, Long>> entries = keys.entrySet().iterator();
+        while (entries.hasNext()) {
+            if (now - entries.next().getValue() < ttlNanos) {
+                return;
+            }
+            entries.remove();
+            evictions++;
+        }
+    }
+
+    @Override
+    void reset() {
+        keys.clear();
+    }
+
+    @Override
+    public String getStrategy() {
+        return "expiring";
+    }
+
+    @Override
+    public synchronized long getSize() {
+        expire(System.nanoTime());
+        return keys.size();
+    }
+
+    @Override
+    public long getCapacity() {
+        return maxSize;
+    }
+
+    @Override
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized long getMemoryBytes() {
+        return (long) keys.size() * (LruDuplicateFilter.ENTRY_BYTES + Long.BYTES + 16);
+    }
+
+    @Override
+    public double getFalsePositiveRate() {
+        return 0;
+    }
+}
@@ -0,0 +1,226 @@
+package proactive.core;
+
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+/**
+ * A balanced (AVL) tree of closed intervals, each holding a value, which finds every interval containing a point
+ * in <code>O(log n + m)</code> time for <code>m</code> matches. Each node also records the greatest upper bound in
+ * its subtree, so subtrees which end before the point are skipped.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <K> The bound type.
+ * @param <V> The value type.
+ */
+final class IntervalTree<K, V> {
+
+    private final Comparator<? super K> order;
+    private Node<K, V> root;
+    private long nextId;
+    private int size;
+
+    IntervalTree(Comparator<? super K> order) {
+        this.order = order;
+    }
+
+    /**
+     * Adds an interval. Intervals with equal bounds may be added any number of times.
+     *
+     * @param from The lower bound, inclusive.
+     * @param to The upper bound, inclusive.
+     * @param value The value.
+     * @return The {@link Node}, which is needed to {@link #remove(Node) remove} the interval.
+     */
+    Node<K, V> add(K from, K to, V value) {
+        if (order.compare(from, to) > 0) {
+            throw new IllegalArgumentException("from > to");
+        }
+        Node<K, V> node = new Node<>(from, to, value, nextId++);
+        root = insert(root, node);
+        size++;
+        return node;
+    }
+
+    /**
+     * Removes an interval added by {@link #add(Object, Object, Object)}.
+     *
+     * @param node The interval's node.
+     */
+    void remove(Node<K, V> node) {
+        root = delete(root, node);
+        size--;
+    }
+
+    /**
+     * Sends the value of every interval containing the point to the consumer.
+     *
+     * @param point The point.
+     * @param consumer Receives each matching value.
+     */
+    void stab(K point, Consumer<? super V> consumer) {
+        stab(root, point, consumer);
+    }
+
+    /**
+     * Sends the value of every interval to the consumer, in order of their lower bounds.
+     *
+     * @param consumer Receives each value.
+     */
+    void forEach(Consumer<? super V> consumer) {
+        forEach(root, consumer);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        root = null;
+        size = 0;
+    }
+
+    private void stab(Node<K, V> node, K point, Consumer<? super V> consumer) {
+        while (node != null && order.compare(node.max, point) >= 0) {
+            stab(node.left, point, consumer);
+            if (order.compare(node.from, point) > 0) {
+                return;
+            }
+            if (order.compare(point, node.to) <= 0) {
+                consumer.accept(node.value);
+            }
+            node = node.right;
+        }
+    }
+
+    private void forEach(Node<K, V> node, Consumer<? super V> consumer) {
+        while (node != null) {
+            forEach(node.left, consumer);
+            consumer.accept(node.value);
+            node = node.right;
+        }
+    }
+
+    private int compare(Node<K, V> a, Node<K, V> b) {
+        int result = order.compare(a.from, b.from);
+        return result != 0 ? result : Long.compare(a.id, b.id);
+    }
+
+    private Node<K, V> insert(Node<K, V> node, Node<K, V> added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return balance(node);
+    }
+
+    private Node<K, V> delete(Node<K, V> node, Node<K, V> removed) {
+        if (node == null) {
+            throw new IllegalArgumentException("Interval not found.");
+        }
+        int comparison = compare(removed, node);
+        if (comparison < 0) {
+            node.left = delete(node.left, removed);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, removed);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else {
+            Node<K, V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return balance(node);
+    }
+
+    private Node<K, V> deleteMin(Node<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return balance(node);
+    }
+
+    private Node<K, V> balance(Node<K, V> node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        } else if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<K, V> rotateLeft(Node<K, V> node) {
+        Node<K, V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<K, V> rotateRight(Node<K, V> node) {
+        Node<K, V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node<K, V> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        K max = node.to;
+        if (node.left != null && order.compare(node.left.max, max) > 0) {
+            max = node.left.max;
+        }
+        if (node.right != null && order.compare(node.right.max, max) > 0) {
+            max = node.right.max;
+        }
+        node.max = max;
+    }
+
+    private static int height(Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * An interval in the tree.
+     */
+    static final class Node<K, V> {
+        private final K from;
+        private final K to;
+        private final V value;
+        private final long id;
+        private Node<K, V> left;
+        private Node<K, V> right;
+        private int height = 1;
+        private K max;
+
+        private Node(K from, K to, V value, long id) {
+            this.from = from;
+            this.to = to;
+            this.value = value;
+            this.id = id;
+            this.max = to;
+        }
+    }
+}
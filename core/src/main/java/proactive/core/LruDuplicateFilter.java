@@ -0,0 +1,78 @@
+package proactive.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An exact {@link DuplicateFilter} remembering the most recently seen keys, in access order.
+ *
+ * @param <K> The key type.
+ */
+final class LruDuplicateFilter<K> extends DuplicateFilter<K> {
+
+    /**
+     * The approximate size of a {@link LinkedHashMap} entry and its table slot, excluding the key.
+     */
+    static final int ENTRY_BYTES = 56;
+
+    private final int maxSize;
+    private final LinkedHashMap<K, Boolean> keys;
+    private long evictions;
+
+    LruDuplicateFilter(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize");
+        }
+        this.maxSize = maxSize;
+        this.keys = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Boolean> eldest) {
+                if (size() > LruDuplicateFilter.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    boolean add(K key) {
+        return keys.put(key, Boolean.TRUE) == null;
+    }
+
+    @Override
+    void reset() {
+        keys.clear();
+    }
+
+    @Override
+    public String getStrategy() {
+        return "lru";
+    }
+
+    @Override
+    public synchronized long getSize() {
+        return keys.size();
+    }
+
+    @Override
+    public long getCapacity() {
+        return maxSize;
+    }
+
+    @Override
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized long getMemoryBytes() {
+        return (long) keys.size() * ENTRY_BYTES;
+    }
+
+    @Override
+    public double getFalsePositiveRate() {
+        return 0;
+    }
+}
@@ -0,0 +1,383 @@
+package proactive.core;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import proactive.core.AdapterSupport.DualSubscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * A {@link Publisher} which routes each value of a source to one of a number of single-threaded
+ * {@link Schedulers#eventLoops() event loops}, chosen by the hash of the value's key. Each value is mapped to an
+ * inner {@link Publisher} on its loop, and the inner publishers' values are merged and sent onwards.
+ * <p>
+ * Values with the same key are always mapped on the same thread, one at a time and in the order they arrived, so
+ * state kept per key needs no locks. The next value for a loop is only mapped once the previous inner publisher has
+ * completed, so the output for each key keeps its order.
+ * <p>
+ * Values are handed to each loop through a bounded {@link RingBuffer}. At most <code>prefetch</code> values are
+ * requested from the source at a time, and more are only requested as the output is consumed.
+ *
+ * @param <I> The source value type.
+ * @param <O> The output value type.
+ */
+public final class PartitionedPublisher<I, O> implements Publisher<O> {
+
+    /**
+     * The default number of source values requested at a time.
+     */
+    public static final int DEFAULT_PREFETCH = 256;
+
+    private final Publisher<I> source;
+    private final Function<? super I, ?> key;
+    private final Function<? super I, ? extends Publisher<O>> mapper;
+    private final List<Scheduler> loops;
+    private final int prefetch;
+
+    /**
+     * @param source The source of values.
+     * @param key Provides the key of each value.
+     * @param mapper Maps each value to a {@link Publisher}. It is called on the value's loop.
+     * @param loops The loops to partition over. Each should run its tasks in order on a single thread.
+     * @param prefetch The maximum number of source values in flight.
+     */
+    public PartitionedPublisher(Publisher<I> source, Function<? super I, ?> key,
+                                Function<? super I, ? extends Publisher<O>> mapper, List<Scheduler> loops,
+                                int prefetch) {
+        if (source == null) {
+            throw new NullPointerException("source");
+        } else if (key == null) {
+            throw new NullPointerException("key");
+        } else if (mapper == null) {
+            throw new NullPointerException("mapper");
+        } else if (loops == null || loops.isEmpty()) {
+            throw new IllegalArgumentException("loops");
+        } else if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch");
+        }
+        this.source = source;
+        this.key = key;
+        this.mapper = mapper;
+        this.loops = List.copyOf(loops);
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super O> subscriber) {
+        source.subscribe(new Coordinator(subscriber));
+    }
+
+    /**
+     * Subscribes to the source, hands values to the {@link Lane}s, and merges their output.
+     */
+    private final class Coordinator implements Subscriber<I>, DualSubscription {
+
+        private final Subscriber<? super O> downstream;
+        private final List<Lane> lanes;
+        private final Queue<O> output = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /**
+         * The number of source values received which have not finished being mapped.
+         */
+        private final AtomicLong pending = new AtomicLong();
+
+        /**
+         * The number of source values finished with since more were last requested.
+         */
+        private final AtomicLong finished = new AtomicLong();
+
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        private Subscription upstream;
+        private volatile boolean upstreamDone;
+        private volatile boolean cancelled;
+        private boolean done;
+
+        Coordinator(Subscriber<? super O> downstream) {
+            this.downstream = downstream;
+            List<Lane> lanes = new ArrayList<>(loops.size());
+            for (Scheduler loop : loops) {
+                lanes.add(new Lane(this, loop));
+            }
+            this.lanes = List.copyOf(lanes);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(prefetch);
+        }
+
+        @Override
+        public void onNext(I value) {
+            if (upstreamDone || cancelled) {
+                Util.release(value);
+                return;
+            }
+            pending.incrementAndGet();
+            Lane lane;
+            try {
+                lane = lanes.get(index(key.apply(value)));
+            } catch (RuntimeException e) {
+                Util.release(value);
+                fail(e);
+                return;
+            }
+            if (!lane.queue.offer(value)) {
+                Util.release(value);
+                fail(new IllegalStateException("Partition queue is full."));
+                return;
+            }
+            lane.schedule();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            upstreamDone = true;
+            error.compareAndSet(null, throwable);
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamDone = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            for (;;) {
+                long current = requested.get();
+                long next = current + n;
+                if (requested.compareAndSet(current, next < 0 ? Long.MAX_VALUE : next)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                upstream.cancel();
+                for (Lane lane : lanes) {
+                    lane.cancel();
+                }
+                drain();
+            }
+        }
+
+        private int index(Object key) {
+            int hash = Objects.hashCode(key);
+            return Math.floorMod(hash ^ (hash >>> 16), lanes.size());
+        }
+
+        void next(O value) {
+            output.offer(value);
+            drain();
+        }
+
+        void finished() {
+            pending.decrementAndGet();
+            finished.incrementAndGet();
+            drain();
+        }
+
+        void fail(Throwable throwable) {
+            if (error.compareAndSet(null, throwable)) {
+                upstreamDone = true;
+                upstream.cancel();
+            }
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand) {
+                    if (cancelled || done || error.get() != null) {
+                        break;
+                    }
+                    O value = output.poll();
+                    if (value == null) {
+                        break;
+                    }
+                    downstream.onNext(value);
+                    emitted++;
+                }
+                if (emitted > 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                if (cancelled || done) {
+                    clear();
+                } else if (error.get() != null) {
+                    done = true;
+                    for (Lane lane : lanes) {
+                        lane.cancel();
+                    }
+                    clear();
+                    downstream.onError(error.get());
+                } else if (output.isEmpty()) {
+                    if (upstreamDone && pending.get() == 0) {
+                        done = true;
+                        downstream.onComplete();
+                    } else {
+                        long more = finished.getAndSet(0);
+                        if (more > 0 && !upstreamDone) {
+                            upstream.request(more);
+                        }
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void clear() {
+            O value;
+            while ((value = output.poll()) != null) {
+                Util.release(value);
+            }
+        }
+    }
+
+    /**
+     * The values waiting for one loop, which it maps one at a time.
+     */
+    private final class Lane implements Runnable {
+
+        private final Coordinator coordinator;
+        private final Scheduler loop;
+        private final RingBuffer<I> queue = new RingBuffer<>(prefetch);
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean active;
+        private volatile boolean cancelled;
+        private volatile Subscription inner;
+
+        Lane(Coordinator coordinator, Scheduler loop) {
+            this.coordinator = coordinator;
+            this.loop = loop;
+        }
+
+        void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    loop.execute(this);
+                } catch (RejectedExecutionException e) {
+                    wip.set(0);
+                    coordinator.fail(e);
+                }
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            Subscription inner = this.inner;
+            if (inner != null) {
+                inner.cancel();
+            }
+            schedule();
+        }
+
+        /**
+         * Maps the next value once the previous inner {@link Publisher} has completed. Always runs on the loop.
+         */
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                if (cancelled) {
+                    I value;
+                    while ((value = queue.poll()) != null) {
+                        Util.release(value);
+                    }
+                } else if (!active) {
+                    I value = queue.poll();
+                    if (value != null) {
+                        active = true;
+                        Publisher<O> publisher;
+                        try {
+                            publisher = mapper.apply(value);
+                        } catch (RuntimeException e) {
+                            Util.release(value);
+                            coordinator.fail(e);
+                            continue;
+                        }
+                        publisher.subscribe(new InnerSubscriber(this));
+                        continue;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        void completed() {
+            inner = null;
+            active = false;
+            coordinator.finished();
+            schedule();
+        }
+    }
+
+    private final class InnerSubscriber implements Subscriber<O> {
+
+        private final Lane lane;
+
+        InnerSubscriber(Lane lane) {
+            this.lane = lane;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            lane.inner = subscription;
+            if (lane.cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(O value) {
+            lane.coordinator.next(value);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            lane.coordinator.fail(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            lane.completed();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package proactive.core;
+
+/**
+ * The priority classes a {@link Statement} can run at on a {@link PriorityScheduler}. When several classes have
+ * work waiting, each is given threads in proportion to its {@link #weight() weight}.
+ */
+public enum Priority {
+    /**
+     * Latency-sensitive work, such as handling a request.
+     */
+    INTERACTIVE(16),
+
+    /**
+     * The default class.
+     */
+    NORMAL(4),
+
+    /**
+     * Bulk work, which soaks up idle capacity.
+     */
+    BATCH(1);
+
+    private final int weight;
+
+    Priority(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * @return The relative share of threads given to the class when other classes also have work waiting.
+     */
+    public int weight() {
+        return weight;
+    }
+}
@@ -0,0 +1,331 @@
+package proactive.core;
+
+import proactive.core.management.PrioritySchedulerStatisticsMXBean;
+import proactive.core.management.Statistics;
+
+import javax.management.ObjectName;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link Scheduler} with a fixed number of threads shared between {@link Priority} classes. Each class has its
+ * own bounded queue, and work submitted while it is full is rejected with a {@link RejectedExecutionException}.
+ * <p>
+ * When several classes have work waiting, threads take from them in proportion to their
+ * {@link Priority#weight() weights}, interleaved rather than in bursts. A task which has waited longer than the
+ * maximum wait is run next regardless of its class, so lower classes are never starved.
+ * <p>
+ * Work submitted through {@link #execute(Runnable)} runs at {@link Priority#NORMAL}. Use {@link #at(Priority)}
+ * for the others.
+ *
+ * @see Schedulers#newPriority(String, int, int, Duration)
+ */
+public final class PriorityScheduler implements Scheduler, PrioritySchedulerStatisticsMXBean {
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final String name;
+    private final int queueCapacity;
+    private final long maxWaitNanos;
+    private final List<ArrayDeque<Task>> queues;
+
+    /**
+     * The running credit of each class, for smooth weighted round-robin selection.
+     */
+    private final int[] credit = new int[PRIORITIES.length];
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Map<Priority, Scheduler> levels = new EnumMap<>(Priority.class);
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder promoted = new LongAdder();
+    private final ObjectName objectName;
+    private int waiting;
+    private boolean disposed;
+
+    PriorityScheduler(String name, int threads, int queueCapacity, long maxWaitNanos) {
+        if (name == null) {
+            throw new NullPointerException("name");
+        } else if (threads <= 0) {
+            throw new IllegalArgumentException("threads");
+        } else if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity");
+        } else if (maxWaitNanos <= 0) {
+            throw new IllegalArgumentException("maxWait");
+        }
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        this.maxWaitNanos = maxWaitNanos;
+        List<ArrayDeque<Task>> queues = new ArrayList<>(PRIORITIES.length);
+        for (Priority priority : PRIORITIES) {
+            queues.add(new ArrayDeque<>());
+            levels.put(priority, new Level(priority));
+        }
+        this.queues = List.copyOf(queues);
+        this.objectName = Statistics.objectName("Scheduler", name);
+        ThreadFactory threadFactory = Schedulers.threadFactory(name);
+        for (int i = 0; i < threads; i++) {
+            threadFactory.newThread(this::work).start();
+        }
+    }
+
+    /**
+     * @return The JMX name this scheduler's statistics are published under.
+     */
+    ObjectName objectName() {
+        return objectName;
+    }
+
+    /**
+     * Provides a view of this scheduler which runs work at the specified {@link Priority}.
+     *
+     * @param priority The {@link Priority}.
+     * @return The {@link Scheduler}.
+     */
+    public Scheduler at(Priority priority) {
+        return levels.get(priority);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public Kind kind() {
+        return Kind.CUSTOM;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        submit(Priority.NORMAL, command);
+    }
+
+    /**
+     * Stops the threads once their current tasks finish. Tasks still waiting are discarded.
+     */
+    @Override
+    public void dispose() {
+        lock.lock();
+        try {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            for (ArrayDeque<Task> queue : queues) {
+                queue.clear();
+            }
+            waiting = 0;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        Statistics.unregister(objectName);
+    }
+
+    private void submit(Priority priority, Runnable command) {
+        if (command == null) {
+            throw new NullPointerException("command");
+        }
+        lock.lock();
+        try {
+            ArrayDeque<Task> queue = queues.get(priority.ordinal());
+            if (disposed) {
+                throw new RejectedExecutionException("Scheduler '" + name + "' is disposed.");
+            } else if (queue.size() >= queueCapacity) {
+                rejected.increment();
+                throw new RejectedExecutionException("Scheduler '" + name + "' is full for " + priority + " work.");
+            }
+            queue.add(new Task(command, System.nanoTime()));
+            waiting++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void work() {
+        Thread thread = Thread.currentThread();
+        for (;;) {
+            Runnable task = take();
+            if (task == null) {
+                return;
+            }
+            active.incrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable e) {
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            } finally {
+                active.decrementAndGet();
+                completed.increment();
+            }
+        }
+    }
+
+    /**
+     * Waits for the next task to run.
+     *
+     * @return The task, or <code>null</code> once disposed.
+     */
+    private Runnable take() {
+        lock.lock();
+        try {
+            while (waiting == 0 && !disposed) {
+                notEmpty.awaitUninterruptibly();
+            }
+            if (disposed) {
+                return null;
+            }
+            waiting--;
+            return queues.get(next()).poll().command;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Chooses the class to take from next. Must be called holding the lock with at least one task waiting.
+     *
+     * @return The index of the class.
+     */
+    private int next() {
+        long now = System.nanoTime();
+        int oldest = -1;
+        long oldestWait = maxWaitNanos;
+        for (int i = 0; i < queues.size(); i++) {
+            Task head = queues.get(i).peek();
+            if (head != null && now - head.submitted > oldestWait) {
+                oldest = i;
+                oldestWait = now - head.submitted;
+            }
+        }
+        int best = -1;
+        int total = 0;
+        for (int i = 0; i < queues.size(); i++) {
+            if (!queues.get(i).isEmpty()) {
+                credit[i] += PRIORITIES[i].weight();
+                total += PRIORITIES[i].weight();
+                if (best < 0 || credit[i] > credit[best]) {
+                    best = i;
+                }
+            }
+        }
+        if (oldest >= 0 && oldest != best) {
+            promoted.increment();
+            best = oldest;
+        }
+        credit[best] -= total;
+        return best;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queueCapacity * PRIORITIES.length;
+    }
+
+    @Override
+    public int getActiveThreads() {
+        return active.get();
+    }
+
+    @Override
+    public long getCompletedTasks() {
+        return completed.sum();
+    }
+
+    @Override
+    public long getRejectedTasks() {
+        return rejected.sum();
+    }
+
+    @Override
+    public Map<String, Integer> getQueueDepthByPriority() {
+        Map<String, Integer> depths = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            for (Priority priority : PRIORITIES) {
+                depths.put(priority.name(), queues.get(priority.ordinal()).size());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return depths;
+    }
+
+    @Override
+    public long getPromotedTasks() {
+        return promoted.sum();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static final class Task {
+        private final Runnable command;
+        private final long submitted;
+
+        Task(Runnable command, long submitted) {
+            this.command = command;
+            this.submitted = submitted;
+        }
+    }
+
+    /**
+     * Submits work to the {@link PriorityScheduler} at one {@link Priority}.
+     */
+    private final class Level implements Scheduler {
+        private final Priority priority;
+        private final String name;
+
+        Level(Priority priority) {
+            this.priority = priority;
+            this.name = PriorityScheduler.this.name + "-" + priority.name().toLowerCase();
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public Kind kind() {
+            return Kind.CUSTOM;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            submit(priority, command);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -3,8 +3,11 @@ package proactive.core;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ServiceLoader;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Flow;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -89,6 +92,44 @@ public interface ProactiveDriver {
      */
     <I, T> Context<T> flatMap(Context<I> context, Function<? super I, ? extends Context<T>> mapper);
 
+    /**
+     * Performs a <code>flatMap</code> operation as {@link #flatMap(Context, Function)} does, but with at most
+     * <code>maxConcurrency</code> inner {@link Context}s subscribed at once.
+     *
+     * @param <I> The type produced by the publisher.
+     * @param <T> The type produced by the flattened publisher.
+     * @param context The publisher to adapt.
+     * @param mapper The mapper function.
+     * @param maxConcurrency The maximum number of inner {@link Context}s subscribed at once.
+     * @return The {@link Publisher}.
+     */
+    <I, T> Context<T> flatMap(Context<I> context, Function<? super I, ? extends Context<T>> mapper, int maxConcurrency);
+
+    /**
+     * Performs a <code>flatMap</code> operation with up to <code>maxConcurrency</code> inner {@link Context}s
+     * subscribed at once, but sends their values onwards in the order of the values they were mapped from. Values
+     * from inner {@link Context}s which finish early are held until those before them have completed.
+     *
+     * @param <I> The type produced by the publisher.
+     * @param <T> The type produced by the flattened publisher.
+     * @param context The publisher to adapt.
+     * @param mapper The mapper function.
+     * @param maxConcurrency The maximum number of inner {@link Context}s subscribed at once.
+     * @return The {@link Publisher}.
+     */
+    <I, T> Context<T> flatMapSequential(Context<I> context, Function<? super I, ? extends Context<T>> mapper, int maxConcurrency);
+
+    /**
+     * Creates a {@link Context} which calls the {@link Callable} on each subscription and sends its result as an
+     * <code>onNext</code> signal. If the result is <code>null</code> the {@link Context} completes empty, and if the
+     * {@link Callable} throws, the exception is sent as the <code>onError</code> signal.
+     *
+     * @param <T> The type of value produced.
+     * @param callable The {@link Callable} to call.
+     * @return The {@link Context}.
+     */
+    <T> Context<T> fromCallable(Callable<? extends T> callable);
+
     /**
      * Adapts a single value into a {@link Publisher}. the value will be sent as an <code>onNext</code> signal.
      * If an API has a <code>0|1</code> publisher, it should be produced here.
@@ -120,6 +161,41 @@ public interface ProactiveDriver {
      */
     <T> Context<T> log(Context<T> context, String category);
 
+    /**
+     * Returns a {@link Context} which shares a single subscription to the provided {@link Context} between all of
+     * its subscribers. It subscribes upstream when the first subscriber arrives, and cancels once the last one has
+     * left. Each value is sent to every current subscriber, so the slowest one limits the rate of all of them.
+     *
+     * @param <T> The value type.
+     * @param context The {@link Context} to share.
+     * @param replay The number of the most recent values sent to each new subscriber before live values. May be
+     *               <code>0</code>.
+     * @return The shared {@link Context}.
+     */
+    <T> Context<T> share(Context<T> context, int replay);
+
+    /**
+     * Returns a {@link Context} which subscribes to the provided {@link Context} on the {@link Scheduler}, so that
+     * the work done on subscription and request runs there rather than on the calling thread.
+     *
+     * @param <T> The value type.
+     * @param context The {@link Context} to adapt.
+     * @param scheduler The {@link Scheduler} to subscribe on.
+     * @return The adapted {@link Context}.
+     */
+    <T> Context<T> subscribeOn(Context<T> context, Scheduler scheduler);
+
+    /**
+     * Returns a {@link Context} which hands each signal of the provided {@link Context} off to the
+     * {@link Scheduler}, so that downstream work runs there rather than on the emitting thread.
+     *
+     * @param <T> The value type.
+     * @param context The {@link Context} to adapt.
+     * @param scheduler The {@link Scheduler} to publish on.
+     * @return The adapted {@link Context}.
+     */
+    <T> Context<T> publishOn(Context<T> context, Scheduler scheduler);
+
     /**
      * Requests that the provided {@link Subscriber} is subscribed to the provided {@link Publisher}.
      *  @param <T>        The type of value being published/subscribed to.
@@ -152,8 +228,35 @@ public interface ProactiveDriver {
 
     <T> Context<T> toContext(Publisher<T> publisher);
 
+    /**
+     * Wraps a {@link Publisher} known to send the {@link Cardinality} of values, so that operations on the
+     * {@link Context} can use the driver's single-valued types when it sends at most one.
+     *
+     * @param publisher The {@link Publisher}.
+     * @param cardinality The number of values it sends.
+     * @param <T> The value type.
+     * @return The {@link Context}.
+     */
+    default <T> Context<T> toContext(Publisher<T> publisher, Cardinality cardinality) {
+        return toContext(publisher);
+    }
+
     <T> Context<T> toContext(Flow.Publisher<T> flowPublisher);
 
+    /**
+     * Adopts a {@link Context} as one of this driver's own. A context this driver created is returned as it is, and
+     * one created by another driver is rebuilt around its {@link Context#publisher() publisher} and
+     * {@link Context#cardinality() cardinality}, without copying any values. Drivers accept foreign contexts in every
+     * operation by adopting them first, so statements built on different drivers can be mixed.
+     *
+     * @param context The {@link Context}.
+     * @param <T> The value type.
+     * @return The equivalent {@link Context} of this driver.
+     */
+    default <T> Context<T> adopt(Context<T> context) {
+        return toContext(context.publisher(), context.cardinality());
+    }
+
     <T> Flow.Publisher<T> toFlowPublisher(Context<T> context);
 
     <T> Publisher<T> toPublisher(Context<T> context);
@@ -167,15 +270,23 @@ public interface ProactiveDriver {
      * such as <code>proactive.reactor3</code>. If you have multiple implementation libraries in your classpath,
      * an arbitrary implementation is selected by default. That can be overridden by calling
      * {@link #setDefaultDriver(ProactiveDriver)}.
+     * <p>
+     * The default can also be overridden for a single thread with {@link #bind(ProactiveDriver)}, so that different
+     * drivers can be used side by side. Statements capture the driver when they are built, and use it for every
+     * execution, wherever they execute. All lookups are safe to make from any thread.
      */
     final class Find {
 
         private Find() {
         }
 
-        private static ServiceLoader<ProactiveDriver> driverLoader = ServiceLoader.load(ProactiveDriver.class);
+        private static final ServiceLoader<ProactiveDriver> driverLoader = ServiceLoader.load(ProactiveDriver.class);
+
+        private static final ThreadLocal<ProactiveDriver> boundDriver = new ThreadLocal<>();
 
-        private static ProactiveDriver defaultDriver;
+        private static volatile ProactiveDriver defaultDriver;
+
+        private static volatile ProactiveDriver loadedDriver;
 
         /**
          * Provides an {@link Iterator} listing all available {@link ProactiveDriver} implementations that are available
@@ -184,19 +295,37 @@ public interface ProactiveDriver {
          * @return the {@link Iterator}.
          */
         public static Iterator<ProactiveDriver> allDrivers() {
-            return driverLoader.iterator();
+            List<ProactiveDriver> drivers = new ArrayList<>();
+            synchronized (driverLoader) {
+                driverLoader.forEach(drivers::add);
+            }
+            return drivers.iterator();
         }
 
         /**
-         * Finds the default {@link ProactiveDriver} and scans the {@link ServiceLoader} if it hasn't been found already.
+         * Finds the driver for the current thread: the one {@link #bind(ProactiveDriver) bound} to it, the one
+         * {@link #setDefaultDriver(ProactiveDriver) set}, or the first found by the {@link ServiceLoader}, which is
+         * only scanned once.
          *
-         * @return The {@link ProactiveDriver}
+         * @return The {@link ProactiveDriver}, or <code>null</code> if none is available.
          */
-        private static ProactiveDriver findDefaultDriver() {
-            if (defaultDriver == null) {
-                driverLoader.findFirst().ifPresent(firstDriver -> defaultDriver = firstDriver);
+        static ProactiveDriver find() {
+            ProactiveDriver driver = boundDriver.get();
+            if (driver == null) {
+                driver = defaultDriver;
             }
-            return defaultDriver;
+            if (driver == null) {
+                driver = loadedDriver;
+            }
+            if (driver == null) {
+                synchronized (driverLoader) {
+                    if (loadedDriver == null) {
+                        loadedDriver = driverLoader.findFirst().orElse(null);
+                    }
+                    driver = loadedDriver;
+                }
+            }
+            return driver;
         }
 
         /**
@@ -205,30 +334,31 @@ public interface ProactiveDriver {
          * @return <code>true</code> if a default {@link ProactiveDriver}.
          */
         public static boolean hasDefaultDriver() {
-            return findDefaultDriver() != null;
+            return find() != null;
         }
 
         /**
-         * Returns the current {@link ProactiveDriver}. If no defaultDriver has been {@link #setDefaultDriver(ProactiveDriver) set} it will
-         * search for an implementation of {@link ProactiveDriver} via the standard {@link ServiceLoader} API.
+         * Returns the current {@link ProactiveDriver}: the one {@link #bind(ProactiveDriver) bound} to this thread if
+         * there is one, otherwise the one {@link #setDefaultDriver(ProactiveDriver) set}. If neither has been provided
+         * it will search for an implementation of {@link ProactiveDriver} via the standard {@link ServiceLoader} API.
          *
-         * @return The {@link ProactiveDriver} implementation, or <code>null</code> if one cannot be found.
+         * @return The {@link ProactiveDriver} implementation.
+         * @throws IllegalStateException if none is available.
          * @see #setDefaultDriver(ProactiveDriver)
          */
         public static ProactiveDriver defaultDriver() {
-            if (defaultDriver == null) {
-                findDefaultDriver();
-                if (defaultDriver == null) {
-                    throw new IllegalStateException("No default ProactiveDriver found.");
-                }
+            ProactiveDriver driver = find();
+            if (driver == null) {
+                throw new IllegalStateException("No default ProactiveDriver found.");
             }
-            return defaultDriver;
+            return driver;
         }
 
         /**
          * Sets the current {@link ProactiveDriver} implementation. This will override any default service provided via the
          * {@link ServiceLoader} API. If the defaultDriver is set to <code>null</code>, then the default implementation via the
-         * {@link ServiceLoader} API will be found again.
+         * {@link ServiceLoader} API will be used again. Threads with a {@link #bind(ProactiveDriver) bound} driver keep
+         * using it.
          *
          * @param driver The new {@link ProactiveDriver}.
          */
@@ -236,5 +366,51 @@ public interface ProactiveDriver {
             defaultDriver = driver;
         }
 
+        /**
+         * Binds a {@link ProactiveDriver} to the current thread until the returned {@link Scope} is closed, overriding
+         * the default for statements built on it. For example:
+         * <code>
+         * try (ProactiveDriver.Find.Scope scope = ProactiveDriver.Find.bind(tenantDriver)) {
+         *     statement = Wait.until(...);
+         * }
+         * </code>
+         * Scopes nest, and closing one restores the driver bound before it.
+         *
+         * @param driver The {@link ProactiveDriver} to bind.
+         * @return The {@link Scope} to close.
+         */
+        public static Scope bind(ProactiveDriver driver) {
+            if (driver == null) {
+                throw new NullPointerException("driver");
+            }
+            Scope scope = new Scope(boundDriver.get());
+            boundDriver.set(driver);
+            return scope;
+        }
+
+        /**
+         * A {@link ProactiveDriver} binding made by {@link #bind(ProactiveDriver)}. It must be closed on the thread
+         * which made it.
+         */
+        public static final class Scope implements AutoCloseable {
+            private final ProactiveDriver previous;
+            private boolean closed;
+
+            private Scope(ProactiveDriver previous) {
+                this.previous = previous;
+            }
+
+            @Override
+            public void close() {
+                if (!closed) {
+                    closed = true;
+                    if (previous == null) {
+                        boundDriver.remove();
+                    } else {
+                        boundDriver.set(previous);
+                    }
+                }
+            }
+        }
     }
 }
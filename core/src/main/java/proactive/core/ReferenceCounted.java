@@ -0,0 +1,31 @@
+package proactive.core;
+
+/**
+ * A value holding a resource which must be explicitly released once it is no longer used, such as a pooled
+ * buffer. Statements release values they drop, and pass ownership of the values they send onwards.
+ *
+ * @see Util#release(Object)
+ */
+public interface ReferenceCounted {
+
+    /**
+     * @return The current reference count. Once it reaches <code>0</code> the value may no longer be used.
+     */
+    int refCnt();
+
+    /**
+     * Increments the reference count.
+     *
+     * @return This instance.
+     * @throws IllegalStateException if the value has already been released.
+     */
+    ReferenceCounted retain();
+
+    /**
+     * Decrements the reference count, freeing the resource when it reaches <code>0</code>.
+     *
+     * @return <code>true</code> if the resource was freed by this call.
+     * @throws IllegalStateException if the value has already been released.
+     */
+    boolean release();
+}
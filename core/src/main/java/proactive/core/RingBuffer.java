@@ -0,0 +1,119 @@
+package proactive.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free queue which any number of threads may offer to and poll from. Each slot carries a sequence
+ * number which tells producers and consumers whether it is free or filled, so neither side blocks the other.
+ * <p>
+ * The capacity is rounded up to a power of two.
+ *
+ * @param <E> The element type.
+ */
+public final class RingBuffer<E> {
+
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param capacity The minimum number of elements the buffer can hold.
+     */
+    public RingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds the element if there is space for it.
+     *
+     * @param element The element. May not be <code>null</code>.
+     * @return <code>true</code> if it was added, or <code>false</code> if the buffer is full.
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+        long position = tail.get();
+        for (;;) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element.
+     *
+     * @return The element, or <code>null</code> if the buffer is empty.
+     */
+    public E poll() {
+        long position = head.get();
+        for (;;) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = elements.get(index);
+                    elements.lazySet(index, null);
+                    sequences.lazySet(index, position + mask + 1);
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the buffer held no elements when checked.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return The number of elements in the buffer when checked. This is only an estimate while other threads are
+     * offering or polling.
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    /**
+     * @return The number of elements the buffer can hold.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,39 @@
+package proactive.core;
+
+/**
+ * A {@link Statement} which moves the execution or emission of another {@link Statement} onto a {@link Scheduler}.
+ *
+ * @param <O> The value type.
+ * @see BaseStatement#runOn(Scheduler)
+ * @see BaseStatement#emitOn(Scheduler)
+ */
+final class ScheduledStatement<O> extends BaseStatement<O> {
+
+    private final Statement<O> statement;
+    private final Scheduler scheduler;
+    private final boolean emit;
+
+    ScheduledStatement(Statement<O> statement, Scheduler scheduler, boolean emit) {
+        if (scheduler == null) {
+            throw new NullPointerException("scheduler");
+        }
+        this.statement = statement;
+        this.scheduler = scheduler;
+        this.emit = emit;
+    }
+
+    @Override
+    public Context<O> get() {
+        if (emit) {
+            return driver().publishOn(statement.get(), scheduler);
+        } else {
+            return driver().subscribeOn(statement.get(), scheduler);
+        }
+    }
+
+    @Override
+    public Statement<O> optimize() {
+        Statement<O> statement = this.statement.optimize();
+        return statement == this.statement ? this : new ScheduledStatement<>(statement, scheduler, emit);
+    }
+}
@@ -0,0 +1,55 @@
+package proactive.core;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Identifies where a {@link Statement}'s work is run. A {@link ProactiveDriver} maps each {@link Kind} onto its
+ * own native scheduler, and runs {@link Kind#CUSTOM custom} schedulers via their {@link Executor}.
+ *
+ * @see Schedulers
+ */
+public interface Scheduler extends Executor {
+
+    /**
+     * The kinds of {@link Scheduler}.
+     */
+    enum Kind {
+        /**
+         * Work runs on the calling thread.
+         */
+        IMMEDIATE,
+
+        /**
+         * Work runs on a fixed pool sized to the number of CPU cores, for CPU-bound steps. Drivers use their own
+         * native pool of this kind, and work {@link Executor#execute(Runnable) executed} directly runs on a
+         * dedicated one.
+         */
+        COMPUTATION,
+
+        /**
+         * Work runs on an unbounded, growing pool, for steps which block.
+         */
+        BLOCKING,
+
+        /**
+         * Work runs on the scheduler's own {@link Executor}.
+         */
+        CUSTOM
+    }
+
+    /**
+     * @return The name of the scheduler.
+     */
+    String name();
+
+    /**
+     * @return The kind of scheduler.
+     */
+    Kind kind();
+
+    /**
+     * Releases any threads held by the scheduler. Built-in schedulers ignore this.
+     */
+    default void dispose() {
+    }
+}
@@ -0,0 +1,408 @@
+package proactive.core;
+
+import proactive.core.management.SchedulerStatisticsMXBean;
+import proactive.core.management.Statistics;
+
+import javax.management.ObjectName;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Provides the built-in {@link Scheduler}s, and creates named, bounded ones.
+ */
+public final class Schedulers {
+
+    /**
+     * The maximum number of tasks waiting on each of the shared {@link #eventLoops() event loops}.
+     */
+    public static final int DEFAULT_EVENT_LOOP_CAPACITY = 64 * 1024;
+
+    /**
+     * The default maximum time a task waits on a {@link PriorityScheduler} before it is run ahead of higher priority
+     * work.
+     */
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofMillis(100);
+
+    private static final Scheduler IMMEDIATE = new BuiltIn("immediate", Scheduler.Kind.IMMEDIATE, Runnable::run);
+
+    private static final Scheduler COMPUTATION = new BuiltIn("computation", Scheduler.Kind.COMPUTATION,
+            Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                    threadFactory("proactive-computation")));
+
+    private static final Scheduler FORK_JOIN = new BuiltIn("fork-join", Scheduler.Kind.CUSTOM, ForkJoinPool.commonPool());
+
+    private static final Scheduler CACHED = new BuiltIn("blocking", Scheduler.Kind.BLOCKING,
+            Executors.newCachedThreadPool(threadFactory("proactive-blocking")));
+
+    private static final Scheduler VIRTUAL = newVirtual();
+
+    private static final Scheduler BLOCKING =
+            "virtual".equals(System.getProperty("proactive.scheduler.blocking")) ? VIRTUAL : CACHED;
+
+    private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, threadFactory("proactive-timer"));
+
+    private static final Set<Bounded> bounded = ConcurrentHashMap.newKeySet();
+
+    static {
+        TIMER.setRemoveOnCancelPolicy(true);
+    }
+
+    private Schedulers() {
+    }
+
+    /**
+     * @return A {@link Scheduler} which runs work on the calling thread.
+     */
+    public static Scheduler immediate() {
+        return IMMEDIATE;
+    }
+
+    /**
+     * @return A {@link Scheduler} for CPU-bound work, with one thread per core.
+     */
+    public static Scheduler computation() {
+        return COMPUTATION;
+    }
+
+    /**
+     * Provides a {@link Scheduler} which runs work directly on the common {@link ForkJoinPool}. Work submitted from
+     * one of its threads is queued on that thread and stolen by idle ones, so CPU-bound work split into many
+     * tasks keeps every core busy.
+     *
+     * @return A work-stealing {@link Scheduler} for CPU-bound work.
+     */
+    public static Scheduler forkJoin() {
+        return FORK_JOIN;
+    }
+
+    /**
+     * Provides the {@link Scheduler} for work which blocks, which grows as needed. If the
+     * <code>proactive.scheduler.blocking</code> system property is <code>virtual</code>, this is the
+     * {@link #virtual()} scheduler.
+     *
+     * @return A {@link Scheduler} for work which blocks.
+     */
+    public static Scheduler blocking() {
+        return BLOCKING;
+    }
+
+    /**
+     * Provides a {@link Scheduler} which runs each task on a new virtual thread. Blocking in a virtual thread only
+     * parks it, so tens of thousands of blocking steps may run at once without sizing a thread pool.
+     * <p>
+     * Virtual threads need a Java 21 or later runtime. On earlier runtimes this falls back to the cached
+     * {@link #blocking()} pool.
+     *
+     * @return A {@link Scheduler} for blocking work which runs on virtual threads where available.
+     * @see #isVirtual()
+     */
+    public static Scheduler virtual() {
+        return VIRTUAL;
+    }
+
+    /**
+     * @return <code>true</code> if the {@link #virtual()} scheduler runs on virtual threads.
+     */
+    public static boolean isVirtual() {
+        return VIRTUAL != CACHED;
+    }
+
+    /**
+     * Creates a {@link Scheduler} with a fixed number of named daemon threads and a bounded queue. Work submitted
+     * while the queue is full is rejected, failing the statement with a {@link RejectedExecutionException}.
+     * <p>
+     * Its load is published as a JMX MBean, named after the scheduler, until it is
+     * {@link Scheduler#dispose() disposed}, so the names of bounded schedulers which have not been disposed must
+     * be unique.
+     *
+     * @param name The name of the scheduler, used to name its threads.
+     * @param threads The number of threads.
+     * @param queueCapacity The maximum number of tasks waiting to run.
+     * @return The new {@link Scheduler}.
+     * @throws IllegalArgumentException if a bounded scheduler with the same name has not been disposed.
+     */
+    public static Scheduler newBounded(String name, int threads, int queueCapacity) {
+        synchronized (bounded) {
+            for (Bounded existing : bounded) {
+                if (existing.name.equals(name)) {
+                    throw new IllegalArgumentException("A bounded scheduler named '" + name + "' already exists.");
+                }
+            }
+            Bounded scheduler = new Bounded(name, threads, queueCapacity);
+            bounded.add(scheduler);
+            Statistics.register(scheduler.objectName, scheduler);
+            return scheduler;
+        }
+    }
+
+    /**
+     * Provides the shared event loops, one per available processor. Each runs its work in order on its own
+     * thread, so work which is always sent to the same loop is never run concurrently.
+     *
+     * @return The shared event loops.
+     */
+    public static List<Scheduler> eventLoops() {
+        return EventLoops.SHARED;
+    }
+
+    /**
+     * Creates event loops, each with a single named daemon thread and a bounded task queue. Work submitted to a
+     * full loop is rejected with a {@link RejectedExecutionException}. The loops should be
+     * {@link Scheduler#dispose() disposed} once no longer needed.
+     *
+     * @param name The name of the loops, used to name their threads.
+     * @param count The number of loops.
+     * @param queueCapacity The maximum number of tasks waiting to run on each loop.
+     * @return The new event loops.
+     */
+    public static List<Scheduler> newEventLoops(String name, int count, int queueCapacity) {
+        if (name == null) {
+            throw new NullPointerException("name");
+        } else if (count <= 0) {
+            throw new IllegalArgumentException("count");
+        }
+        ThreadFactory threadFactory = threadFactory(name);
+        Scheduler[] loops = new Scheduler[count];
+        for (int i = 0; i < count; i++) {
+            loops[i] = new EventLoop(name + "-" + (i + 1), queueCapacity, threadFactory);
+        }
+        return List.of(loops);
+    }
+
+    /**
+     * Provides the shared {@link PriorityScheduler}, with one thread per available processor.
+     *
+     * @return The shared {@link PriorityScheduler}.
+     * @see BaseStatement#withPriority(Priority)
+     */
+    public static PriorityScheduler priority() {
+        return Prioritized.SHARED;
+    }
+
+    /**
+     * Creates a {@link PriorityScheduler} whose tasks wait at most {@link #DEFAULT_MAX_WAIT} before being run ahead
+     * of higher priority work.
+     *
+     * @param name The name of the scheduler, used to name its threads.
+     * @param threads The number of threads.
+     * @param queueCapacity The maximum number of tasks waiting to run in each {@link Priority} class.
+     * @return The new {@link PriorityScheduler}.
+     */
+    public static PriorityScheduler newPriority(String name, int threads, int queueCapacity) {
+        return newPriority(name, threads, queueCapacity, DEFAULT_MAX_WAIT);
+    }
+
+    /**
+     * Creates a {@link PriorityScheduler} with a fixed number of named daemon threads. Its load is published as a
+     * JMX MBean until it is {@link Scheduler#dispose() disposed}.
+     *
+     * @param name The name of the scheduler, used to name its threads.
+     * @param threads The number of threads.
+     * @param queueCapacity The maximum number of tasks waiting to run in each {@link Priority} class.
+     * @param maxWait How long a task may wait before it is run ahead of higher priority work.
+     * @return The new {@link PriorityScheduler}.
+     */
+    public static PriorityScheduler newPriority(String name, int threads, int queueCapacity, Duration maxWait) {
+        PriorityScheduler scheduler = new PriorityScheduler(name, threads, queueCapacity, maxWait.toNanos());
+        Statistics.register(scheduler.objectName(), scheduler);
+        return scheduler;
+    }
+
+    /**
+     * @return A shared, single-threaded executor for timed work, such as batch lingering.
+     */
+    public static ScheduledThreadPoolExecutor timer() {
+        return TIMER;
+    }
+
+    /**
+     * @return The number of timed tasks waiting on the {@link #timer()}.
+     */
+    public static int timerQueueDepth() {
+        return TIMER.getQueue().size();
+    }
+
+    /**
+     * @return The number of tasks waiting to run across all {@link #newBounded bounded} schedulers.
+     */
+    public static int boundedQueueDepth() {
+        int depth = 0;
+        for (Bounded scheduler : bounded) {
+            depth += scheduler.getQueueDepth();
+        }
+        return depth;
+    }
+
+    /**
+     * Creates a {@link ThreadFactory} producing daemon threads named <code>prefix-n</code>.
+     *
+     * @param prefix The thread name prefix.
+     * @return The {@link ThreadFactory}.
+     */
+    public static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Looks up <code>Executors.newVirtualThreadPerTaskExecutor()</code> reflectively, so that the library still
+     * runs on the runtimes it is compiled for.
+     *
+     * @return The virtual thread {@link Scheduler}, or the cached blocking one if virtual threads are unavailable.
+     */
+    private static Scheduler newVirtual() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return new BuiltIn("virtual", Scheduler.Kind.CUSTOM, (Executor) factory.invoke(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return CACHED;
+        }
+    }
+
+    /**
+     * Holds the shared {@link PriorityScheduler}, so that its threads are only started when first used.
+     */
+    private static final class Prioritized {
+        private static final PriorityScheduler SHARED = newPriority("proactive-priority",
+                Runtime.getRuntime().availableProcessors(), DEFAULT_EVENT_LOOP_CAPACITY);
+    }
+
+    /**
+     * Holds the shared event loops, so that their threads are only started when first used.
+     */
+    private static final class EventLoops {
+        private static final List<Scheduler> SHARED = newEventLoops("proactive-loop",
+                Runtime.getRuntime().availableProcessors(), DEFAULT_EVENT_LOOP_CAPACITY);
+    }
+
+    private static class BuiltIn implements Scheduler {
+        private final String name;
+        private final Kind kind;
+        private final Executor executor;
+
+        BuiltIn(String name, Kind kind, Executor executor) {
+            this.name = name;
+            this.kind = kind;
+            this.executor = executor;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public Kind kind() {
+            return kind;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            executor.execute(command);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static final class Bounded implements Scheduler, SchedulerStatisticsMXBean {
+        private final String name;
+        private final ThreadPoolExecutor executor;
+        private final int queueCapacity;
+        private final LongAdder rejected = new LongAdder();
+        private final ObjectName objectName;
+
+        Bounded(String name, int threads, int queueCapacity) {
+            if (name == null) {
+                throw new NullPointerException("name");
+            } else if (threads <= 0) {
+                throw new IllegalArgumentException("threads");
+            } else if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("queueCapacity");
+            }
+            this.name = name;
+            this.queueCapacity = queueCapacity;
+            this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), threadFactory(name), (task, pool) -> {
+                rejected.increment();
+                throw new RejectedExecutionException("Scheduler '" + name + "' is full.");
+            });
+            this.objectName = Statistics.objectName("Scheduler", name);
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public Kind kind() {
+            return Kind.CUSTOM;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            executor.execute(command);
+        }
+
+        @Override
+        public void dispose() {
+            synchronized (bounded) {
+                if (bounded.remove(this)) {
+                    Statistics.unregister(objectName);
+                }
+            }
+            executor.shutdown();
+        }
+
+        @Override
+        public int getQueueDepth() {
+            return executor.getQueue().size();
+        }
+
+        @Override
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        @Override
+        public int getActiveThreads() {
+            return executor.getActiveCount();
+        }
+
+        @Override
+        public long getCompletedTasks() {
+            return executor.getCompletedTaskCount();
+        }
+
+        @Override
+        public long getRejectedTasks() {
+            return rejected.sum();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package proactive.core;
 
 import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -96,4 +99,51 @@ public interface Statement<O> extends Supplier<Context<O>> {
      * @param subscribeConsumer Handles <code>onSubscribe</code> signals. May be <code>null</code>.
      */
     void after(Duration delay, Consumer<? super O> nextConsumer, Consumer<? super Throwable> errorConsumer, Runnable completeConsumer, Runnable subscribeConsumer);
-}
\ No newline at end of file
+
+    /**
+     * Executes the {@link Statement} and blocks the calling thread until it completes. This is intended for
+     * blocking-style code running on a {@link Schedulers#virtual() virtual thread}, where waiting is cheap.
+     *
+     * @return The last value produced, or <code>null</code> if none was produced.
+     * @throws java.util.concurrent.CompletionException if the statement fails with a checked exception, or the
+     * waiting thread is interrupted. Unchecked exceptions and errors are rethrown as they are.
+     */
+    default O await() {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<O> last = new AtomicReference<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        now(last::set, e -> {
+            error.set(e);
+            done.countDown();
+        }, done::countDown);
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+        Throwable failure = error.get();
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new CompletionException(failure);
+        }
+        return last.get();
+    }
+
+    /**
+     * Returns an equivalent {@link Statement} with redundant stages removed, so that each execution subscribes to
+     * fewer operators. Statements optimize the statements they are built from first, so optimizing the top of a tree
+     * rewrites all of it. Executions through {@link BaseStatement} are optimized once, before the first
+     * {@link #get()}.
+     * <p>
+     * Only the shape of the tree is rewritten, so every predicate and function is still called on each execution.
+     *
+     * @return The optimized {@link Statement}, or this one if nothing can be removed.
+     */
+    default Statement<O> optimize() {
+        return this;
+    }
+}
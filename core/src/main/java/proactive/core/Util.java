@@ -36,6 +36,34 @@ public final class Util {
         return a == b || a != null && a.equals(b);
     }
 
+    /**
+     * Releases the value if it is {@link ReferenceCounted}. Statements call this for values they drop rather
+     * than send onwards.
+     *
+     * @param value The value to release. May be <code>null</code>.
+     */
+    public static void release(Object value) {
+        if (value instanceof ReferenceCounted) {
+            ((ReferenceCounted) value).release();
+        }
+    }
+
+    /**
+     * The finalizer of MurmurHash3, which spreads the bits of a hash code over all 64 bits. Sketches use it to
+     * derive well-distributed hashes from {@link Object#hashCode()}.
+     *
+     * @param hash The hash to mix.
+     * @return The mixed hash.
+     */
+    public static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
     public static <O> Flow.Subscriber<O> defaultSubscriber() {
         return null;
     }
@@ -0,0 +1,339 @@
+package proactive.core;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import proactive.core.AdapterSupport.DualSubscription;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Dispatches the values of a single source to any number of pending waits, each of which receives the first value
+ * it matches and then completes.
+ * <p>
+ * Waits for a key equal to a value are indexed in a hash map, and waits for a key within a range are indexed in an
+ * {@link IntervalTree}, so each value only visits the waits it matches rather than all of them. Waits for an
+ * arbitrary {@link Predicate} are still tested against every value.
+ * <p>
+ * The source is subscribed to when the first wait is requested, and cancelled when none are left pending. If the
+ * source completes, every pending wait completes without a value.
+ *
+ * @param <T> The value type.
+ * @param <K> The key type values are indexed by.
+ */
+public final class WaitRegistry<T, K> {
+
+    private final Supplier<? extends Publisher<T>> source;
+    private final Function<? super T, ? extends K> key;
+    private final Map<K, Set<Waiter>> equal = new HashMap<>();
+    private final IntervalTree<K, Waiter> ranges;
+    private final Set<Waiter> predicates = new LinkedHashSet<>();
+    private int pending;
+    private Connection connection;
+
+    /**
+     * @param source Provides the source {@link Publisher} each time it is connected.
+     * @param key Provides the key of each value.
+     * @param order Orders keys, for range waits.
+     */
+    public WaitRegistry(Supplier<? extends Publisher<T>> source, Function<? super T, ? extends K> key,
+                        Comparator<? super K> order) {
+        if (source == null) {
+            throw new NullPointerException("source");
+        } else if (key == null) {
+            throw new NullPointerException("key");
+        } else if (order == null) {
+            throw new NullPointerException("order");
+        }
+        this.source = source;
+        this.key = key;
+        this.ranges = new IntervalTree<>(order);
+    }
+
+    /**
+     * @param key The key to wait for.
+     * @return A {@link Publisher} of the first value whose key equals <code>key</code>.
+     */
+    public Publisher<T> equalTo(K key) {
+        return subscriber -> subscriber.onSubscribe(new Waiter(subscriber, key, null, null, null));
+    }
+
+    /**
+     * @param from The lowest key to wait for.
+     * @param to The highest key to wait for.
+     * @return A {@link Publisher} of the first value whose key is between <code>from</code> and <code>to</code>,
+     * inclusive.
+     */
+    public Publisher<T> between(K from, K to) {
+        if (from == null || to == null) {
+            throw new NullPointerException("from/to");
+        }
+        return subscriber -> subscriber.onSubscribe(new Waiter(subscriber, null, from, to, null));
+    }
+
+    /**
+     * @param predicate The {@link Predicate} to wait for.
+     * @return A {@link Publisher} of the first value matching the {@link Predicate}.
+     */
+    public Publisher<T> matching(Predicate<? super T> predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("predicate");
+        }
+        return subscriber -> subscriber.onSubscribe(new Waiter(subscriber, null, null, null, predicate));
+    }
+
+    /**
+     * @return The number of waits which have not yet matched.
+     */
+    public synchronized int pending() {
+        return pending;
+    }
+
+    private void register(Waiter waiter) {
+        Connection connecting = null;
+        synchronized (this) {
+            if (waiter.registered || waiter.done) {
+                return;
+            }
+            waiter.registered = true;
+            if (waiter.predicate != null) {
+                predicates.add(waiter);
+            } else if (waiter.from != null) {
+                waiter.node = ranges.add(waiter.from, waiter.to, waiter);
+            } else {
+                equal.computeIfAbsent(waiter.key, key -> new LinkedHashSet<>()).add(waiter);
+            }
+            pending++;
+            if (connection == null) {
+                connection = connecting = new Connection();
+            }
+        }
+        if (connecting != null) {
+            try {
+                source.get().subscribe(connecting);
+            } catch (RuntimeException e) {
+                connecting.onError(e);
+            }
+        }
+    }
+
+    private void unregister(Waiter waiter) {
+        Connection disconnecting;
+        synchronized (this) {
+            if (!waiter.registered || waiter.done) {
+                return;
+            }
+            waiter.done = true;
+            if (waiter.predicate != null) {
+                predicates.remove(waiter);
+            } else if (waiter.node != null) {
+                ranges.remove(waiter.node);
+            } else {
+                Set<Waiter> waiters = equal.get(waiter.key);
+                waiters.remove(waiter);
+                if (waiters.isEmpty()) {
+                    equal.remove(waiter.key);
+                }
+            }
+            disconnecting = release();
+        }
+        if (disconnecting != null) {
+            disconnecting.cancel();
+        }
+    }
+
+    /**
+     * Counts down the pending waits, and detaches the connection once none are left. Must hold the lock.
+     *
+     * @return The connection to cancel, if any.
+     */
+    private Connection release() {
+        if (--pending == 0) {
+            Connection disconnecting = connection;
+            connection = null;
+            return disconnecting;
+        }
+        return null;
+    }
+
+    private void dispatch(Connection from, T value) {
+        List<Waiter> matched = new ArrayList<>();
+        Connection disconnecting = null;
+        synchronized (this) {
+            if (connection != from) {
+                Util.release(value);
+                return;
+            }
+            try {
+                K key = this.key.apply(value);
+                for (Waiter waiter : predicates) {
+                    if (waiter.predicate.test(value)) {
+                        matched.add(waiter);
+                    }
+                }
+                if (key != null && ranges.size() > 0) {
+                    ranges.stab(key, matched::add);
+                }
+                Set<Waiter> waiters = equal.remove(key);
+                if (waiters != null) {
+                    matched.addAll(waiters);
+                }
+            } catch (RuntimeException e) {
+                Util.release(value);
+                matched.clear();
+                terminate(from, e);
+                return;
+            }
+            for (Waiter waiter : matched) {
+                if (waiter.predicate != null) {
+                    predicates.remove(waiter);
+                } else if (waiter.node != null) {
+                    ranges.remove(waiter.node);
+                }
+                waiter.done = true;
+                Connection released = release();
+                if (released != null) {
+                    disconnecting = released;
+                }
+            }
+        }
+        if (disconnecting != null) {
+            disconnecting.cancel();
+        }
+        if (matched.isEmpty()) {
+            Util.release(value);
+            return;
+        }
+        if (value instanceof ReferenceCounted) {
+            for (int i = 1; i < matched.size(); i++) {
+                ((ReferenceCounted) value).retain();
+            }
+        }
+        for (Waiter waiter : matched) {
+            waiter.subscriber.onNext(value);
+            waiter.subscriber.onComplete();
+        }
+    }
+
+    /**
+     * Ends every pending wait, with the error if there is one.
+     */
+    private void terminate(Connection from, Throwable error) {
+        List<Waiter> ended;
+        synchronized (this) {
+            if (connection != from) {
+                return;
+            }
+            ended = new ArrayList<>(predicates);
+            for (Set<Waiter> waiters : equal.values()) {
+                ended.addAll(waiters);
+            }
+            ranges.forEach(ended::add);
+            predicates.clear();
+            equal.clear();
+            ranges.clear();
+            pending = 0;
+            connection = null;
+            for (Waiter waiter : ended) {
+                waiter.done = true;
+            }
+        }
+        if (error != null) {
+            from.cancel();
+        }
+        for (Waiter waiter : ended) {
+            if (error == null) {
+                waiter.subscriber.onComplete();
+            } else {
+                waiter.subscriber.onError(error);
+            }
+        }
+    }
+
+    /**
+     * A single pending wait. Its fields are guarded by the registry's lock.
+     */
+    private final class Waiter implements DualSubscription {
+        private final Subscriber<? super T> subscriber;
+        private final K key;
+        private final K from;
+        private final K to;
+        private final Predicate<? super T> predicate;
+        private IntervalTree.Node<K, Waiter> node;
+        private boolean registered;
+        private boolean done;
+
+        Waiter(Subscriber<? super T> subscriber, K key, K from, K to, Predicate<? super T> predicate) {
+            this.subscriber = subscriber;
+            this.key = key;
+            this.from = from;
+            this.to = to;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            register(this);
+        }
+
+        @Override
+        public void cancel() {
+            unregister(this);
+        }
+    }
+
+    /**
+     * A subscription to the source, shared by all pending waits.
+     */
+    private final class Connection implements Subscriber<T> {
+        private volatile Subscription subscription;
+        private volatile boolean cancelled;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(T value) {
+            dispatch(this, value);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            terminate(this, throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            terminate(this, null);
+        }
+
+        void cancel() {
+            cancelled = true;
+            Subscription subscription = this.subscription;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
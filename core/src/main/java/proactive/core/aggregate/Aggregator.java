@@ -0,0 +1,44 @@
+package proactive.core.aggregate;
+
+/**
+ * Incrementally aggregates values into an accumulator, and produces a result from it. Each value is added in
+ * constant time, and accumulators can be merged, so that sliding windows can be built from smaller panes without
+ * keeping the values themselves.
+ *
+ * @param <T> The value type.
+ * @param <A> The accumulator type.
+ * @param <R> The result type.
+ * @see Aggregators
+ */
+public interface Aggregator<T, A, R> {
+
+    /**
+     * @return A new, empty accumulator.
+     */
+    A create();
+
+    /**
+     * Adds a value to the accumulator.
+     *
+     * @param accumulator The accumulator, which may be updated in place.
+     * @param value The value.
+     * @return The updated accumulator.
+     */
+    A add(A accumulator, T value);
+
+    /**
+     * Merges two accumulators, as if the values of <code>right</code> were added after those of <code>left</code>.
+     * Neither argument may be modified.
+     *
+     * @param left The earlier accumulator.
+     * @param right The later accumulator.
+     * @return A new accumulator.
+     */
+    A merge(A left, A right);
+
+    /**
+     * @param accumulator The accumulator.
+     * @return The result for the accumulated values.
+     */
+    R result(A accumulator);
+}
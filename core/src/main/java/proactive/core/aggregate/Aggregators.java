@@ -0,0 +1,161 @@
+package proactive.core.aggregate;
+
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Common {@link Aggregator}s. Numeric aggregators take a function providing the number for each value; values for
+ * which it returns {@link Double#NaN} are still counted.
+ */
+public final class Aggregators {
+
+    private Aggregators() {
+    }
+
+    /**
+     * Creates an {@link Aggregator} from its functions.
+     *
+     * @param create Provides an empty accumulator.
+     * @param add Adds a value to an accumulator.
+     * @param merge Merges two accumulators into a new one.
+     * @param result Provides the result of an accumulator.
+     * @param <T> The value type.
+     * @param <A> The accumulator type.
+     * @param <R> The result type.
+     * @return The {@link Aggregator}.
+     */
+    public static <T, A, R> Aggregator<T, A, R> of(Supplier<A> create, BiFunction<A, ? super T, A> add,
+                                                   BinaryOperator<A> merge, Function<? super A, ? extends R> result) {
+        if (create == null || add == null || merge == null || result == null) {
+            throw new NullPointerException();
+        }
+        return new Aggregator<T, A, R>() {
+            @Override
+            public A create() {
+                return create.get();
+            }
+
+            @Override
+            public A add(A accumulator, T value) {
+                return add.apply(accumulator, value);
+            }
+
+            @Override
+            public A merge(A left, A right) {
+                return merge.apply(left, right);
+            }
+
+            @Override
+            public R result(A accumulator) {
+                return result.apply(accumulator);
+            }
+        };
+    }
+
+    /**
+     * @param <T> The value type.
+     * @return An {@link Aggregator} counting values.
+     */
+    public static <T> Aggregator<T, Summary, Long> count() {
+        return summary(value -> 0, Summary::count);
+    }
+
+    /**
+     * @param number Provides the number for each value.
+     * @param <T> The value type.
+     * @return An {@link Aggregator} of the sum.
+     */
+    public static <T> Aggregator<T, Summary, Double> sum(ToDoubleFunction<? super T> number) {
+        return summary(number, Summary::sum);
+    }
+
+    /**
+     * @param number Provides the number for each value.
+     * @param <T> The value type.
+     * @return An {@link Aggregator} of the mean.
+     */
+    public static <T> Aggregator<T, Summary, Double> avg(ToDoubleFunction<? super T> number) {
+        return summary(number, Summary::average);
+    }
+
+    /**
+     * @param number Provides the number for each value.
+     * @param <T> The value type.
+     * @return An {@link Aggregator} of the minimum.
+     */
+    public static <T> Aggregator<T, Summary, Double> min(ToDoubleFunction<? super T> number) {
+        return summary(number, Summary::min);
+    }
+
+    /**
+     * @param number Provides the number for each value.
+     * @param <T> The value type.
+     * @return An {@link Aggregator} of the maximum.
+     */
+    public static <T> Aggregator<T, Summary, Double> max(ToDoubleFunction<? super T> number) {
+        return summary(number, Summary::max);
+    }
+
+    /**
+     * @param number Provides the number for each value.
+     * @param <T> The value type.
+     * @return An {@link Aggregator} of the count, sum, minimum and maximum together.
+     */
+    public static <T> Aggregator<T, Summary, Summary> summary(ToDoubleFunction<? super T> number) {
+        return summary(number, Function.identity());
+    }
+
+    /**
+     * @param number Provides the number for each value.
+     * @param quantile The quantile, between 0 and 1 inclusive.
+     * @param <T> The value type.
+     * @return An {@link Aggregator} estimating the quantile with a {@link QuantileSketch} of the default accuracy.
+     */
+    public static <T> Aggregator<T, QuantileSketch, Double> quantile(ToDoubleFunction<? super T> number,
+                                                                     double quantile) {
+        return quantile(number, quantile, QuantileSketch.DEFAULT_ACCURACY);
+    }
+
+    /**
+     * @param number Provides the number for each value.
+     * @param quantile The quantile, between 0 and 1 inclusive.
+     * @param accuracy The relative error of the {@link QuantileSketch}.
+     * @param <T> The value type.
+     * @return An {@link Aggregator} estimating the quantile.
+     */
+    public static <T> Aggregator<T, QuantileSketch, Double> quantile(ToDoubleFunction<? super T> number,
+                                                                     double quantile, double accuracy) {
+        if (number == null) {
+            throw new NullPointerException("number");
+        } else if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("quantile");
+        }
+        return of(() -> new QuantileSketch(accuracy), (sketch, value) -> sketch.add(number.applyAsDouble(value)),
+                QuantileSketch::merge, sketch -> sketch.quantile(quantile));
+    }
+
+    /**
+     * @param key Provides the key for each value, which is counted by its {@link Object#hashCode() hash code}.
+     * @param <T> The value type.
+     * @return An {@link Aggregator} estimating the number of distinct keys with a {@link HyperLogLog}.
+     */
+    public static <T> Aggregator<T, HyperLogLog, Long> distinct(Function<? super T, ?> key) {
+        if (key == null) {
+            throw new NullPointerException("key");
+        }
+        return of(HyperLogLog::new, (sketch, value) -> sketch.add(key.apply(value)), HyperLogLog::merge,
+                HyperLogLog::estimate);
+    }
+
+    private static <T, R> Aggregator<T, Summary, R> summary(ToDoubleFunction<? super T> number,
+                                                            Function<? super Summary, ? extends R> result) {
+        if (number == null) {
+            throw new NullPointerException("number");
+        }
+        return of(Summary::new, (summary, value) -> summary.add(number.applyAsDouble(value)), Summary::merge,
+                result);
+    }
+}
@@ -0,0 +1,109 @@
+package proactive.core.aggregate;
+
+import proactive.core.Util;
+
+/**
+ * A mergeable sketch estimating the number of distinct values added, in a fixed amount of memory.
+ * <p>
+ * Each value's hash picks one of <code>2<sup>precision</sup></code> registers, which keeps the longest run of
+ * leading zeros seen in the rest of the hash. The standard error of the estimate is about
+ * <code>1.04 / sqrt(2<sup>precision</sup>)</code>, or 1.6% at the default precision. Small counts are estimated
+ * from the number of empty registers instead, which is more accurate there. Two sketches of the same precision are
+ * merged by taking the greater of each register.
+ */
+public final class HyperLogLog {
+
+    /**
+     * The default precision, of 4096 registers.
+     */
+    public static final int DEFAULT_PRECISION = 12;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * @param precision The number of bits of the hash which select a register, from 4 to 18.
+     */
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("precision");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    private HyperLogLog(HyperLogLog copy) {
+        this.precision = copy.precision;
+        this.registers = copy.registers.clone();
+    }
+
+    /**
+     * Adds a value, by its {@link Object#hashCode() hash code}. <code>null</code> is ignored.
+     *
+     * @param value The value.
+     * @return This {@link HyperLogLog}.
+     */
+    public HyperLogLog add(Object value) {
+        if (value != null) {
+            addHash(Util.mix(value.hashCode()));
+        }
+        return this;
+    }
+
+    /**
+     * Adds a value by a 64 bit hash, which should be well distributed over all its bits.
+     *
+     * @param hash The hash.
+     * @return This {@link HyperLogLog}.
+     */
+    public HyperLogLog addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+        return this;
+    }
+
+    /**
+     * @param other Another {@link HyperLogLog} of the same precision.
+     * @return A new {@link HyperLogLog} of the values of both.
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Sketches have different precision.");
+        }
+        HyperLogLog merged = new HyperLogLog(this);
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > merged.registers[i]) {
+                merged.registers[i] = other.registers[i];
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * @return The estimated number of distinct values.
+     */
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int empty = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                empty++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && empty > 0) {
+            estimate = m * Math.log((double) m / empty);
+        }
+        return Math.round(estimate);
+    }
+}
@@ -0,0 +1,203 @@
+package proactive.core.aggregate;
+
+import java.util.Arrays;
+
+/**
+ * A mergeable sketch of a distribution of numbers, which answers quantile queries to within a fixed relative error
+ * of the true value.
+ * <p>
+ * Values are counted in logarithmically sized buckets, so that every value in a bucket is within the relative error
+ * of the bucket's midpoint. Adding a value is constant time, and the number of buckets only grows with the log of
+ * the range of values seen, not with their count. Two sketches with the same accuracy are merged by adding their
+ * bucket counts.
+ */
+public final class QuantileSketch {
+
+    /**
+     * The default relative error, of 1%.
+     */
+    public static final double DEFAULT_ACCURACY = 0.01;
+
+    private final double accuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final Buckets positive;
+    private final Buckets negative;
+    private long zeros;
+    private long count;
+
+    public QuantileSketch() {
+        this(DEFAULT_ACCURACY);
+    }
+
+    /**
+     * @param accuracy The relative error, between 0 and 1 exclusive.
+     */
+    public QuantileSketch(double accuracy) {
+        if (!(accuracy > 0 && accuracy < 1)) {
+            throw new IllegalArgumentException("accuracy");
+        }
+        this.accuracy = accuracy;
+        this.gamma = (1 + accuracy) / (1 - accuracy);
+        this.logGamma = Math.log(gamma);
+        this.positive = new Buckets();
+        this.negative = new Buckets();
+    }
+
+    private QuantileSketch(QuantileSketch copy) {
+        this.accuracy = copy.accuracy;
+        this.gamma = copy.gamma;
+        this.logGamma = copy.logGamma;
+        this.positive = new Buckets(copy.positive);
+        this.negative = new Buckets(copy.negative);
+        this.zeros = copy.zeros;
+        this.count = copy.count;
+    }
+
+    /**
+     * Adds a value. {@link Double#NaN NaN} is ignored.
+     *
+     * @param value The value.
+     * @return This {@link QuantileSketch}.
+     */
+    public QuantileSketch add(double value) {
+        if (Double.isNaN(value)) {
+            return this;
+        }
+        if (value > Double.MIN_NORMAL) {
+            positive.increment(index(value));
+        } else if (value < -Double.MIN_NORMAL) {
+            negative.increment(index(-value));
+        } else {
+            zeros++;
+        }
+        count++;
+        return this;
+    }
+
+    /**
+     * @param other Another {@link QuantileSketch} with the same accuracy.
+     * @return A new {@link QuantileSketch} of the values of both.
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.accuracy != accuracy) {
+            throw new IllegalArgumentException("Sketches have different accuracy.");
+        }
+        QuantileSketch merged = new QuantileSketch(this);
+        merged.positive.add(other.positive);
+        merged.negative.add(other.negative);
+        merged.zeros += other.zeros;
+        merged.count += other.count;
+        return merged;
+    }
+
+    /**
+     * @return The number of values added.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @param quantile The quantile, between 0 and 1 inclusive. For example, 0.99 for the 99th percentile.
+     * @return The estimated value at the quantile, or {@link Double#NaN} if there are no values.
+     */
+    public double quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("quantile");
+        } else if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (quantile * (count - 1));
+        if (rank < negative.total) {
+            return -value(negative.indexOf(negative.total - 1 - rank));
+        }
+        rank -= negative.total;
+        if (rank < zeros) {
+            return 0;
+        }
+        return value(positive.indexOf(rank - zeros));
+    }
+
+    private int index(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    /**
+     * Counts by bucket index, in an array which grows in either direction as needed.
+     */
+    private static final class Buckets {
+        private long[] counts;
+        private int offset;
+        private long total;
+
+        Buckets() {
+            this.counts = new long[0];
+        }
+
+        Buckets(Buckets copy) {
+            this.counts = copy.counts.clone();
+            this.offset = copy.offset;
+            this.total = copy.total;
+        }
+
+        void increment(int index) {
+            grow(index, index);
+            counts[index - offset]++;
+            total++;
+        }
+
+        void add(Buckets other) {
+            if (other.total == 0) {
+                return;
+            }
+            grow(other.offset, other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+            total += other.total;
+        }
+
+        /**
+         * @param rank A rank, less than the total.
+         * @return The index of the bucket holding the value of that rank, in ascending order.
+         */
+        int indexOf(long rank) {
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen > rank) {
+                    return i + offset;
+                }
+            }
+            return counts.length - 1 + offset;
+        }
+
+        private void grow(int from, int to) {
+            if (counts.length == 0) {
+                counts = new long[Math.max(to - from + 1, 16)];
+                offset = from;
+                return;
+            }
+            int low = Math.min(from, offset);
+            int high = Math.max(to, offset + counts.length - 1);
+            if (low == offset && high == offset + counts.length - 1) {
+                return;
+            }
+            int length = Math.max(high - low + 1, counts.length * 2);
+            if (low < offset) {
+                long[] grown = new long[length];
+                int shift = offset - low + (length - (high - low + 1));
+                System.arraycopy(counts, 0, grown, shift, counts.length);
+                offset -= shift;
+                counts = grown;
+            } else {
+                counts = Arrays.copyOf(counts, length);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package proactive.core.aggregate;
+
+/**
+ * An accumulator of the count, sum, minimum and maximum of a series of numbers.
+ */
+public final class Summary {
+
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Adds a value.
+     *
+     * @param value The value.
+     * @return This {@link Summary}.
+     */
+    public Summary add(double value) {
+        count++;
+        sum += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+        return this;
+    }
+
+    /**
+     * @param other Another {@link Summary}.
+     * @return A new {@link Summary} of the values of both.
+     */
+    public Summary merge(Summary other) {
+        Summary merged = new Summary();
+        merged.count = count + other.count;
+        merged.sum = sum + other.sum;
+        merged.min = Math.min(min, other.min);
+        merged.max = Math.max(max, other.max);
+        return merged;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double sum() {
+        return sum;
+    }
+
+    /**
+     * @return The mean, or {@link Double#NaN} if there are no values.
+     */
+    public double average() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    /**
+     * @return The minimum, or {@link Double#POSITIVE_INFINITY} if there are no values.
+     */
+    public double min() {
+        return min;
+    }
+
+    /**
+     * @return The maximum, or {@link Double#NEGATIVE_INFINITY} if there are no values.
+     */
+    public double max() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "Summary{count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max + "}";
+    }
+}
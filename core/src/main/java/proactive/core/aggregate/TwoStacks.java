@@ -0,0 +1,74 @@
+package proactive.core.aggregate;
+
+import java.util.ArrayDeque;
+
+/**
+ * A first-in first-out queue of accumulators which provides the merge of all of them in amortized constant time,
+ * using the two-stack technique: accumulators are pushed onto a back stack, keeping a running merge, and popped
+ * from a front stack, each entry of which holds the merge of itself and every entry after it. When the front is
+ * empty, the back is moved across, so each accumulator is merged a constant number of times overall.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <A> The accumulator type.
+ */
+final class TwoStacks<A> {
+
+    private final Aggregator<?, A, ?> aggregator;
+    private final ArrayDeque<Entry<A>> front = new ArrayDeque<>();
+    private final ArrayDeque<A> back = new ArrayDeque<>();
+    private A backMerged;
+
+    TwoStacks(Aggregator<?, A, ?> aggregator) {
+        this.aggregator = aggregator;
+    }
+
+    void push(A accumulator) {
+        back.addLast(accumulator);
+        backMerged = backMerged == null ? accumulator : aggregator.merge(backMerged, accumulator);
+    }
+
+    void pop() {
+        if (front.isEmpty()) {
+            A merged = null;
+            while (!back.isEmpty()) {
+                A accumulator = back.removeLast();
+                merged = merged == null ? accumulator : aggregator.merge(accumulator, merged);
+                front.addFirst(new Entry<>(merged));
+            }
+            backMerged = null;
+        }
+        front.removeFirst();
+    }
+
+    int size() {
+        return front.size() + back.size();
+    }
+
+    /**
+     * @return The merge of every accumulator, oldest first, or <code>null</code> if there are none.
+     */
+    A merged() {
+        Entry<A> first = front.peekFirst();
+        if (first == null) {
+            return backMerged;
+        } else if (backMerged == null) {
+            return first.merged;
+        }
+        return aggregator.merge(first.merged, backMerged);
+    }
+
+    void clear() {
+        front.clear();
+        back.clear();
+        backMerged = null;
+    }
+
+    private static final class Entry<A> {
+        private final A merged;
+
+        Entry(A merged) {
+            this.merged = merged;
+        }
+    }
+}
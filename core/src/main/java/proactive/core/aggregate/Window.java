@@ -0,0 +1,113 @@
+package proactive.core.aggregate;
+
+import java.time.Duration;
+
+/**
+ * Describes how a stream of values is split into windows to aggregate. Windows are either:
+ * <ul>
+ *     <li><b>tumbling</b>: consecutive, non-overlapping windows of a number of values or a duration.</li>
+ *     <li><b>sliding</b>: overlapping windows of a number of values or a duration, sent each time the window advances
+ *     by the slide. The size must be a multiple of the slide.</li>
+ *     <li><b>session</b>: windows of values separated by less than a gap, which end once no value has arrived for
+ *     the gap.</li>
+ * </ul>
+ * Timed windows are measured by the time values arrive, and windows without any values are not sent.
+ */
+public final class Window {
+
+    enum Kind {
+        TUMBLING, SLIDING, SESSION
+    }
+
+    /**
+     * Creates tumbling windows of <code>count</code> values.
+     *
+     * @param count The number of values in each window.
+     * @return The {@link Window}.
+     */
+    public static Window tumbling(int count) {
+        return sliding(count, count);
+    }
+
+    /**
+     * Creates tumbling windows of the <code>duration</code>.
+     *
+     * @param duration The duration of each window.
+     * @return The {@link Window}.
+     */
+    public static Window tumbling(Duration duration) {
+        return sliding(duration, duration);
+    }
+
+    /**
+     * Creates sliding windows of <code>size</code> values, sent every <code>slide</code> values.
+     *
+     * @param size The number of values in each window.
+     * @param slide The number of values each window advances by.
+     * @return The {@link Window}.
+     */
+    public static Window sliding(int size, int slide) {
+        return new Window(size == slide ? Kind.TUMBLING : Kind.SLIDING, false, size, slide);
+    }
+
+    /**
+     * Creates sliding windows of the <code>size</code>, sent every <code>slide</code>.
+     *
+     * @param size The duration of each window.
+     * @param slide The duration each window advances by.
+     * @return The {@link Window}.
+     */
+    public static Window sliding(Duration size, Duration slide) {
+        long sizeNanos = size.toNanos();
+        long slideNanos = slide.toNanos();
+        return new Window(sizeNanos == slideNanos ? Kind.TUMBLING : Kind.SLIDING, true, sizeNanos, slideNanos);
+    }
+
+    /**
+     * Creates session windows, which end once no value has arrived for the <code>gap</code>.
+     *
+     * @param gap The gap between sessions.
+     * @return The {@link Window}.
+     */
+    public static Window session(Duration gap) {
+        long gapNanos = gap.toNanos();
+        return new Window(Kind.SESSION, true, gapNanos, gapNanos);
+    }
+
+    final Kind kind;
+    final boolean timed;
+    final long size;
+    final long slide;
+
+    private Window(Kind kind, boolean timed, long size, long slide) {
+        if (size <= 0 || slide <= 0) {
+            throw new IllegalArgumentException("Non-positive window size or slide.");
+        } else if (slide > size || size % slide != 0) {
+            throw new IllegalArgumentException("Window size must be a multiple of its slide.");
+        }
+        this.kind = kind;
+        this.timed = timed;
+        this.size = size;
+        this.slide = slide;
+    }
+
+    /**
+     * @return The number of panes, each as long as the slide, which make up a window.
+     */
+    int panes() {
+        return (int) (size / slide);
+    }
+
+    @Override
+    public String toString() {
+        String unit = timed ? "ns" : "";
+        switch (kind) {
+            case TUMBLING:
+                return "Window{tumbling " + size + unit + "}";
+            case SLIDING:
+                return "Window{sliding " + size + unit + " every " + slide + unit + "}";
+            default:
+                return "Window{session gap " + size + unit + "}";
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package proactive.core.aggregate;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import proactive.core.AdapterSupport.DualSubscription;
+import proactive.core.Schedulers;
+import proactive.core.Util;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Publisher} which aggregates the values of a source over {@link Window}s, and sends the result of each
+ * window. Values are added to an accumulator as they arrive and are not kept, so the memory used by a window does
+ * not depend on how many values it covers.
+ * <p>
+ * Sliding windows are made of panes, each as long as the slide, held in a {@link TwoStacks} queue so that the
+ * result of the whole window is found with a constant number of merges as it slides. The source is requested
+ * without bound, and each value is {@link Util#release(Object) released} once added, so aggregators must not keep
+ * the values themselves. Timed windows run on the shared {@link Schedulers#timer() timer}, and send their results
+ * from it. When the source completes, the result of any values not yet covered by a sent window is sent first.
+ *
+ * @param <T> The value type.
+ * @param <A> The accumulator type.
+ * @param <R> The result type.
+ */
+public final class WindowPublisher<T, A, R> implements Publisher<R> {
+
+    private final Publisher<T> source;
+    private final Window window;
+    private final Aggregator<? super T, A, ? extends R> aggregator;
+
+    /**
+     * @param source The source {@link Publisher}.
+     * @param window The {@link Window} to aggregate over.
+     * @param aggregator The {@link Aggregator}.
+     */
+    public WindowPublisher(Publisher<T> source, Window window, Aggregator<? super T, A, ? extends R> aggregator) {
+        if (source == null) {
+            throw new NullPointerException("source");
+        } else if (window == null) {
+            throw new NullPointerException("window");
+        } else if (aggregator == null) {
+            throw new NullPointerException("aggregator");
+        }
+        this.source = source;
+        this.window = window;
+        this.aggregator = aggregator;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super R> subscriber) {
+        source.subscribe(new WindowSubscriber(subscriber));
+    }
+
+    private final class WindowSubscriber implements Subscriber<T>, DualSubscription, Runnable {
+
+        private final Subscriber<? super R> downstream;
+        private final Queue<R> results = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /*
+         * The window state below is guarded by this subscriber's lock, as it is updated both by the source and by
+         * the timer.
+         */
+        private final TwoStacks<A> panes;
+        private final ArrayDeque<Long> paneCounts;
+        private A current;
+        private long currentCount;
+        private long windowCount;
+        private boolean unsent;
+
+        private long lastArrival;
+
+        private Subscription upstream;
+        private volatile ScheduledFuture<?> timer;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+
+        WindowSubscriber(Subscriber<? super R> downstream) {
+            this.downstream = downstream;
+            boolean sliding = window.kind == Window.Kind.SLIDING;
+            this.panes = sliding ? new TwoStacks<>(aggregator) : null;
+            this.paneCounts = sliding ? new ArrayDeque<>() : null;
+            this.current = aggregator.create();
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+            if (window.timed && window.kind != Window.Kind.SESSION) {
+                timer = Schedulers.timer().scheduleAtFixedRate(this, window.slide, window.slide,
+                        TimeUnit.NANOSECONDS);
+            }
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(T value) {
+            if (done || cancelled) {
+                Util.release(value);
+                return;
+            }
+            boolean sent;
+            try {
+                synchronized (this) {
+                    current = aggregator.add(current, value);
+                    currentCount++;
+                    unsent = true;
+                    if (window.kind == Window.Kind.SESSION) {
+                        lastArrival = System.nanoTime();
+                        if (timer == null) {
+                            timer = Schedulers.timer().schedule(this, window.size, TimeUnit.NANOSECONDS);
+                        }
+                    }
+                    sent = !window.timed && countPane();
+                }
+            } catch (RuntimeException e) {
+                upstream.cancel();
+                onError(e);
+                return;
+            } finally {
+                Util.release(value);
+            }
+            if (sent) {
+                drain();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (done) {
+                return;
+            }
+            error = throwable;
+            done = true;
+            stopTimer();
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            stopTimer();
+            synchronized (this) {
+                try {
+                    flush();
+                } catch (RuntimeException e) {
+                    error = e;
+                }
+                done = true;
+            }
+            drain();
+        }
+
+        /**
+         * Called by the timer when a timed pane or session ends.
+         */
+        @Override
+        public void run() {
+            try {
+                synchronized (this) {
+                    if (done || cancelled) {
+                        return;
+                    }
+                    if (window.kind == Window.Kind.SESSION) {
+                        long quiet = System.nanoTime() - lastArrival;
+                        if (quiet < window.size) {
+                            timer = Schedulers.timer().schedule(this, window.size - quiet, TimeUnit.NANOSECONDS);
+                            return;
+                        }
+                        timer = null;
+                    }
+                    if (window.kind == Window.Kind.SLIDING) {
+                        slide();
+                    } else if (currentCount > 0) {
+                        send(current);
+                        reset();
+                    }
+                }
+            } catch (RuntimeException e) {
+                upstream.cancel();
+                onError(e);
+                return;
+            }
+            drain();
+        }
+
+        /**
+         * Ends the current pane if it has reached the slide, in count windows. Must hold the lock.
+         *
+         * @return <code>true</code> if a result was sent.
+         */
+        private boolean countPane() {
+            if (currentCount < window.slide) {
+                return false;
+            } else if (panes == null) {
+                send(current);
+                reset();
+                return true;
+            }
+            return slide();
+        }
+
+        /**
+         * Ends the current pane of a sliding window, evicting the oldest if the window is full, and sends the
+         * window's result if it has any values. Must hold the lock.
+         *
+         * @return <code>true</code> if a result was sent.
+         */
+        private boolean slide() {
+            panes.push(current);
+            paneCounts.addLast(currentCount);
+            windowCount += currentCount;
+            if (panes.size() > window.panes()) {
+                panes.pop();
+                windowCount -= paneCounts.removeFirst();
+            }
+            reset();
+            boolean full = window.timed || panes.size() == window.panes();
+            if (full && windowCount > 0) {
+                send(panes.merged());
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Sends the result of any values not yet covered by a sent window. Must hold the lock.
+         */
+        private void flush() {
+            if (!unsent) {
+                return;
+            }
+            if (panes == null) {
+                send(current);
+            } else {
+                if (currentCount > 0) {
+                    panes.push(current);
+                    paneCounts.addLast(currentCount);
+                    windowCount += currentCount;
+                    if (panes.size() > window.panes()) {
+                        panes.pop();
+                        windowCount -= paneCounts.removeFirst();
+                    }
+                }
+                send(panes.merged());
+                panes.clear();
+                paneCounts.clear();
+                windowCount = 0;
+            }
+            reset();
+        }
+
+        private void send(A accumulator) {
+            R result = aggregator.result(accumulator);
+            unsent = false;
+            if (result != null) {
+                results.offer(result);
+            }
+        }
+
+        private void reset() {
+            current = aggregator.create();
+            currentCount = 0;
+        }
+
+        private void stopTimer() {
+            ScheduledFuture<?> timer = this.timer;
+            if (timer != null) {
+                timer.cancel(false);
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            for (;;) {
+                long current = requested.get();
+                long next = current + n;
+                if (requested.compareAndSet(current, next < 0 ? Long.MAX_VALUE : next)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            upstream.cancel();
+            stopTimer();
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (cancelled) {
+                    results.clear();
+                } else {
+                    boolean terminated = done;
+                    Throwable error = this.error;
+                    if (terminated && error != null) {
+                        cancelled = true;
+                        results.clear();
+                        downstream.onError(error);
+                        return;
+                    }
+                    while (requested.get() > 0 && !cancelled) {
+                        R result = results.poll();
+                        if (result == null) {
+                            break;
+                        }
+                        if (requested.get() != Long.MAX_VALUE) {
+                            requested.decrementAndGet();
+                        }
+                        downstream.onNext(result);
+                    }
+                    if (terminated && !cancelled && results.isEmpty()) {
+                        cancelled = true;
+                        downstream.onComplete();
+                        return;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package proactive.core.io;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import proactive.core.AdapterSupport.DualSubscription;
+import proactive.core.ReferenceCounted;
+import proactive.core.Schedulers;
+import proactive.core.Util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A {@link Publisher} which writes each value of the <code>source</code> to a file via an
+ * {@link AsynchronousFileChannel}, then sends the total number of bytes written once the source completes.
+ * <p>
+ * Values are encoded into one of two direct {@link ByteBuffer}s. While one buffer is being written, the other
+ * fills, and a batch is written once it reaches the maximum count or size, or the linger time expires. Demand is
+ * only requested from the source as buffer space frees, so a slow disk slows the source instead of queueing.
+ * <p>
+ * {@link ReferenceCounted} values are released once their encoded bytes have been copied.
+ *
+ * @param <T> The type of value being written.
+ */
+public final class AsyncFileSink<T> implements Publisher<Long> {
+
+    private final Publisher<T> source;
+    private final Path path;
+    private final boolean append;
+    private final Function<? super T, ByteBuffer> encoder;
+    private final int batchSize;
+    private final int batchBytes;
+    private final long lingerNanos;
+    private final SyncPolicy syncPolicy;
+
+    /**
+     * Constructs a new {@link AsyncFileSink}.
+     *
+     * @param source The values to write.
+     * @param path The file to write to.
+     * @param append If <code>true</code>, values are appended to an existing file, otherwise it is truncated.
+     * @param encoder Encodes each value to the bytes to write. The returned buffer is owned by the sink.
+     * @param batchSize The maximum number of values per batch.
+     * @param batchBytes The size of each batch buffer, in bytes.
+     * @param lingerNanos How long a partial batch may wait before it is written. If <code>0</code>, a partial
+     *                    batch is written as soon as the previous write completes.
+     * @param syncPolicy When written data is forced to storage.
+     */
+    public AsyncFileSink(Publisher<T> source, Path path, boolean append, Function<? super T, ByteBuffer> encoder,
+                         int batchSize, int batchBytes, long lingerNanos, SyncPolicy syncPolicy) {
+        if (source == null) {
+            throw new NullPointerException("source");
+        } else if (path == null) {
+            throw new NullPointerException("path");
+        } else if (encoder == null) {
+            throw new NullPointerException("encoder");
+        } else if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize");
+        } else if (batchBytes <= 0) {
+            throw new IllegalArgumentException("batchBytes");
+        } else if (lingerNanos < 0) {
+            throw new IllegalArgumentException("lingerNanos");
+        } else if (syncPolicy == null) {
+            throw new NullPointerException("syncPolicy");
+        }
+        this.source = source;
+        this.path = path;
+        this.append = append;
+        this.encoder = encoder;
+        this.batchSize = batchSize;
+        this.batchBytes = batchBytes;
+        this.lingerNanos = lingerNanos;
+        this.syncPolicy = syncPolicy;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Long> subscriber) {
+        subscriber.onSubscribe(new SinkSubscription(subscriber));
+    }
+
+    private final class SinkSubscription implements Subscriber<T>, DualSubscription, CompletionHandler<Integer, ByteBuffer> {
+
+        private final Subscriber<? super Long> downstream;
+        private final ByteBuffer[] buffers = new ByteBuffer[2];
+
+        /**
+         * Encoded values which did not fit in the active buffer. Bounded by the batch size, since no more demand
+         * is requested until they are written.
+         */
+        private final ArrayDeque<ByteBuffer> overflow = new ArrayDeque<>();
+
+        private Subscription upstream;
+        private AsynchronousFileChannel channel;
+        private ScheduledFuture<?> linger;
+
+        private int active;
+        private int count;
+        private long outstanding;
+        private long position;
+        private long written;
+
+        private boolean started;
+        private boolean writing;
+        private boolean lingerExpired;
+        private boolean upstreamDone;
+        private boolean resultRequested;
+        private boolean resultReady;
+        private boolean finished;
+
+        SinkSubscription(Subscriber<? super Long> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            if (finished) {
+                return;
+            } else if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            resultRequested = true;
+            if (resultReady) {
+                emitResult();
+            } else if (!started) {
+                started = true;
+                try {
+                    if (append) {
+                        channel = AsynchronousFileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                        position = channel.size();
+                    } else {
+                        channel = AsynchronousFileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                StandardOpenOption.TRUNCATE_EXISTING);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    fail(e);
+                    return;
+                }
+                buffers[0] = ByteBuffer.allocateDirect(batchBytes);
+                buffers[1] = ByteBuffer.allocateDirect(batchBytes);
+                source.subscribe(this);
+            }
+        }
+
+        @Override
+        public synchronized void cancel() {
+            if (!finished) {
+                finished = true;
+                cancelLinger();
+                if (upstream != null) {
+                    upstream.cancel();
+                }
+                close();
+            }
+        }
+
+        @Override
+        public synchronized void onSubscribe(Subscription subscription) {
+            if (upstream != null || finished) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            requestMore();
+        }
+
+        @Override
+        public void onNext(T item) {
+            synchronized (this) {
+                if (finished) {
+                    Util.release(item);
+                    return;
+                }
+            }
+            ByteBuffer bytes;
+            try {
+                bytes = encoder.apply(item);
+            } catch (RuntimeException e) {
+                Util.release(item);
+                synchronized (this) {
+                    if (!finished) {
+                        upstream.cancel();
+                        fail(e);
+                    }
+                }
+                return;
+            }
+            synchronized (this) {
+                if (finished) {
+                    Util.release(item);
+                    return;
+                }
+                outstanding--;
+                ByteBuffer buffer = buffers[active];
+                if (overflow.isEmpty() && bytes.remaining() <= buffer.remaining()) {
+                    buffer.put(bytes);
+                    count++;
+                } else if (item instanceof ReferenceCounted) {
+                    overflow.add(ByteBuffer.allocate(bytes.remaining()).put(bytes).flip());
+                } else {
+                    overflow.add(bytes);
+                }
+                Util.release(item);
+                if (isBatchReady() || lingerNanos == 0) {
+                    flush();
+                } else if (linger == null) {
+                    linger = Schedulers.timer().schedule(this::lingerExpired, lingerNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable throwable) {
+            upstreamDone = true;
+            fail(throwable);
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (finished) {
+                return;
+            }
+            upstreamDone = true;
+            if (!writing) {
+                if (hasPending()) {
+                    flush();
+                } else {
+                    complete();
+                }
+            }
+        }
+
+        /**
+         * Called when a write to the channel completes.
+         */
+        @Override
+        public synchronized void completed(Integer bytes, ByteBuffer buffer) {
+            if (finished) {
+                return;
+            }
+            position += bytes;
+            written += bytes;
+            if (buffer.hasRemaining()) {
+                channel.write(buffer, position, buffer, this);
+                return;
+            }
+            try {
+                if (syncPolicy == SyncPolicy.EACH_BATCH) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+            buffer.clear();
+            writing = false;
+            if (hasPending() && (isBatchReady() || lingerNanos == 0 || lingerExpired || upstreamDone)) {
+                flush();
+            } else if (upstreamDone && !hasPending()) {
+                complete();
+            } else {
+                requestMore();
+            }
+        }
+
+        /**
+         * Called when a write to the channel fails.
+         */
+        @Override
+        public synchronized void failed(Throwable throwable, ByteBuffer buffer) {
+            if (upstream != null) {
+                upstream.cancel();
+            }
+            fail(throwable);
+        }
+
+        private synchronized void lingerExpired() {
+            linger = null;
+            if (finished) {
+                return;
+            }
+            if (writing) {
+                lingerExpired = true;
+            } else if (hasPending()) {
+                flush();
+            }
+        }
+
+        private boolean hasPending() {
+            return buffers[active].position() > 0 || !overflow.isEmpty();
+        }
+
+        private boolean isBatchReady() {
+            return count >= batchSize || !overflow.isEmpty() || !buffers[active].hasRemaining();
+        }
+
+        /**
+         * Writes the active buffer, if the channel is idle, and makes the other buffer active.
+         */
+        private void flush() {
+            if (writing || finished) {
+                return;
+            }
+            ByteBuffer batch = buffers[active];
+            if (batch.position() > 0) {
+                batch.flip();
+                active ^= 1;
+                count = 0;
+                ByteBuffer next = buffers[active];
+                while (!overflow.isEmpty() && overflow.peek().remaining() <= next.remaining()) {
+                    next.put(overflow.poll());
+                    count++;
+                }
+            } else if (!overflow.isEmpty()) {
+                // a single value larger than a batch buffer is written as-is.
+                batch = overflow.poll();
+            } else {
+                return;
+            }
+            cancelLinger();
+            lingerExpired = false;
+            writing = true;
+            channel.write(batch, position, batch, this);
+            if (hasPending() && lingerNanos > 0) {
+                linger = Schedulers.timer().schedule(this::lingerExpired, lingerNanos, TimeUnit.NANOSECONDS);
+            }
+            requestMore();
+        }
+
+        /**
+         * Requests enough values from upstream to fill the active buffer.
+         */
+        private void requestMore() {
+            if (upstream == null || upstreamDone || finished) {
+                return;
+            }
+            long capacity = batchSize - count - overflow.size() - outstanding;
+            if (capacity > 0) {
+                outstanding += capacity;
+                upstream.request(capacity);
+            }
+        }
+
+        private void complete() {
+            try {
+                if (syncPolicy != SyncPolicy.NONE) {
+                    channel.force(true);
+                }
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+            finished = true;
+            close();
+            resultReady = true;
+            if (resultRequested) {
+                emitResult();
+            }
+        }
+
+        private void emitResult() {
+            resultReady = false;
+            finished = true;
+            downstream.onNext(written);
+            downstream.onComplete();
+        }
+
+        private void fail(Throwable throwable) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            cancelLinger();
+            close();
+            downstream.onError(throwable);
+        }
+
+        private void cancelLinger() {
+            if (linger != null) {
+                linger.cancel(false);
+                linger = null;
+            }
+        }
+
+        private void close() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    // nothing more can be done with the file.
+                }
+            }
+        }
+    }
+}
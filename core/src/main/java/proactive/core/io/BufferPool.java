@@ -0,0 +1,202 @@
+package proactive.core.io;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Allocates {@link PooledBuffer}s from power-of-two size classes of direct {@link ByteBuffer}s.
+ * <p>
+ * Each thread has a small arena, bounded in bytes, which it allocates from and releases to without
+ * synchronization. Size classes too large for at least four buffers to fit in an arena are
+ * not cached per thread, and virtual threads, which are too many and too short-lived for a cache each, do not use
+ * arenas at all. When a thread's arena is empty or full, buffers are taken from or given to a bounded pool shared by
+ * all threads. Requests larger than the largest size class are allocated without pooling.
+ * <p>
+ * Buffers only return to the pool when they are {@link PooledBuffer#release() released}. Operators from the
+ * underlying reactive library which drop values when their subscriber cancels do not release them, so those
+ * buffers are left for garbage collection instead.
+ */
+public final class BufferPool {
+
+    /**
+     * The fewest buffers of a size class which must fit in an arena for that class to be cached per thread.
+     */
+    private static final int MIN_ARENA_BUFFERS = 4;
+
+    private static final MethodHandle IS_VIRTUAL = isVirtualHandle();
+
+    private static final BufferPool SHARED = new BufferPool(256, 1024 * 1024, 256 * 1024, 256);
+
+    /**
+     * @return The default {@link BufferPool}, with size classes from 256 bytes to 1 MiB and arenas of 256 KiB.
+     */
+    public static BufferPool shared() {
+        return SHARED;
+    }
+
+    private final int minShift;
+    private final int maxSize;
+    private final List<ArrayBlockingQueue<PooledBuffer>> pools;
+    private final ThreadLocal<Arena> arenas;
+
+    /**
+     * Constructs a new {@link BufferPool}.
+     *
+     * @param minSize The smallest size class, rounded up to a power of two.
+     * @param maxSize The largest size class, rounded up to a power of two.
+     * @param arenaBytes The number of bytes of buffers cached by each thread, or <code>0</code> for none.
+     * @param sharedCapacity The number of buffers of each size class kept in the shared pool.
+     */
+    public BufferPool(int minSize, int maxSize, int arenaBytes, int sharedCapacity) {
+        if (minSize <= 0 || maxSize < minSize || maxSize > 1 << 30) {
+            throw new IllegalArgumentException("size");
+        } else if (arenaBytes < 0 || sharedCapacity <= 0) {
+            throw new IllegalArgumentException("capacity");
+        }
+        this.minShift = shift(minSize);
+        this.maxSize = 1 << shift(maxSize);
+        int classes = shift(maxSize) - minShift + 1;
+        List<ArrayBlockingQueue<PooledBuffer>> pools = new ArrayList<>(classes);
+        for (int i = 0; i < classes; i++) {
+            pools.add(new ArrayBlockingQueue<>(sharedCapacity));
+        }
+        this.pools = List.copyOf(pools);
+        int minShift = this.minShift;
+        this.arenas = ThreadLocal.withInitial(() -> new Arena(minShift, classes, arenaBytes));
+    }
+
+    /**
+     * Allocates a buffer with at least the requested capacity. The buffer's limit is set to the capacity and its
+     * reference count to <code>1</code>.
+     *
+     * @param capacity The number of bytes required.
+     * @return The {@link PooledBuffer}.
+     */
+    public PooledBuffer allocate(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity");
+        } else if (capacity > maxSize) {
+            return new PooledBuffer(this, -1, ByteBuffer.allocateDirect(capacity)).reset(capacity);
+        }
+        int sizeClass = sizeClass(capacity);
+        Arena arena = arena();
+        PooledBuffer buffer = arena == null ? null : arena.poll(sizeClass);
+        if (buffer == null) {
+            buffer = pools.get(sizeClass).poll();
+            if (buffer == null) {
+                buffer = new PooledBuffer(this, sizeClass, ByteBuffer.allocateDirect(1 << (sizeClass + minShift)));
+            }
+        }
+        return buffer.reset(capacity);
+    }
+
+    /**
+     * Returns a released buffer to the releasing thread's arena, or the shared pool if the arena is full.
+     *
+     * @param buffer The buffer.
+     */
+    void recycle(PooledBuffer buffer) {
+        int sizeClass = buffer.sizeClass();
+        if (sizeClass < 0) {
+            return;
+        }
+        Arena arena = arena();
+        if (arena == null || !arena.offer(sizeClass, buffer)) {
+            // dropped for garbage collection if the shared pool is also full.
+            pools.get(sizeClass).offer(buffer);
+        }
+    }
+
+    /**
+     * @return The calling thread's arena, or <code>null</code> if it is a virtual thread.
+     */
+    private Arena arena() {
+        return isVirtual(Thread.currentThread()) ? null : arenas.get();
+    }
+
+    private int sizeClass(int capacity) {
+        return Math.max(0, shift(capacity) - minShift);
+    }
+
+    /**
+     * @return The exponent of the smallest power of two which is at least <code>value</code>.
+     */
+    private static int shift(int value) {
+        return value <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(value - 1);
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return A handle to <code>Thread.isVirtual()</code>, or <code>null</code> on runtimes without virtual threads.
+     */
+    private static MethodHandle isVirtualHandle() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual",
+                    MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A per-thread stack of buffers for each size class, holding at most a fixed number of bytes in all.
+     */
+    private static final class Arena {
+        private final PooledBuffer[][] stacks;
+        private final int[] sizes;
+        private final int minShift;
+        private final int capacity;
+        private int bytes;
+
+        Arena(int minShift, int classes, int capacity) {
+            this.stacks = new PooledBuffer[classes][];
+            for (int i = 0; i < classes; i++) {
+                int buffers = capacity >> (i + minShift);
+                stacks[i] = new PooledBuffer[buffers < MIN_ARENA_BUFFERS ? 0 : buffers];
+            }
+            this.sizes = new int[classes];
+            this.minShift = minShift;
+            this.capacity = capacity;
+        }
+
+        PooledBuffer poll(int sizeClass) {
+            int size = sizes[sizeClass];
+            if (size == 0) {
+                return null;
+            }
+            size--;
+            PooledBuffer buffer = stacks[sizeClass][size];
+            stacks[sizeClass][size] = null;
+            sizes[sizeClass] = size;
+            bytes -= 1 << (sizeClass + minShift);
+            return buffer;
+        }
+
+        boolean offer(int sizeClass, PooledBuffer buffer) {
+            int size = sizes[sizeClass];
+            int length = 1 << (sizeClass + minShift);
+            if (size == stacks[sizeClass].length || bytes > capacity - length) {
+                return false;
+            }
+            stacks[sizeClass][size] = buffer;
+            sizes[sizeClass] = size + 1;
+            bytes += length;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package proactive.core.io;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import proactive.core.AdapterSupport.DualSubscription;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Publisher} which reads a file in fixed-size chunks into {@link PooledBuffer}s. Each buffer is sent
+ * ready to read, and ownership passes to the subscriber, which must {@link PooledBuffer#release() release} it.
+ * <p>
+ * Chunks are only read as they are requested, and the file is opened on the first request of each subscription.
+ */
+public final class FileChunkPublisher implements Publisher<PooledBuffer> {
+
+    private final Path path;
+    private final int chunkSize;
+    private final BufferPool pool;
+
+    /**
+     * Constructs a new {@link FileChunkPublisher}.
+     *
+     * @param path The file to read.
+     * @param chunkSize The maximum number of bytes per chunk.
+     * @param pool The {@link BufferPool} to allocate chunks from.
+     */
+    public FileChunkPublisher(Path path, int chunkSize, BufferPool pool) {
+        if (path == null) {
+            throw new NullPointerException("path");
+        } else if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize");
+        } else if (pool == null) {
+            throw new NullPointerException("pool");
+        }
+        this.path = path;
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super PooledBuffer> subscriber) {
+        subscriber.onSubscribe(new ChunkSubscription(subscriber));
+    }
+
+    private final class ChunkSubscription implements DualSubscription {
+
+        private final Subscriber<? super PooledBuffer> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled;
+        private boolean done;
+
+        private FileChannel channel;
+
+        ChunkSubscription(Subscriber<? super PooledBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            for (;;) {
+                long current = requested.get();
+                long next = current + n;
+                if (requested.compareAndSet(current, next < 0 ? Long.MAX_VALUE : next)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            if (wip.getAndIncrement() == 0) {
+                close();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand) {
+                    if (cancelled || done) {
+                        close();
+                        return;
+                    }
+                    PooledBuffer chunk;
+                    try {
+                        chunk = next();
+                    } catch (IOException | RuntimeException e) {
+                        done = true;
+                        close();
+                        subscriber.onError(e);
+                        return;
+                    }
+                    if (chunk == null) {
+                        done = true;
+                        close();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    subscriber.onNext(chunk);
+                    emitted++;
+                }
+                if (cancelled) {
+                    close();
+                    return;
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Reads the next chunk.
+         *
+         * @return The chunk, or <code>null</code> once the file is exhausted.
+         * @throws IOException if the file cannot be read.
+         */
+        private PooledBuffer next() throws IOException {
+            if (channel == null) {
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+            }
+            PooledBuffer chunk = pool.allocate(chunkSize);
+            try {
+                while (chunk.buffer().hasRemaining()) {
+                    if (channel.read(chunk.buffer()) < 0) {
+                        break;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                chunk.release();
+                throw e;
+            }
+            if (chunk.buffer().position() == 0) {
+                chunk.release();
+                return null;
+            }
+            chunk.buffer().flip();
+            return chunk;
+        }
+
+        private void close() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    // nothing more can be done with the file.
+                }
+                channel = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package proactive.core.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Defines how messages are separated on a byte stream such as a socket.
+ */
+public abstract class Framing {
+
+    /**
+     * Frames each message with a 4-byte big-endian length prefix.
+     *
+     * @param maxFrameLength The largest message length accepted when reading.
+     * @return The {@link Framing}.
+     */
+    public static Framing lengthPrefixed(int maxFrameLength) {
+        return new LengthPrefixed(maxFrameLength);
+    }
+
+    /**
+     * Frames each message by following it with the <code>delimiter</code>.
+     *
+     * @param delimiter The bytes separating each message.
+     * @param maxFrameLength The largest message length accepted when reading, excluding the delimiter.
+     * @return The {@link Framing}.
+     */
+    public static Framing delimited(byte[] delimiter, int maxFrameLength) {
+        return new Delimited(delimiter, maxFrameLength);
+    }
+
+    final int maxFrameLength;
+
+    private Framing(int maxFrameLength) {
+        if (maxFrameLength <= 0) {
+            throw new IllegalArgumentException("maxFrameLength");
+        }
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    /**
+     * Reads the next complete frame from the <code>input</code>, advancing its position past the frame.
+     *
+     * @param input The buffered bytes, ready to read.
+     * @param pool The pool to allocate the message buffer from.
+     * @return The message, ready to read, or <code>null</code> if the input does not hold a complete frame.
+     * @throws IOException if the frame is longer than the maximum frame length.
+     */
+    abstract PooledBuffer decode(ByteBuffer input, BufferPool pool) throws IOException;
+
+    /**
+     * @return The number of bytes written before each message.
+     */
+    abstract int headerLength();
+
+    /**
+     * @return The number of bytes written after each message.
+     */
+    abstract int trailerLength();
+
+    /**
+     * Writes the bytes preceding a message.
+     *
+     * @param target The buffer to write to.
+     * @param messageLength The length of the message.
+     */
+    abstract void header(ByteBuffer target, int messageLength);
+
+    /**
+     * Writes the bytes following a message.
+     *
+     * @param target The buffer to write to.
+     */
+    abstract void trailer(ByteBuffer target);
+
+    /**
+     * Frames a single message into a new heap buffer.
+     *
+     * @param message The message, ready to read.
+     * @return The framed message, ready to read.
+     */
+    public ByteBuffer frame(ByteBuffer message) {
+        ByteBuffer framed = ByteBuffer.allocate(headerLength() + message.remaining() + trailerLength());
+        header(framed, message.remaining());
+        framed.put(message);
+        trailer(framed);
+        return framed.flip();
+    }
+
+    /**
+     * Copies <code>length</code> bytes from the current position of the <code>input</code> into a new
+     * {@link PooledBuffer}.
+     */
+    static PooledBuffer copy(ByteBuffer input, int length, BufferPool pool) {
+        PooledBuffer message = pool.allocate(length);
+        int limit = input.limit();
+        input.limit(input.position() + length);
+        message.buffer().put(input).flip();
+        input.limit(limit);
+        return message;
+    }
+
+    private static final class LengthPrefixed extends Framing {
+
+        LengthPrefixed(int maxFrameLength) {
+            super(maxFrameLength);
+        }
+
+        @Override
+        PooledBuffer decode(ByteBuffer input, BufferPool pool) throws IOException {
+            if (input.remaining() < Integer.BYTES) {
+                return null;
+            }
+            int length = input.getInt(input.position());
+            if (length < 0 || length > maxFrameLength) {
+                throw new IOException("Frame length " + length + " is not between 0 and " + maxFrameLength + ".");
+            } else if (input.remaining() < Integer.BYTES + length) {
+                return null;
+            }
+            input.position(input.position() + Integer.BYTES);
+            return copy(input, length, pool);
+        }
+
+        @Override
+        int headerLength() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        int trailerLength() {
+            return 0;
+        }
+
+        @Override
+        void header(ByteBuffer target, int messageLength) {
+            target.putInt(messageLength);
+        }
+
+        @Override
+        void trailer(ByteBuffer target) {
+        }
+    }
+
+    private static final class Delimited extends Framing {
+
+        private final byte[] delimiter;
+
+        Delimited(byte[] delimiter, int maxFrameLength) {
+            super(maxFrameLength);
+            if (delimiter == null || delimiter.length == 0) {
+                throw new IllegalArgumentException("delimiter");
+            }
+            this.delimiter = delimiter.clone();
+        }
+
+        @Override
+        PooledBuffer decode(ByteBuffer input, BufferPool pool) throws IOException {
+            int start = input.position();
+            int last = input.limit() - delimiter.length;
+            for (int i = start; i <= last; i++) {
+                if (input.get(i) == delimiter[0] && matchesAt(input, i)) {
+                    if (i - start > maxFrameLength) {
+                        break;
+                    }
+                    PooledBuffer message = copy(input, i - start, pool);
+                    input.position(i + delimiter.length);
+                    return message;
+                }
+            }
+            if (input.remaining() >= maxFrameLength + delimiter.length) {
+                throw new IOException("Frame exceeds " + maxFrameLength + " bytes.");
+            }
+            return null;
+        }
+
+        private boolean matchesAt(ByteBuffer input, int index) {
+            for (int j = 1; j < delimiter.length; j++) {
+                if (input.get(index + j) != delimiter[j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        int headerLength() {
+            return 0;
+        }
+
+        @Override
+        int trailerLength() {
+            return delimiter.length;
+        }
+
+        @Override
+        void header(ByteBuffer target, int messageLength) {
+        }
+
+        @Override
+        void trailer(ByteBuffer target) {
+            target.put(delimiter);
+        }
+    }
+}
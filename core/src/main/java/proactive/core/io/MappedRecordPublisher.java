@@ -0,0 +1,295 @@
+package proactive.core.io;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import proactive.core.AdapterSupport.DualSubscription;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Publisher} which sends each delimited record of a file as a {@link String}. The file is read through
+ * memory-mapped regions of {@link FileChannel}, so its contents never need to be copied onto the heap beyond the
+ * record currently being decoded. Regions are re-mapped as the file is scanned, allowing files larger than 2 GB.
+ * <p>
+ * Records are only located and decoded as they are requested, and the file is opened on the first request of
+ * each subscription.
+ */
+public final class MappedRecordPublisher implements Publisher<String> {
+
+    /**
+     * The default size of each mapped region.
+     */
+    public static final int DEFAULT_REGION_SIZE = 64 * 1024 * 1024;
+
+    private final Path path;
+    private final byte[] delimiter;
+    private final Charset charset;
+    private final boolean stripCarriageReturn;
+    private final int regionSize;
+
+    /**
+     * Constructs a new {@link MappedRecordPublisher}.
+     *
+     * @param path The file to read.
+     * @param delimiter The bytes separating each record.
+     * @param charset The {@link Charset} to decode records with, which must encode ASCII as single bytes, like UTF-8
+     * or ISO-8859-1, so that the delimiter is found at character boundaries.
+     * @param stripCarriageReturn If <code>true</code>, a trailing <code>'\r'</code> is removed from each record.
+     * @param regionSize The number of bytes to map at a time. Regions grow if a single record does not fit.
+     * @throws IllegalArgumentException if the <code>charset</code> is not ASCII-compatible.
+     */
+    public MappedRecordPublisher(Path path, byte[] delimiter, Charset charset, boolean stripCarriageReturn, int regionSize) {
+        if (path == null) {
+            throw new NullPointerException("path");
+        } else if (delimiter == null || delimiter.length == 0) {
+            throw new IllegalArgumentException("delimiter");
+        } else if (charset == null) {
+            throw new NullPointerException("charset");
+        } else if (!isAsciiCompatible(charset)) {
+            throw new IllegalArgumentException("Charset is not ASCII-compatible: " + charset);
+        } else if (regionSize <= 0) {
+            throw new IllegalArgumentException("regionSize");
+        }
+        this.path = path;
+        this.delimiter = delimiter.clone();
+        this.charset = charset;
+        this.stripCarriageReturn = stripCarriageReturn;
+        this.regionSize = regionSize;
+    }
+
+    /**
+     * @return <code>true</code> if the <code>charset</code> encodes each ASCII character as the same single byte.
+     * Charsets with a byte order mark or wider code units, such as UTF-16, do not.
+     */
+    private static boolean isAsciiCompatible(Charset charset) {
+        if (!charset.canEncode()) {
+            return false;
+        }
+        char[] ascii = new char[128];
+        for (int i = 0; i < ascii.length; i++) {
+            ascii[i] = (char) i;
+        }
+        byte[] encoded = new String(ascii).getBytes(charset);
+        if (encoded.length != ascii.length) {
+            return false;
+        }
+        for (int i = 0; i < encoded.length; i++) {
+            if (encoded[i] != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super String> subscriber) {
+        subscriber.onSubscribe(new RecordSubscription(subscriber));
+    }
+
+    private final class RecordSubscription implements DualSubscription {
+
+        private final Subscriber<? super String> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled;
+        private boolean done;
+
+        private FileChannel channel;
+        private long size;
+
+        /**
+         * The file position of the next record.
+         */
+        private long position;
+
+        private MappedByteBuffer region;
+
+        /**
+         * The file position the current {@link #region} starts at.
+         */
+        private long regionStart;
+
+        private byte[] scratch = new byte[256];
+
+        RecordSubscription(Subscriber<? super String> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            for (;;) {
+                long current = requested.get();
+                long next = current + n;
+                if (requested.compareAndSet(current, next < 0 ? Long.MAX_VALUE : next)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            if (wip.getAndIncrement() == 0) {
+                close();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand) {
+                    if (cancelled || done) {
+                        close();
+                        return;
+                    }
+                    String record;
+                    try {
+                        record = next();
+                    } catch (IOException | RuntimeException e) {
+                        done = true;
+                        close();
+                        subscriber.onError(e);
+                        return;
+                    }
+                    if (record == null) {
+                        done = true;
+                        close();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    subscriber.onNext(record);
+                    emitted++;
+                }
+                if (cancelled) {
+                    close();
+                    return;
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Locates and decodes the next record.
+         *
+         * @return The record, or <code>null</code> once the file is exhausted.
+         * @throws IOException if the file cannot be read.
+         */
+        private String next() throws IOException {
+            if (channel == null) {
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+                size = channel.size();
+            }
+            if (position >= size) {
+                return null;
+            }
+            int mapSize = regionSize;
+            for (;;) {
+                if (region == null || position < regionStart || position >= regionStart + region.limit()) {
+                    map(mapSize);
+                }
+                int start = (int) (position - regionStart);
+                int found = indexOf(region, start);
+                if (found >= 0) {
+                    position = regionStart + found + delimiter.length;
+                    return decode(start, found);
+                }
+                long regionEnd = regionStart + region.limit();
+                if (regionEnd >= size) {
+                    position = size;
+                    return decode(start, region.limit());
+                }
+                if (start == 0) {
+                    if (mapSize == Integer.MAX_VALUE) {
+                        throw new IOException("Record at position " + position + " exceeds " + Integer.MAX_VALUE + " bytes.");
+                    }
+                    // the record does not fit in a single region, so grow it.
+                    mapSize = (int) Math.min(Integer.MAX_VALUE, (long) mapSize * 2);
+                }
+                // re-map from the start of the partial record.
+                region = null;
+            }
+        }
+
+        private void map(int mapSize) throws IOException {
+            regionStart = position;
+            region = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(mapSize, size - position));
+        }
+
+        /**
+         * Finds the next delimiter in the buffer.
+         *
+         * @param buffer The buffer to scan.
+         * @param from The index to start at.
+         * @return The index of the delimiter, or <code>-1</code> if there is no complete delimiter.
+         */
+        private int indexOf(MappedByteBuffer buffer, int from) {
+            byte first = delimiter[0];
+            int last = buffer.limit() - delimiter.length;
+            for (int i = from; i <= last; i++) {
+                if (buffer.get(i) == first && matchesAt(buffer, i)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean matchesAt(MappedByteBuffer buffer, int index) {
+            for (int j = 1; j < delimiter.length; j++) {
+                if (buffer.get(index + j) != delimiter[j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String decode(int from, int to) {
+            if (stripCarriageReturn && to > from && region.get(to - 1) == '\r') {
+                to--;
+            }
+            int length = to - from;
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            region.position(from);
+            region.get(scratch, 0, length);
+            return new String(scratch, 0, length, charset);
+        }
+
+        private void close() {
+            region = null;
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    // nothing more can be done with the file.
+                }
+                channel = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package proactive.core.io;
+
+import proactive.core.ReferenceCounted;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * A direct {@link ByteBuffer} allocated from a {@link BufferPool}. When its reference count reaches
+ * <code>0</code> the buffer is returned to the pool as-is, without copying, to be handed out again.
+ */
+public final class PooledBuffer implements ReferenceCounted {
+
+    private static final AtomicIntegerFieldUpdater<PooledBuffer> REF_CNT =
+            AtomicIntegerFieldUpdater.newUpdater(PooledBuffer.class, "refCnt");
+
+    private final BufferPool pool;
+    private final int sizeClass;
+    private final ByteBuffer buffer;
+
+    private volatile int refCnt;
+
+    PooledBuffer(BufferPool pool, int sizeClass, ByteBuffer buffer) {
+        this.pool = pool;
+        this.sizeClass = sizeClass;
+        this.buffer = buffer;
+    }
+
+    /**
+     * @return The underlying buffer. It must not be used once this {@link PooledBuffer} has been released.
+     */
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    int sizeClass() {
+        return sizeClass;
+    }
+
+    /**
+     * Prepares the buffer to be handed out by the pool.
+     *
+     * @param capacity The requested capacity, which becomes the buffer's limit.
+     * @return This instance.
+     */
+    PooledBuffer reset(int capacity) {
+        buffer.clear().limit(capacity);
+        refCnt = 1;
+        return this;
+    }
+
+    @Override
+    public int refCnt() {
+        return refCnt;
+    }
+
+    @Override
+    public PooledBuffer retain() {
+        for (;;) {
+            int current = refCnt;
+            if (current <= 0) {
+                throw new IllegalStateException("Buffer has already been released.");
+            }
+            if (REF_CNT.compareAndSet(this, current, current + 1)) {
+                return this;
+            }
+        }
+    }
+
+    @Override
+    public boolean release() {
+        for (;;) {
+            int current = refCnt;
+            if (current <= 0) {
+                throw new IllegalStateException("Buffer has already been released.");
+            }
+            if (REF_CNT.compareAndSet(this, current, current - 1)) {
+                if (current == 1) {
+                    pool.recycle(this);
+                    return true;
+                }
+                return false;
+            }
+        }
+    }
+}
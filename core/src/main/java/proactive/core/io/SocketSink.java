@@ -0,0 +1,332 @@
+package proactive.core.io;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import proactive.core.AdapterSupport.DualSubscription;
+import proactive.core.Util;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A {@link Publisher} which writes each value of the <code>source</code> to an {@link AsynchronousSocketChannel},
+ * then sends the total number of bytes written once the source completes.
+ * <p>
+ * Values accumulate in one batch while the previous batch is written with a single gathering write, so each
+ * message's framing and payload are sent without being copied together. Demand is only requested from the source
+ * as batch slots free up. Values are {@link Util#release(Object) released} once they have been written. The
+ * channel is not closed, so it may also be read from.
+ *
+ * @param <T> The type of value being written.
+ */
+public final class SocketSink<T> implements Publisher<Long> {
+
+    private final Publisher<T> source;
+    private final AsynchronousSocketChannel channel;
+    private final Function<? super T, ByteBuffer> encoder;
+    private final Framing framing;
+    private final int batchSize;
+
+    /**
+     * Constructs a new {@link SocketSink}.
+     *
+     * @param source The values to write.
+     * @param channel The connected channel to write to.
+     * @param encoder Encodes each value to the message to write. The buffer must remain valid until the value is
+     *                released.
+     * @param framing How messages are separated. May be <code>null</code> to write messages as-is.
+     * @param batchSize The maximum number of values per write.
+     */
+    public SocketSink(Publisher<T> source, AsynchronousSocketChannel channel, Function<? super T, ByteBuffer> encoder,
+                      Framing framing, int batchSize) {
+        if (source == null) {
+            throw new NullPointerException("source");
+        } else if (channel == null) {
+            throw new NullPointerException("channel");
+        } else if (encoder == null) {
+            throw new NullPointerException("encoder");
+        } else if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize");
+        }
+        this.source = source;
+        this.channel = channel;
+        this.encoder = encoder;
+        this.framing = framing;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Long> subscriber) {
+        subscriber.onSubscribe(new SinkSubscription(subscriber));
+    }
+
+    /**
+     * The values, and buffers to write for them, of a single batch.
+     */
+    private final class Batch {
+        private final Object[] values = new Object[batchSize];
+        private final ByteBuffer[] buffers = new ByteBuffer[batchSize * 3];
+        private final ByteBuffer framingBytes;
+
+        private int count;
+        private int size;
+        private int offset;
+
+        Batch() {
+            int framingLength = framing == null ? 0 : framing.headerLength() + framing.trailerLength();
+            framingBytes = framingLength == 0 ? null : ByteBuffer.allocateDirect(batchSize * framingLength);
+        }
+
+        void add(Object value, ByteBuffer message) {
+            values[count++] = value;
+            if (framing == null) {
+                buffers[size++] = message;
+                return;
+            }
+            if (framing.headerLength() > 0) {
+                buffers[size++] = framed(b -> framing.header(b, message.remaining()), framing.headerLength());
+            }
+            buffers[size++] = message;
+            if (framing.trailerLength() > 0) {
+                buffers[size++] = framed(framing::trailer, framing.trailerLength());
+            }
+        }
+
+        private ByteBuffer framed(Consumer<ByteBuffer> writer, int length) {
+            int start = framingBytes.position();
+            writer.accept(framingBytes);
+            ByteBuffer slice = framingBytes.duplicate();
+            slice.position(start).limit(start + length);
+            return slice;
+        }
+
+        /**
+         * Skips buffers which have been completely written.
+         *
+         * @return <code>true</code> if the whole batch has been written.
+         */
+        boolean advance() {
+            while (offset < size && !buffers[offset].hasRemaining()) {
+                offset++;
+            }
+            return offset == size;
+        }
+
+        void clear() {
+            for (int i = 0; i < count; i++) {
+                Util.release(values[i]);
+                values[i] = null;
+            }
+            for (int i = 0; i < size; i++) {
+                buffers[i] = null;
+            }
+            if (framingBytes != null) {
+                framingBytes.clear();
+            }
+            count = 0;
+            size = 0;
+            offset = 0;
+        }
+    }
+
+    private final class SinkSubscription implements Subscriber<T>, DualSubscription, CompletionHandler<Long, Void> {
+
+        private final Subscriber<? super Long> downstream;
+
+        private Subscription upstream;
+        private Batch filling;
+        private Batch writing;
+
+        private long outstanding;
+        private long written;
+        private boolean started;
+        private boolean upstreamDone;
+        private boolean finished;
+
+        SinkSubscription(Subscriber<? super Long> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            if (finished || started) {
+                return;
+            } else if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            started = true;
+            filling = new Batch();
+            source.subscribe(this);
+        }
+
+        @Override
+        public synchronized void cancel() {
+            if (!finished) {
+                finished = true;
+                if (upstream != null) {
+                    upstream.cancel();
+                }
+                release();
+            }
+        }
+
+        @Override
+        public synchronized void onSubscribe(Subscription subscription) {
+            if (upstream != null || finished) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            requestMore();
+        }
+
+        @Override
+        public void onNext(T item) {
+            synchronized (this) {
+                if (finished) {
+                    Util.release(item);
+                    return;
+                }
+            }
+            ByteBuffer message;
+            try {
+                message = encoder.apply(item);
+            } catch (RuntimeException e) {
+                Util.release(item);
+                synchronized (this) {
+                    if (!finished) {
+                        upstream.cancel();
+                        fail(e);
+                    }
+                }
+                return;
+            }
+            synchronized (this) {
+                if (finished) {
+                    Util.release(item);
+                    return;
+                }
+                outstanding--;
+                filling.add(item, message);
+                if (writing == null || writing.size == 0) {
+                    flush();
+                }
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable throwable) {
+            upstreamDone = true;
+            fail(throwable);
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (finished) {
+                return;
+            }
+            upstreamDone = true;
+            if (writing == null || writing.size == 0) {
+                if (filling.size > 0) {
+                    flush();
+                } else {
+                    complete();
+                }
+            }
+        }
+
+        @Override
+        public synchronized void completed(Long bytes, Void attachment) {
+            if (finished) {
+                writing.clear();
+                return;
+            }
+            written += bytes;
+            if (!writing.advance()) {
+                write();
+                return;
+            }
+            writing.clear();
+            if (filling.size > 0) {
+                flush();
+            } else if (upstreamDone) {
+                complete();
+            } else {
+                requestMore();
+            }
+        }
+
+        @Override
+        public synchronized void failed(Throwable throwable, Void attachment) {
+            if (upstream != null) {
+                upstream.cancel();
+            }
+            fail(throwable);
+            writing.clear();
+        }
+
+        /**
+         * Swaps the filling batch with the idle batch and writes it.
+         */
+        private void flush() {
+            Batch batch = filling;
+            filling = writing == null ? new Batch() : writing;
+            writing = batch;
+            write();
+            requestMore();
+        }
+
+        private void write() {
+            channel.write(writing.buffers, writing.offset, writing.size - writing.offset, 0L, TimeUnit.MILLISECONDS,
+                    null, this);
+        }
+
+        /**
+         * Requests enough values to fill the filling batch.
+         */
+        private void requestMore() {
+            if (upstream == null || upstreamDone || finished) {
+                return;
+            }
+            long capacity = batchSize - filling.count - outstanding;
+            if (capacity > 0) {
+                outstanding += capacity;
+                upstream.request(capacity);
+            }
+        }
+
+        private void complete() {
+            finished = true;
+            downstream.onNext(written);
+            downstream.onComplete();
+        }
+
+        private void fail(Throwable throwable) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            release();
+            downstream.onError(throwable);
+        }
+
+        /**
+         * Releases held values, except those of a write still in progress, which are released on its completion.
+         */
+        private void release() {
+            if (filling != null) {
+                filling.clear();
+            }
+            if (writing != null && writing.size == 0) {
+                writing.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package proactive.core.io;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import proactive.core.AdapterSupport.DualSubscription;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Publisher} which sends each framed message read from an {@link AsynchronousSocketChannel} as a
+ * {@link PooledBuffer}. Ownership of each buffer passes to the subscriber.
+ * <p>
+ * The socket is only read while there is outstanding demand and no complete message is already buffered, so the
+ * peer is slowed by TCP flow control rather than messages queueing in memory.
+ */
+public final class SocketSource implements Publisher<PooledBuffer> {
+
+    /**
+     * The default size of the read buffer.
+     */
+    public static final int DEFAULT_READ_BUFFER_SIZE = 64 * 1024;
+
+    private final AsynchronousSocketChannel channel;
+    private final SocketAddress address;
+    private final Framing framing;
+    private final BufferPool pool;
+    private final int readBufferSize;
+
+    /**
+     * Constructs a {@link SocketSource} reading from an existing, connected channel. The channel is left
+     * open when the subscription completes or fails, so it may also be written to, but is closed if the
+     * subscription is cancelled, since that is the only way to abandon a read which is already outstanding.
+     *
+     * @param channel The connected channel.
+     * @param framing How messages are separated.
+     * @param pool The pool message buffers are allocated from.
+     * @param readBufferSize The size of the read buffer.
+     */
+    public SocketSource(AsynchronousSocketChannel channel, Framing framing, BufferPool pool, int readBufferSize) {
+        this(channel, null, framing, pool, readBufferSize);
+        if (channel == null) {
+            throw new NullPointerException("channel");
+        }
+    }
+
+    /**
+     * Constructs a {@link SocketSource} which opens a new connection to the <code>address</code> for each
+     * subscription, and closes it when the subscription ends.
+     *
+     * @param address The address to connect to.
+     * @param framing How messages are separated.
+     * @param pool The pool message buffers are allocated from.
+     * @param readBufferSize The size of the read buffer.
+     */
+    public SocketSource(SocketAddress address, Framing framing, BufferPool pool, int readBufferSize) {
+        this(null, address, framing, pool, readBufferSize);
+        if (address == null) {
+            throw new NullPointerException("address");
+        }
+    }
+
+    private SocketSource(AsynchronousSocketChannel channel, SocketAddress address, Framing framing, BufferPool pool, int readBufferSize) {
+        if (framing == null) {
+            throw new NullPointerException("framing");
+        } else if (pool == null) {
+            throw new NullPointerException("pool");
+        } else if (readBufferSize <= 0) {
+            throw new IllegalArgumentException("readBufferSize");
+        }
+        this.channel = channel;
+        this.address = address;
+        this.framing = framing;
+        this.pool = pool;
+        this.readBufferSize = readBufferSize;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super PooledBuffer> subscriber) {
+        subscriber.onSubscribe(new ReadSubscription(subscriber));
+    }
+
+    private final class ReadSubscription implements DualSubscription, CompletionHandler<Integer, Void> {
+
+        private final Subscriber<? super PooledBuffer> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /**
+         * Holds received bytes. It is ready to read, except while a read is in progress.
+         */
+        private final ByteBuffer input;
+
+        private AsynchronousSocketChannel socket;
+
+        private volatile boolean cancelled;
+        private volatile boolean pending;
+        private volatile boolean endOfStream;
+        private volatile Throwable failure;
+        private boolean done;
+
+        ReadSubscription(Subscriber<? super PooledBuffer> subscriber) {
+            this.subscriber = subscriber;
+            int headroom = framing.headerLength() + framing.trailerLength();
+            this.input = ByteBuffer.allocateDirect(Math.max(readBufferSize, framing.maxFrameLength + headroom)).flip();
+            this.socket = channel;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            for (;;) {
+                long current = requested.get();
+                long next = current + n;
+                if (requested.compareAndSet(current, next < 0 ? Long.MAX_VALUE : next)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            if (wip.getAndIncrement() == 0) {
+                close();
+            }
+        }
+
+        /**
+         * Called when a connection opened by this subscription completes.
+         */
+        private final CompletionHandler<Void, Void> connected = new CompletionHandler<>() {
+            @Override
+            public void completed(Void result, Void attachment) {
+                pending = false;
+                drain();
+            }
+
+            @Override
+            public void failed(Throwable throwable, Void attachment) {
+                ReadSubscription.this.failed(throwable, attachment);
+            }
+        };
+
+        /**
+         * Called when a read completes.
+         */
+        @Override
+        public void completed(Integer bytes, Void attachment) {
+            if (bytes < 0) {
+                endOfStream = true;
+            }
+            input.flip();
+            pending = false;
+            drain();
+        }
+
+        @Override
+        public void failed(Throwable throwable, Void attachment) {
+            failure = throwable;
+            pending = false;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand) {
+                    if (cancelled || done) {
+                        close();
+                        return;
+                    }
+                    if (pending) {
+                        break;
+                    }
+                    if (failure != null) {
+                        fail(failure);
+                        return;
+                    }
+                    PooledBuffer message;
+                    try {
+                        message = nextMessage();
+                    } catch (IOException | RuntimeException e) {
+                        fail(e);
+                        return;
+                    }
+                    if (message != null) {
+                        subscriber.onNext(message);
+                        emitted++;
+                    } else if (endOfStream) {
+                        if (input.hasRemaining()) {
+                            fail(new IOException("Connection closed part way through a frame."));
+                        } else {
+                            done = true;
+                            close();
+                            subscriber.onComplete();
+                        }
+                        return;
+                    } else {
+                        break;
+                    }
+                }
+                if (cancelled) {
+                    close();
+                    return;
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Decodes the next buffered message, starting a connect or read if more bytes are needed.
+         *
+         * @return The message, or <code>null</code> if none is available yet.
+         * @throws IOException if the connection cannot be opened.
+         */
+        private PooledBuffer nextMessage() throws IOException {
+            if (socket == null) {
+                socket = AsynchronousSocketChannel.open();
+                pending = true;
+                socket.connect(address, null, connected);
+                return null;
+            }
+            PooledBuffer message = framing.decode(input, pool);
+            if (message == null && !endOfStream) {
+                input.compact();
+                pending = true;
+                socket.read(input, null, this);
+            }
+            return message;
+        }
+
+        private void fail(Throwable throwable) {
+            done = true;
+            close();
+            subscriber.onError(throwable);
+        }
+
+        private void close() {
+            // A channel source is closed only when cancelled, as a read may still be outstanding on it.
+            if (socket != null && (address != null || cancelled)) {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    // nothing more can be done with the connection.
+                }
+            }
+        }
+    }
+}
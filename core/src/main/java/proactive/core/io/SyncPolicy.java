@@ -0,0 +1,21 @@
+package proactive.core.io;
+
+/**
+ * Specifies when written data is forced to the underlying storage device.
+ */
+public enum SyncPolicy {
+    /**
+     * Data is never explicitly forced, leaving it to the operating system.
+     */
+    NONE,
+
+    /**
+     * Data is forced after each batch is written.
+     */
+    EACH_BATCH,
+
+    /**
+     * Data and metadata are forced once, after the final batch is written.
+     */
+    ON_COMPLETE
+}
@@ -0,0 +1,44 @@
+package proactive.core.management;
+
+/**
+ * Management interface exposing how full the batches of a {@link proactive.core.BatchingPublisher} are, and why
+ * they were sent.
+ */
+public interface BatchStatisticsMXBean {
+
+    /**
+     * @return The total number of batches sent.
+     */
+    long getBatches();
+
+    /**
+     * @return The total number of values sent in batches.
+     */
+    long getValues();
+
+    /**
+     * @return The mean number of values in a batch as a fraction of the maximum batch size, or 0 if none have been
+     * sent.
+     */
+    double getFillRatio();
+
+    /**
+     * @return The number of batches sent because they reached the maximum size.
+     */
+    long getSizeFlushes();
+
+    /**
+     * @return The number of batches sent because they reached the maximum number of bytes.
+     */
+    long getByteFlushes();
+
+    /**
+     * @return The number of batches sent because their first value had lingered for the maximum time.
+     */
+    long getLingerFlushes();
+
+    /**
+     * @return The number of batches sent because the source completed.
+     */
+    long getCompletionFlushes();
+}
@@ -0,0 +1,31 @@
+package proactive.core.management;
+
+import proactive.core.ProactiveDriver;
+import proactive.core.Schedulers;
+
+/**
+ * Counters for all executions made through a single {@link ProactiveDriver}.
+ */
+public class DriverStatistics extends StatementStatistics implements DriverStatisticsMXBean {
+
+    private final String driverType;
+
+    DriverStatistics(ProactiveDriver driver) {
+        this.driverType = driver.getClass().getName();
+    }
+
+    @Override
+    public String getDriverType() {
+        return driverType;
+    }
+
+    @Override
+    public int getTimerQueueDepth() {
+        return Schedulers.timerQueueDepth();
+    }
+
+    @Override
+    public int getSchedulerQueueDepth() {
+        return Schedulers.boundedQueueDepth();
+    }
+}
@@ -0,0 +1,23 @@
+package proactive.core.management;
+
+/**
+ * Management interface exposing runtime statistics for all executions made through a
+ * {@link proactive.core.ProactiveDriver}.
+ */
+public interface DriverStatisticsMXBean extends StatementStatisticsMXBean {
+
+    /**
+     * @return The class name of the {@link proactive.core.ProactiveDriver} implementation.
+     */
+    String getDriverType();
+
+    /**
+     * @return The number of timed tasks waiting on the shared {@link proactive.core.Schedulers#timer() timer}.
+     */
+    int getTimerQueueDepth();
+
+    /**
+     * @return The number of tasks waiting across all bounded {@link proactive.core.Scheduler}s.
+     */
+    int getSchedulerQueueDepth();
+}
@@ -0,0 +1,52 @@
+package proactive.core.management;
+
+/**
+ * Management interface exposing the hit rate and memory use of a {@link proactive.core.DuplicateFilter}.
+ */
+public interface DuplicateFilterStatisticsMXBean {
+
+    /**
+     * @return The name of the filter's strategy.
+     */
+    String getStrategy();
+
+    /**
+     * @return The total number of values dropped as duplicates.
+     */
+    long getDuplicates();
+
+    /**
+     * @return The total number of values passed as not seen before.
+     */
+    long getPassed();
+
+    /**
+     * @return The fraction of values dropped as duplicates, or 0 if none have been checked.
+     */
+    double getHitRate();
+
+    /**
+     * @return The number of keys currently remembered.
+     */
+    long getSize();
+
+    /**
+     * @return The number of keys which may be remembered.
+     */
+    long getCapacity();
+
+    /**
+     * @return The total number of keys forgotten to make room for others, or because they expired.
+     */
+    long getEvictions();
+
+    /**
+     * @return The approximate number of bytes used to remember keys.
+     */
+    long getMemoryBytes();
+
+    /**
+     * @return The configured rate at which values not seen before are wrongly dropped. 0 for exact filters.
+     */
+    double getFalsePositiveRate();
+}
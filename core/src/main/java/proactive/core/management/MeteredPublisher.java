@@ -0,0 +1,161 @@
+package proactive.core.management;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import proactive.core.AdapterSupport.DualSubscription;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * A {@link Publisher} which records the signals passing through it against a {@link DriverStatistics} and a
+ * {@link StatementStatistics} instance.
+ *
+ * @param <T> The value type.
+ */
+final class MeteredPublisher<T> implements Publisher<T> {
+
+    private final Publisher<T> source;
+    private final StatementStatistics driver;
+    private final StatementStatistics statement;
+
+    MeteredPublisher(Publisher<T> source, StatementStatistics driver, StatementStatistics statement) {
+        this.source = source;
+        this.driver = driver;
+        this.statement = statement;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        source.subscribe(new MeteredSubscriber<>(subscriber, driver, statement));
+    }
+
+    static final class MeteredSubscriber<T> implements Subscriber<T>, DualSubscription {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicLongFieldUpdater<MeteredSubscriber> OUTSTANDING =
+                AtomicLongFieldUpdater.newUpdater(MeteredSubscriber.class, "outstanding");
+
+        /**
+         * Marks the subscription as finished, after which no further demand is recorded.
+         */
+        private static final long DONE = Long.MIN_VALUE;
+
+        private final Subscriber<? super T> actual;
+        private final StatementStatistics driver;
+        private final StatementStatistics statement;
+
+        private Subscription upstream;
+
+        /**
+         * The bounded demand that has not yet been delivered, {@link Long#MAX_VALUE} once unbounded or
+         * {@link #DONE} once terminated.
+         */
+        private volatile long outstanding;
+
+        MeteredSubscriber(Subscriber<? super T> actual, StatementStatistics driver, StatementStatistics statement) {
+            this.actual = actual;
+            this.driver = driver;
+            this.statement = statement;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.upstream = subscription;
+            driver.subscribed();
+            statement.subscribed();
+            actual.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            driver.next();
+            statement.next();
+            for (;;) {
+                long current = outstanding;
+                if (current == Long.MAX_VALUE || current <= 0) {
+                    break;
+                }
+                if (OUTSTANDING.compareAndSet(this, current, current - 1)) {
+                    driver.requested(-1);
+                    statement.requested(-1);
+                    break;
+                }
+            }
+            actual.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (finish()) {
+                driver.failed();
+                statement.failed();
+            }
+            actual.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (finish()) {
+                driver.completed();
+                statement.completed();
+            }
+            actual.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n > 0) {
+                for (;;) {
+                    long current = outstanding;
+                    if (current == DONE || current == Long.MAX_VALUE) {
+                        break;
+                    }
+                    long next = current + n;
+                    if (next < 0 || n == Long.MAX_VALUE) {
+                        if (OUTSTANDING.compareAndSet(this, current, Long.MAX_VALUE)) {
+                            driver.requested(-current);
+                            statement.requested(-current);
+                            driver.unbounded(1);
+                            statement.unbounded(1);
+                            break;
+                        }
+                    } else if (OUTSTANDING.compareAndSet(this, current, next)) {
+                        driver.requested(n);
+                        statement.requested(n);
+                        break;
+                    }
+                }
+            }
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            if (finish()) {
+                driver.cancelled();
+                statement.cancelled();
+            }
+            upstream.cancel();
+        }
+
+        /**
+         * Releases any outstanding demand from the counters.
+         *
+         * @return <code>true</code> if this call finished the subscription.
+         */
+        private boolean finish() {
+            long current = OUTSTANDING.getAndSet(this, DONE);
+            if (current == DONE) {
+                return false;
+            } else if (current == Long.MAX_VALUE) {
+                driver.unbounded(-1);
+                statement.unbounded(-1);
+            } else if (current > 0) {
+                driver.requested(-current);
+                statement.requested(-current);
+            }
+            return true;
+        }
+    }
+}
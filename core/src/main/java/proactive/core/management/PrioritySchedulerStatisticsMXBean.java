@@ -0,0 +1,19 @@
+package proactive.core.management;
+
+import java.util.Map;
+
+/**
+ * Management interface exposing the load on a {@link proactive.core.PriorityScheduler}.
+ */
+public interface PrioritySchedulerStatisticsMXBean extends SchedulerStatisticsMXBean {
+
+    /**
+     * @return The number of tasks waiting to run, by {@link proactive.core.Priority} name.
+     */
+    Map<String, Integer> getQueueDepthByPriority();
+
+    /**
+     * @return The total number of tasks run ahead of their turn because they had waited too long.
+     */
+    long getPromotedTasks();
+}
@@ -0,0 +1,32 @@
+package proactive.core.management;
+
+/**
+ * Management interface exposing the load on a bounded {@link proactive.core.Scheduler}.
+ */
+public interface SchedulerStatisticsMXBean {
+
+    /**
+     * @return The number of tasks waiting to run.
+     */
+    int getQueueDepth();
+
+    /**
+     * @return The maximum number of tasks which may wait to run.
+     */
+    int getQueueCapacity();
+
+    /**
+     * @return The number of threads currently running tasks.
+     */
+    int getActiveThreads();
+
+    /**
+     * @return The total number of tasks completed.
+     */
+    long getCompletedTasks();
+
+    /**
+     * @return The total number of tasks rejected because the queue was full.
+     */
+    long getRejectedTasks();
+}
@@ -0,0 +1,98 @@
+package proactive.core.management;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Striped counters backing a {@link StatementStatisticsMXBean}. Updates never contend with each other, and
+ * reads are only paid for by the management client.
+ */
+public class StatementStatistics implements StatementStatisticsMXBean {
+
+    private final LongAdder subscriptions = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder requested = new LongAdder();
+    private final LongAdder unbounded = new LongAdder();
+    private final LongAdder values = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+
+    void subscribed() {
+        subscriptions.increment();
+        inFlight.increment();
+    }
+
+    void requested(long n) {
+        requested.add(n);
+    }
+
+    void unbounded(long delta) {
+        unbounded.add(delta);
+    }
+
+    void next() {
+        values.increment();
+    }
+
+    void completed() {
+        inFlight.decrement();
+        completed.increment();
+    }
+
+    void failed() {
+        inFlight.decrement();
+        errors.increment();
+    }
+
+    void cancelled() {
+        inFlight.decrement();
+        cancelled.increment();
+    }
+
+    @Override
+    public long getSubscriptions() {
+        return subscriptions.sum();
+    }
+
+    @Override
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    @Override
+    public long getRequested() {
+        return requested.sum();
+    }
+
+    @Override
+    public long getUnbounded() {
+        return unbounded.sum();
+    }
+
+    @Override
+    public long getValues() {
+        return values.sum();
+    }
+
+    @Override
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getCancelled() {
+        return cancelled.sum();
+    }
+
+    @Override
+    public double getErrorRate() {
+        long failed = errors.sum();
+        long finished = failed + completed.sum() + cancelled.sum();
+        return finished == 0 ? 0.0 : (double) failed / finished;
+    }
+}
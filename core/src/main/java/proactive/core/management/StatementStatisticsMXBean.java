@@ -0,0 +1,52 @@
+package proactive.core.management;
+
+/**
+ * Management interface exposing runtime statistics for executions of a {@link proactive.core.Statement} type.
+ */
+public interface StatementStatisticsMXBean {
+
+    /**
+     * @return The total number of subscriptions made since statistics were enabled.
+     */
+    long getSubscriptions();
+
+    /**
+     * @return The number of executions that have subscribed but not yet completed, failed or been cancelled.
+     */
+    long getInFlight();
+
+    /**
+     * @return The amount of bounded demand which has been requested but not yet delivered.
+     */
+    long getRequested();
+
+    /**
+     * @return The number of in-flight executions which have requested unbounded demand.
+     */
+    long getUnbounded();
+
+    /**
+     * @return The total number of <code>onNext</code> signals delivered.
+     */
+    long getValues();
+
+    /**
+     * @return The total number of executions which sent <code>onComplete</code>.
+     */
+    long getCompleted();
+
+    /**
+     * @return The total number of executions which sent <code>onError</code>.
+     */
+    long getErrors();
+
+    /**
+     * @return The total number of executions which were cancelled before terminating.
+     */
+    long getCancelled();
+
+    /**
+     * @return The ratio of errors to finished executions, between <code>0.0</code> and <code>1.0</code>.
+     */
+    double getErrorRate();
+}
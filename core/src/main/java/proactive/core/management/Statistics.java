@@ -0,0 +1,145 @@
+package proactive.core.management;
+
+import proactive.core.Context;
+import proactive.core.ProactiveDriver;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Publishes runtime statistics for the active {@link ProactiveDriver} and each executed statement type as JMX
+ * MBeans, under the <code>proactive</code> domain.
+ * <p>
+ * Statistics are disabled by default. They can be enabled by calling {@link #enable()}, or by starting the JVM
+ * with the <code>proactive.statistics=true</code> system property.
+ */
+public final class Statistics {
+
+    /**
+     * The JMX domain all MBeans are registered under.
+     */
+    public static final String DOMAIN = "proactive";
+
+    private static final ConcurrentMap<Class<?>, DriverStatistics> drivers = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Class<?>, StatementStatistics> statements = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = Boolean.getBoolean("proactive.statistics");
+
+    private Statistics() {
+    }
+
+    /**
+     * Enables statistics collection and registers the MBean for the default {@link ProactiveDriver}.
+     */
+    public static void enable() {
+        enabled = true;
+        forDriver(ProactiveDriver.defaultDriver());
+    }
+
+    /**
+     * Stops collecting statistics for new executions. Registered MBeans remain available.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * @return <code>true</code> if statistics are being collected.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Retrieves the statistics for the specified {@link ProactiveDriver}, registering the MBean if necessary.
+     *
+     * @param driver The driver.
+     * @return The {@link DriverStatistics}.
+     */
+    public static DriverStatistics forDriver(ProactiveDriver driver) {
+        return drivers.computeIfAbsent(driver.getClass(), type -> {
+            DriverStatistics statistics = new DriverStatistics(driver);
+            register(objectName("Driver", type.getName()), statistics);
+            return statistics;
+        });
+    }
+
+    /**
+     * Retrieves the statistics for the specified statement type, registering the MBean if necessary.
+     *
+     * @param statementType The statement class.
+     * @return The {@link StatementStatistics}.
+     */
+    public static StatementStatistics forStatement(Class<?> statementType) {
+        return statements.computeIfAbsent(statementType, type -> {
+            StatementStatistics statistics = new StatementStatistics();
+            register(objectName("Statement", type.getName()), statistics);
+            return statistics;
+        });
+    }
+
+    /**
+     * Wraps the {@link Context} so that executions are recorded against the driver and statement statistics.
+     *
+     * @param driver The driver executing the context.
+     * @param statementType The type of statement which produced the context.
+     * @param context The context to meter.
+     * @param <T> The value type.
+     * @return The metered {@link Context}.
+     */
+    public static <T> Context<T> meter(ProactiveDriver driver, Class<?> statementType, Context<T> context) {
+        return driver.toContext(new MeteredPublisher<>(driver.toPublisher(context), forDriver(driver), forStatement(statementType)));
+    }
+
+    /**
+     * Creates the {@link ObjectName} for an MBean in the {@link #DOMAIN}.
+     *
+     * @param type The MBean type.
+     * @param name The MBean name.
+     * @return The {@link ObjectName}.
+     */
+    public static ObjectName objectName(String type, String name) {
+        try {
+            return new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+        } catch (JMException e) {
+            throw new IllegalArgumentException(name, e);
+        }
+    }
+
+    /**
+     * Registers an MBean with the platform MBean server. An existing registration under the same name is kept.
+     *
+     * @param name The {@link ObjectName}.
+     * @param mbean The MBean instance.
+     */
+    public static void register(ObjectName name, Object mbean) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, name);
+        } catch (InstanceAlreadyExistsException e) {
+            // already published by another class loader or a previous registration.
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register MBean " + name, e);
+        }
+    }
+
+    /**
+     * Unregisters an MBean from the platform MBean server, if it is registered.
+     *
+     * @param name The {@link ObjectName}.
+     */
+    public static void unregister(ObjectName name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (InstanceNotFoundException e) {
+            // already unregistered.
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to unregister MBean " + name, e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package proactive.statements;
+
+import proactive.core.BaseStatement;
+import proactive.core.BatchStatistics;
+import proactive.core.BatchingPublisher;
+import proactive.core.Context;
+import proactive.core.Statement;
+import proactive.core.management.BatchStatisticsMXBean;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link Statement} which groups the values of another {@link Statement} into lists, so that following steps can
+ * use bulk APIs. For example:
+ * <code>
+ * Batch.of(events)
+ *     .size(500)
+ *     .linger(Duration.ofMillis(20))
+ *     .then(batch -&gt; Try.to(() -&gt; store.writeAll(batch)))
+ *     ...
+ * </code>
+ * A batch is sent when it holds {@link #size(int) size} values or {@link #maxBytes(long, ToLongFunction) maxBytes}
+ * bytes, when its first value has waited for the {@link #linger(Duration) linger} time, or when the source
+ * completes. Each setting returns a new {@link Batch}, with its own {@link #statistics() statistics}.
+ *
+ * @param <O> The value type.
+ * @see BatchingPublisher
+ */
+public class Batch<O> extends BaseStatement<List<O>> {
+
+    /**
+     * Creates a {@link Batch} of the values of the provided {@link Statement}, of up to
+     * {@link BatchingPublisher#DEFAULT_SIZE} values, without lingering or a byte limit.
+     *
+     * @param statement The statement providing values.
+     * @param <O> The value type.
+     * @return The {@link Batch} statement.
+     */
+    public static <O> Batch<O> of(Statement<O> statement) {
+        return new Batch<>(statement, BatchingPublisher.DEFAULT_SIZE, 0, 0, null);
+    }
+
+    private final Statement<O> values;
+    private final int size;
+    private final long lingerNanos;
+    private final long maxBytes;
+    private final ToLongFunction<? super O> weigher;
+    private final BatchStatistics statistics;
+
+    private Batch(Statement<O> values, int size, long lingerNanos, long maxBytes, ToLongFunction<? super O> weigher) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size");
+        } else if (lingerNanos < 0) {
+            throw new IllegalArgumentException("linger");
+        } else if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes");
+        }
+        this.values = values;
+        this.size = size;
+        this.lingerNanos = lingerNanos;
+        this.maxBytes = maxBytes;
+        this.weigher = weigher;
+        this.statistics = new BatchStatistics(size);
+    }
+
+    /**
+     * @param size The maximum number of values in a batch.
+     * @return The new {@link Batch} statement.
+     */
+    public Batch<O> size(int size) {
+        return new Batch<>(values, size, lingerNanos, maxBytes, weigher);
+    }
+
+    /**
+     * @param linger The longest time the first value of a batch waits before the batch is sent. Zero waits until
+     *               the batch is full.
+     * @return The new {@link Batch} statement.
+     */
+    public Batch<O> linger(Duration linger) {
+        return new Batch<>(values, size, linger.toNanos(), maxBytes, weigher);
+    }
+
+    /**
+     * @param maxBytes The maximum number of bytes in a batch. A single value larger than this is sent alone.
+     * @param weigher Provides the number of bytes of each value.
+     * @return The new {@link Batch} statement.
+     */
+    public Batch<O> maxBytes(long maxBytes, ToLongFunction<? super O> weigher) {
+        if (weigher == null) {
+            throw new NullPointerException("weigher");
+        }
+        return new Batch<>(values, size, lingerNanos, maxBytes, weigher);
+    }
+
+    /**
+     * @return The fill ratio and flush reasons of the batches sent by every execution of this statement.
+     */
+    public BatchStatisticsMXBean statistics() {
+        return statistics;
+    }
+
+    @Override
+    public Context<List<O>> get() {
+        return driver().toContext(new BatchingPublisher<>(driver().toPublisher(values.get()), size,
+                lingerNanos, maxBytes, weigher, statistics));
+    }
+}
@@ -1,17 +1,17 @@
 package proactive.statements;
 
+import proactive.core.ArraySource;
 import proactive.core.Context;
 import proactive.core.BaseStatement;
 import proactive.core.Util;
 import proactive.core.Statement;
 
+import java.time.Duration;
 import java.util.concurrent.Flow;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
-import static proactive.core.ProactiveDriver.defaultDriver;
-
 /**
  * Defines an {@link Check} > {@link Then then}/{@link Then.Otherwise otherwise} {@link Statement}.
  *
@@ -65,6 +65,37 @@ public class Check<I> {
         return new Matches<>(this.value, (isValue) -> !Util.areEqual(isValue, value));
     }
 
+    /**
+     * Only checks the newest value whenever the next stage is ready for another, dropping any which arrived in
+     * between.
+     *
+     * @return The new {@link Check} instance.
+     * @see proactive.core.CoalescingPublisher#latest(org.reactivestreams.Publisher)
+     */
+    public Check<I> latest() {
+        return new Check<>(Coalesced.latest(value));
+    }
+
+    /**
+     * Only checks the newest value once per <code>period</code>.
+     *
+     * @param period The sampling period.
+     * @return The new {@link Check} instance.
+     */
+    public Check<I> sampled(Duration period) {
+        return new Check<>(Coalesced.sample(value, period));
+    }
+
+    /**
+     * Only checks the newest value once no other has arrived for the <code>timeout</code>.
+     *
+     * @param timeout The quiet time.
+     * @return The new {@link Check} instance.
+     */
+    public Check<I> debounced(Duration timeout) {
+        return new Check<>(Coalesced.debounce(value, timeout));
+    }
+
     /**
      * Defines what happens if the value matches the predicate.
      *
@@ -82,7 +113,7 @@ public class Check<I> {
      * @return The
      */
     public <O> Then<I, O> then(Statement<O> statement) {
-        return then(value -> statement);
+        return then(Optimizer.<I, O>sending(statement));
     }
 
     /**
@@ -123,7 +154,7 @@ public class Check<I> {
          * @return The new {@link Check.Then} instance.
          */
         public <O> Then<I, O> then(Statement<O> send) {
-            return then(value -> send);
+            return then(Optimizer.<I, O>sending(send));
         }
     }
 
@@ -170,23 +201,45 @@ public class Check<I> {
          * @return The {@link Otherwise} instance.
          */
         public Otherwise<X, Y> otherwise(Statement<Y> send) {
-            return otherwise(value -> send);
+            return otherwise(Optimizer.<X, Y>sending(send));
         }
 
         /**
+         * The values of an array-backed {@link The} are checked a chunk at a time, and only those which pass are
+         * sent to the <code>then</code> function.
+         *
          * @return The {@link Flow.Publisher} result.
          */
         @Override
+        @SuppressWarnings("unchecked")
         public Context<Y> get() {
-            return defaultDriver().flatMap(value.get(), next -> {
+            ArraySource<X> array = value instanceof The ? ((The<X>) value).array() : null;
+            if (array != null) {
+                return driver().flatMap(driver().toContext(array.filter(Wait.releasingUnmatched(predicate))),
+                        next -> then.apply(next).get());
+            }
+            return driver().flatMap(value.get(), next -> {
                 if (predicate.test(next)) {
                     return then.apply(next).get();
                 } else {
-                    return defaultDriver().empty();
+                    Util.release(next);
+                    return driver().empty();
                 }
             });
         }
 
+        /**
+         * Optimizes the checked statement and the statement sent when the check passes.
+         *
+         * @return The optimized {@link Statement}.
+         */
+        @Override
+        public Statement<Y> optimize() {
+            Statement<X> value = this.value.optimize();
+            Function<? super X, Statement<Y>> then = Optimizer.optimize(this.then);
+            return value == this.value && then == this.then ? this : new Then<>(value, predicate, then);
+        }
+
         /**
          * Provides the {@link Function} or {@link Flow.Publisher} {@link Supplier} to perform if the check does not pass.
          * The output type of the {@link Otherwise} must match that specified in the previous {@link Then}.
@@ -225,7 +278,7 @@ public class Check<I> {
              */
             @Override
             public Context<Y> get() {
-                return defaultDriver().flatMap(value.get(), next -> {
+                return driver().flatMap(value.get(), next -> {
                     if (predicate.test(next)) {
                         return then.apply(next).get();
                     } else {
@@ -233,6 +286,23 @@ public class Check<I> {
                     }
                 });
             }
+
+            /**
+             * Drops the check altogether when both branches send the same {@link Statement}.
+             *
+             * @return The optimized {@link Statement}.
+             */
+            @Override
+            public Statement<Y> optimize() {
+                Statement<X> value = this.value.optimize();
+                Function<? super X, Statement<Y>> then = Optimizer.optimize(this.then);
+                if (Optimizer.same(this.then, otherwise)) {
+                    return Try.resolving(value).then(then);
+                }
+                Function<? super X, Statement<Y>> otherwise = Optimizer.optimize(this.otherwise);
+                return value == this.value && then == this.then && otherwise == this.otherwise
+                        ? this : new Otherwise<>(value, predicate, then, otherwise);
+            }
         }
 
     }
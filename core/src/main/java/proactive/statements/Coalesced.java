@@ -0,0 +1,45 @@
+package proactive.statements;
+
+import org.reactivestreams.Publisher;
+import proactive.core.BaseStatement;
+import proactive.core.CoalescingPublisher;
+import proactive.core.Context;
+import proactive.core.Statement;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * A {@link Statement} which coalesces the values of another with a {@link CoalescingPublisher}.
+ *
+ * @param <O> The value type.
+ * @see Wait#latest()
+ * @see Check#latest()
+ */
+final class Coalesced<O> extends BaseStatement<O> {
+
+    static <O> Coalesced<O> latest(Statement<O> statement) {
+        return new Coalesced<>(statement, CoalescingPublisher::latest);
+    }
+
+    static <O> Coalesced<O> sample(Statement<O> statement, Duration period) {
+        return new Coalesced<>(statement, source -> CoalescingPublisher.sample(source, period));
+    }
+
+    static <O> Coalesced<O> debounce(Statement<O> statement, Duration timeout) {
+        return new Coalesced<>(statement, source -> CoalescingPublisher.debounce(source, timeout));
+    }
+
+    private final Statement<O> statement;
+    private final Function<Publisher<O>, Publisher<O>> coalesce;
+
+    private Coalesced(Statement<O> statement, Function<Publisher<O>, Publisher<O>> coalesce) {
+        this.statement = statement;
+        this.coalesce = coalesce;
+    }
+
+    @Override
+    public Context<O> get() {
+        return driver().toContext(coalesce.apply(driver().toPublisher(statement.get())));
+    }
+}
@@ -0,0 +1,147 @@
+package proactive.statements;
+
+import proactive.core.BaseStatement;
+import proactive.core.Context;
+import proactive.core.DuplicateFilter;
+import proactive.core.Statement;
+import proactive.core.Util;
+import proactive.core.management.DuplicateFilterStatisticsMXBean;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Defines a {@link Distinct} > {@link By by} > strategy {@link Statement}, which sends the values of another
+ * {@link Statement} whose key has not been seen before, and drops the rest. Keys are remembered in a
+ * {@link DuplicateFilter} of bounded size, so memory does not grow with the number of values. For example:
+ * <code>
+ * Distinct.of(events)
+ *     .by(event -&gt; event.id)
+ *     .expiring(Duration.ofMinutes(5), 100_000)
+ *     .now(event -&gt; Try.to(...));
+ * </code>
+ * The filter belongs to the statement, so keys seen by one execution are remembered by the next.
+ *
+ * @param <O> The value type.
+ * @see DuplicateFilter
+ */
+public class Distinct<O> extends BaseStatement<O> {
+
+    /**
+     * Creates a {@link Distinct} for the values of the provided {@link Statement}.
+     *
+     * @param statement The statement providing values.
+     * @param <O> The value type.
+     * @return The {@link By} instance, keyed by the values themselves.
+     */
+    public static <O> By<O> of(Statement<O> statement) {
+        return new By<>(statement, Function.identity());
+    }
+
+    private final Statement<O> values;
+    private final Function<? super O, ?> key;
+    private final DuplicateFilter<Object> filter;
+
+    private Distinct(Statement<O> values, Function<? super O, ?> key, DuplicateFilter<Object> filter) {
+        this.values = values;
+        this.key = key;
+        this.filter = filter;
+    }
+
+    /**
+     * @return The hit rate and memory use of this statement's {@link DuplicateFilter}.
+     */
+    public DuplicateFilterStatisticsMXBean statistics() {
+        return filter;
+    }
+
+    @Override
+    public Context<O> get() {
+        return driver().filter(values.get(), value -> {
+            if (filter.firstSeen(key.apply(value))) {
+                return true;
+            }
+            Util.release(value);
+            return false;
+        });
+    }
+
+    /**
+     * Defines the key and strategy of a {@link Distinct} statement.
+     *
+     * @param <O> The value type.
+     */
+    public static class By<O> {
+
+        private final Statement<O> values;
+        private final Function<? super O, ?> key;
+
+        private By(Statement<O> values, Function<? super O, ?> key) {
+            this.values = values;
+            this.key = key;
+        }
+
+        /**
+         * Specifies the key values are compared by.
+         *
+         * @param key Provides the key of each value. May not return <code>null</code>.
+         * @return The new {@link By} instance.
+         */
+        public By<O> by(Function<? super O, ?> key) {
+            if (key == null) {
+                throw new NullPointerException("key");
+            }
+            return new By<>(values, key);
+        }
+
+        /**
+         * Remembers the <code>maxSize</code> most recently seen keys exactly.
+         *
+         * @param maxSize The maximum number of keys to remember.
+         * @return The {@link Distinct} statement.
+         * @see DuplicateFilter#lru(int)
+         */
+        public Distinct<O> lru(int maxSize) {
+            return using(DuplicateFilter.lru(maxSize));
+        }
+
+        /**
+         * Remembers each key exactly for the <code>ttl</code> after it was first seen.
+         *
+         * @param ttl How long to remember each key.
+         * @param maxSize The maximum number of keys to remember.
+         * @return The {@link Distinct} statement.
+         * @see DuplicateFilter#expiring(Duration, int)
+         */
+        public Distinct<O> expiring(Duration ttl, int maxSize) {
+            return using(DuplicateFilter.expiring(ttl, maxSize));
+        }
+
+        /**
+         * Remembers roughly the <code>capacity</code> most recently seen keys in fixed memory, dropping values
+         * not seen before at the <code>falsePositiveRate</code>.
+         *
+         * @param capacity The number of keys to remember.
+         * @param falsePositiveRate The rate at which values not seen before are dropped.
+         * @return The {@link Distinct} statement.
+         * @see DuplicateFilter#bloom(int, double)
+         */
+        public Distinct<O> bloom(int capacity, double falsePositiveRate) {
+            return using(DuplicateFilter.bloom(capacity, falsePositiveRate));
+        }
+
+        /**
+         * Remembers keys in the provided {@link DuplicateFilter}, which may be shared with other statements.
+         *
+         * @param filter The {@link DuplicateFilter}.
+         * @return The {@link Distinct} statement.
+         */
+        @SuppressWarnings("unchecked")
+        public Distinct<O> using(DuplicateFilter<?> filter) {
+            if (filter == null) {
+                throw new NullPointerException("filter");
+            }
+            return new Distinct<>(values, key, (DuplicateFilter<Object>) filter);
+        }
+    }
+}
@@ -7,11 +7,10 @@ import proactive.core.Statement;
 
 import java.util.function.Supplier;
 
-import static proactive.core.ProactiveDriver.defaultDriver;
-
 /**
  * A {@link Statement} requiring that only the first value is sent onwards.
- * It may complete before a value is sent without error.
+ * It may complete before a value is sent without error. The source is cancelled once the first value arrives,
+ * so {@link proactive.core.ReferenceCounted} values are never dropped here.
  *
  * @param <O> the value type.
  */
@@ -55,6 +54,20 @@ public class First<O> extends BaseStatement<O> {
 
     @Override
     public Context<O> get() {
-        return defaultDriver().first(source.get());
+        return driver().first(source.get());
+    }
+
+    /**
+     * Removes this stage if the source already sends at most one value.
+     *
+     * @return The optimized {@link Statement}.
+     */
+    @Override
+    public Statement<O> optimize() {
+        Statement<O> source = this.source.optimize();
+        if (Optimizer.isSingle(source)) {
+            return source;
+        }
+        return source == this.source ? this : new First<>(source);
     }
 }
@@ -0,0 +1,79 @@
+package proactive.statements;
+
+import proactive.core.Context;
+import proactive.core.Statement;
+import proactive.core.Util;
+
+import java.util.function.Function;
+
+/**
+ * The rewrites shared by the {@link Statement#optimize()} implementations of the statements in this package.
+ */
+final class Optimizer {
+
+    private Optimizer() {
+    }
+
+    /**
+     * @param statement An optimized {@link Statement}.
+     * @return <code>true</code> if it is known to send at most one value.
+     */
+    static boolean isSingle(Statement<?> statement) {
+        if (statement instanceof The) {
+            Context<?> context = ((The<?>) statement).get();
+            return context != null && context.cardinality().isSingle();
+        }
+        return statement instanceof First || statement instanceof Wait || statement instanceof Wait.WaitUntilMatches
+                || statement instanceof Wait.WaitUntilAny || statement instanceof Wait.WaitUntilAll
+                || statement instanceof Waits.Pending;
+    }
+
+    /**
+     * @param statement The {@link Statement} to send.
+     * @param <X> The input type.
+     * @param <Y> The output type.
+     * @return A {@link Function} sending the {@link Statement} whatever its input, which the optimizer can see
+     * through. The input is {@link Util#release(Object) released}, since nothing else will see it.
+     */
+    static <X, Y> Function<X, Statement<Y>> sending(Statement<Y> statement) {
+        return new Sending<>(statement);
+    }
+
+    /**
+     * @return <code>true</code> if both functions are known to send the same statements.
+     */
+    static boolean same(Function<?, ?> a, Function<?, ?> b) {
+        return a == b || a instanceof Sending && b instanceof Sending
+                && ((Sending<?, ?>) a).statement == ((Sending<?, ?>) b).statement;
+    }
+
+    /**
+     * @param function A function provided to a statement.
+     * @param <X> The input type.
+     * @param <Y> The output type.
+     * @return The function, sending the optimized statement if it is one from {@link #sending(Statement)}.
+     */
+    @SuppressWarnings("unchecked")
+    static <X, Y> Function<? super X, Statement<Y>> optimize(Function<? super X, Statement<Y>> function) {
+        if (function instanceof Sending) {
+            Statement<Y> statement = ((Sending<X, Y>) function).statement;
+            Statement<Y> optimized = statement.optimize();
+            return optimized == statement ? function : new Sending<>(optimized);
+        }
+        return function;
+    }
+
+    private static final class Sending<X, Y> implements Function<X, Statement<Y>> {
+        private final Statement<Y> statement;
+
+        private Sending(Statement<Y> statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        public Statement<Y> apply(X value) {
+            Util.release(value);
+            return statement;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package proactive.statements;
+
+import proactive.core.BaseStatement;
+import proactive.core.Context;
+import proactive.core.ProactiveDriver;
+import proactive.core.Scheduler;
+import proactive.core.Schedulers;
+import proactive.core.Statement;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Defines a {@link Parallel} > {@link Then then} {@link Statement}, which evaluates the {@link Statement} for each
+ * value of another {@link Statement} as a separate task on the {@link Schedulers#forkJoin() fork-join} scheduler,
+ * and sends the results onwards in the order of the values they came from.
+ * <p>
+ * If the values come from {@link The#series(Object[]) The.series}, they are split into chunks, and each chunk is
+ * evaluated as one task, so that large series are not split into more tasks than is useful. Otherwise each value
+ * is its own task. For example:
+ * <code>
+ * Parallel.of(The.series(rules))
+ *     .then(rule -> Check.that(The.value(rule)).matches(...).then(...))
+ *     .now(result -> System.out.println(result));
+ * </code>
+ * <p>
+ * This suits CPU-bound statements. Statements which block should use
+ * {@link Try#thenBlocking(Try.Call) thenBlocking} instead.
+ *
+ * @param <I> The type of value being evaluated.
+ */
+public class Parallel<I> {
+
+    /**
+     * The number of chunks a series is split into per thread, by default. More chunks than threads lets idle
+     * threads steal work from busy ones.
+     */
+    public static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Creates a {@link Parallel} for the values of the provided {@link Statement}.
+     *
+     * @param statement The statement providing values.
+     * @param <I> The value type.
+     * @return The {@link Parallel} instance.
+     */
+    public static <I> Parallel<I> of(Statement<I> statement) {
+        return new Parallel<>(statement, Schedulers.forkJoin(), ForkJoinPool.getCommonPoolParallelism(), 0);
+    }
+
+    private final Statement<I> values;
+    private final Scheduler scheduler;
+    private final int parallelism;
+    private final int chunkSize;
+
+    private Parallel(Statement<I> values, Scheduler scheduler, int parallelism, int chunkSize) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism");
+        } else if (chunkSize < 0) {
+            throw new IllegalArgumentException("chunkSize");
+        }
+        this.values = values;
+        this.scheduler = scheduler;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Specifies the {@link Scheduler} tasks run on. By default this is {@link Schedulers#forkJoin()}.
+     *
+     * @param scheduler The {@link Scheduler}.
+     * @return The new {@link Parallel} instance.
+     */
+    public Parallel<I> on(Scheduler scheduler) {
+        return new Parallel<>(values, scheduler, parallelism, chunkSize);
+    }
+
+    /**
+     * Specifies the maximum number of tasks running at once. By default this is the common pool's parallelism.
+     *
+     * @param parallelism The number of tasks.
+     * @return The new {@link Parallel} instance.
+     */
+    public Parallel<I> parallelism(int parallelism) {
+        return new Parallel<>(values, scheduler, parallelism, chunkSize);
+    }
+
+    /**
+     * Specifies the number of series values evaluated by each task. By default a series is split into
+     * {@link #CHUNKS_PER_THREAD} chunks per thread.
+     *
+     * @param chunkSize The number of values per task.
+     * @return The new {@link Parallel} instance.
+     */
+    public Parallel<I> chunk(int chunkSize) {
+        return new Parallel<>(values, scheduler, parallelism, chunkSize);
+    }
+
+    /**
+     * Defines the {@link Statement} each value is evaluated with.
+     *
+     * @param execute Provides the {@link Statement} for a value. It is called on the task's thread.
+     * @param <O> The type of value produced.
+     * @return The {@link Then} {@link Statement}.
+     */
+    public <O> Then<I, O> then(Function<? super I, Statement<O>> execute) {
+        return new Then<>(this, execute);
+    }
+
+    /**
+     * A {@link Statement} evaluating each value as a parallel task.
+     *
+     * @param <I> The type of value being evaluated.
+     * @param <O> The type of value produced.
+     */
+    public static class Then<I, O> extends BaseStatement<O> {
+
+        private final Parallel<I> parallel;
+        private final Function<? super I, Statement<O>> execute;
+
+        private Then(Parallel<I> parallel, Function<? super I, Statement<O>> execute) {
+            if (execute == null) {
+                throw new NullPointerException("execute");
+            }
+            this.parallel = parallel;
+            this.execute = execute;
+        }
+
+        @Override
+        public Context<O> get() {
+            ProactiveDriver driver = driver();
+            I[] series = parallel.values instanceof The ? ((The<I>) parallel.values).values() : null;
+            if (series == null) {
+                return driver.flatMapSequential(parallel.values.get(),
+                        value -> task(driver, driver.just(value)), parallel.parallelism);
+            }
+            int chunkSize = parallel.chunkSize > 0 ? parallel.chunkSize
+                    : Math.max(1, -Math.floorDiv(-series.length, parallel.parallelism * CHUNKS_PER_THREAD));
+            Integer[] starts = new Integer[(series.length + chunkSize - 1) / chunkSize];
+            for (int i = 0; i < starts.length; i++) {
+                starts[i] = i * chunkSize;
+            }
+            return driver.flatMapSequential(driver.just(starts), start -> task(driver,
+                    driver.just(Arrays.copyOfRange(series, start, Math.min(start + chunkSize, series.length)))),
+                    parallel.parallelism);
+        }
+
+        /**
+         * Evaluates the values in order as a single task. The {@link Statement} for each value is only created
+         * once the task is running.
+         */
+        private Context<O> task(ProactiveDriver driver, Context<I> values) {
+            return driver.subscribeOn(driver.flatMapSequential(values, value -> statement(driver, value).get(), 1),
+                    parallel.scheduler);
+        }
+
+        /**
+         * Creates the {@link Statement} for a value with this statement's driver bound, as tasks run on the
+         * scheduler's threads rather than the one which built this statement.
+         */
+        private Statement<O> statement(ProactiveDriver driver, I value) {
+            ProactiveDriver.Find.Scope scope = ProactiveDriver.Find.bind(driver);
+            try {
+                return execute.apply(value);
+            } finally {
+                scope.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package proactive.statements;
+
+import proactive.core.BaseStatement;
+import proactive.core.Context;
+import proactive.core.PartitionedPublisher;
+import proactive.core.ProactiveDriver;
+import proactive.core.Scheduler;
+import proactive.core.Schedulers;
+import proactive.core.Statement;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Defines a {@link Partitioned} > {@link By by} > {@link Then then} {@link Statement}, which processes the values
+ * of another {@link Statement} on a fixed set of single-threaded {@link Schedulers#eventLoops() event loops}, with
+ * every value for the same key handled by the same thread, one at a time and in order.
+ * <p>
+ * State kept per key, such as the last reading of each device, is only ever touched by one thread and needs no
+ * locks. For example:
+ * <code>
+ * Partitioned.of(readings)
+ *     .by(reading -> reading.deviceId)
+ *     .then(reading -> Wait.until(...))
+ *     .now(alert -> System.out.println(alert));
+ * </code>
+ *
+ * @param <I> The type of value being partitioned.
+ * @see PartitionedPublisher
+ */
+public class Partitioned<I> {
+
+    /**
+     * Creates a {@link Partitioned} for the values of the provided {@link Statement}.
+     *
+     * @param statement The statement providing values.
+     * @param <I> The value type.
+     * @return The {@link Partitioned} instance.
+     */
+    public static <I> Partitioned<I> of(Statement<I> statement) {
+        return new Partitioned<>(statement);
+    }
+
+    private final Statement<I> values;
+
+    private Partitioned(Statement<I> values) {
+        this.values = values;
+    }
+
+    /**
+     * Specifies the key each value is partitioned by.
+     *
+     * @param key Provides the key of a value. Keys should have a well-distributed {@link Object#hashCode()}.
+     * @return The {@link By} instance.
+     */
+    public By<I> by(Function<? super I, ?> key) {
+        if (key == null) {
+            throw new NullPointerException("key");
+        }
+        return new By<>(values, key, Schedulers.eventLoops(), PartitionedPublisher.DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Defines how values are partitioned.
+     *
+     * @param <I> The type of value being partitioned.
+     */
+    public static class By<I> {
+
+        private final Statement<I> values;
+        private final Function<? super I, ?> key;
+        private final List<Scheduler> loops;
+        private final int prefetch;
+
+        private By(Statement<I> values, Function<? super I, ?> key, List<Scheduler> loops, int prefetch) {
+            this.values = values;
+            this.key = key;
+            this.loops = loops;
+            this.prefetch = prefetch;
+        }
+
+        /**
+         * Specifies the event loops to partition over, such as those created by
+         * {@link Schedulers#newEventLoops(String, int, int)}. By default the shared loops are used, one per
+         * processor.
+         *
+         * @param loops The event loops.
+         * @return The new {@link By} instance.
+         */
+        public By<I> on(List<Scheduler> loops) {
+            return new By<>(values, key, loops, prefetch);
+        }
+
+        /**
+         * Specifies the maximum number of values in flight at once. Each loop's queue holds this many values.
+         *
+         * @param prefetch The number of values.
+         * @return The new {@link By} instance.
+         */
+        public By<I> prefetch(int prefetch) {
+            return new By<>(values, key, loops, prefetch);
+        }
+
+        /**
+         * Defines the {@link Statement} each value is sent to. The function is called on the value's loop, and the
+         * next value for that loop is not sent until the returned {@link Statement} has completed.
+         *
+         * @param execute Provides the {@link Statement} for a value.
+         * @param <O> The type of value produced.
+         * @return The {@link Then} {@link Statement}.
+         */
+        public <O> Then<I, O> then(Function<? super I, Statement<O>> execute) {
+            return new Then<>(this, execute);
+        }
+    }
+
+    /**
+     * A {@link Statement} sending each value to a {@link Statement} on the value's partition.
+     *
+     * @param <I> The type of value being partitioned.
+     * @param <O> The type of value produced.
+     */
+    public static class Then<I, O> extends BaseStatement<O> {
+
+        private final By<I> by;
+        private final Function<? super I, Statement<O>> execute;
+
+        private Then(By<I> by, Function<? super I, Statement<O>> execute) {
+            if (execute == null) {
+                throw new NullPointerException("execute");
+            }
+            this.by = by;
+            this.execute = execute;
+        }
+
+        @Override
+        public Context<O> get() {
+            ProactiveDriver driver = driver();
+            return driver.toContext(new PartitionedPublisher<>(driver.toPublisher(by.values.get()),
+                    by.key, value -> driver.toPublisher(statement(driver, value).get()), by.loops, by.prefetch));
+        }
+
+        /**
+         * Creates the {@link Statement} for a value with this statement's driver bound, as values are evaluated on
+         * the partitions' event loops rather than the thread which built this statement.
+         */
+        private Statement<O> statement(ProactiveDriver driver, I value) {
+            ProactiveDriver.Find.Scope scope = ProactiveDriver.Find.bind(driver);
+            try {
+                return execute.apply(value);
+            } finally {
+                scope.close();
+            }
+        }
+    }
+}
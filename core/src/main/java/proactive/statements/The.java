@@ -1,10 +1,24 @@
 package proactive.statements;
 
 import org.reactivestreams.Publisher;
-import proactive.core.Context;
+import proactive.core.ArraySource;
 import proactive.core.BaseStatement;
+import proactive.core.Cardinality;
+import proactive.core.Context;
+import proactive.core.EmitterPublisher;
 import proactive.core.Statement;
+import proactive.core.io.BufferPool;
+import proactive.core.io.FileChunkPublisher;
+import proactive.core.io.Framing;
+import proactive.core.io.MappedRecordPublisher;
+import proactive.core.io.PooledBuffer;
+import proactive.core.io.SocketSource;
 
+import java.net.SocketAddress;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.concurrent.Flow;
 import java.util.function.Supplier;
 
@@ -24,8 +38,9 @@ public class The<O> extends BaseStatement<O> {
      * @param <O> The value type.
      * @return The {@link The} instance.
      */
+    @SuppressWarnings("unchecked")
     public static <O> The<O> value(O of) {
-        return new The<>(defaultDriver().just(of));
+        return new The<>(defaultDriver().just(of), (O[]) (of == null ? new Object[0] : new Object[] {of}));
     }
 
     /**
@@ -37,7 +52,51 @@ public class The<O> extends BaseStatement<O> {
      */
     @SafeVarargs
     public static <O> The<O> series(O... ofValues) {
-        return new The<>(defaultDriver().just(ofValues));
+        return of(ofValues);
+    }
+
+    /**
+     * Returns a {@link Statement} that will send each <code>int</code> as an individual <code>onNext</code> signal.
+     * The values stay unboxed until they are sent, and statements checking them scan them a chunk at a time.
+     *
+     * @param ofValues The values.
+     * @return The {@link The} instance.
+     * @see ArraySource
+     */
+    public static The<Integer> ints(int... ofValues) {
+        return of(ArraySource.ofInts(ofValues));
+    }
+
+    /**
+     * Returns a {@link Statement} that will send each <code>long</code> as an individual <code>onNext</code> signal.
+     * The values stay unboxed until they are sent, and statements checking them scan them a chunk at a time.
+     *
+     * @param ofValues The values.
+     * @return The {@link The} instance.
+     * @see ArraySource
+     */
+    public static The<Long> longs(long... ofValues) {
+        return of(ArraySource.ofLongs(ofValues));
+    }
+
+    /**
+     * Returns a {@link Statement} that will send each <code>double</code> as an individual <code>onNext</code>
+     * signal. The values stay unboxed until they are sent, and statements checking them scan them a chunk at a time.
+     *
+     * @param ofValues The values.
+     * @return The {@link The} instance.
+     * @see ArraySource
+     */
+    public static The<Double> doubles(double... ofValues) {
+        return of(ArraySource.ofDoubles(ofValues));
+    }
+
+    private static <O> The<O> of(O[] values) {
+        return new The<>(defaultDriver().just(values), values);
+    }
+
+    private static <O> The<O> of(ArraySource<O> array) {
+        return new The<>(defaultDriver().toContext(array.publisher(), Cardinality.of(array.size())), null, array);
     }
 
     /**
@@ -62,18 +121,237 @@ public class The<O> extends BaseStatement<O> {
         return new The<>(defaultDriver().toContext(publisher));
     }
 
+    /**
+     * Returns a {@link Statement} which shares one subscription to the {@link Publisher} between every statement
+     * executing it, such as many {@link Wait}s watching the same feed. The publisher is subscribed to when the
+     * first statement executes, and cancelled once none are executing.
+     *
+     * @param publisher The publisher to share.
+     * @param <O> The type of value the {@link Publisher} produces.
+     * @return The {@link The} instance.
+     */
+    public static <O> The<O> shared(Publisher<O> publisher) {
+        return shared(publisher, 0);
+    }
+
+    /**
+     * Returns a {@link Statement} which shares one subscription to the {@link Publisher} between every statement
+     * executing it. Each statement which starts executing first receives up to <code>replay</code> of the most
+     * recent values.
+     *
+     * @param publisher The publisher to share.
+     * @param replay The maximum number of recent values to replay.
+     * @param <O> The type of value the {@link Publisher} produces.
+     * @return The {@link The} instance.
+     */
+    public static <O> The<O> shared(Publisher<O> publisher, int replay) {
+        if (replay < 0) {
+            throw new IllegalArgumentException("replay");
+        }
+        return new The<>(defaultDriver().share(defaultDriver().toContext(publisher), replay));
+    }
+
+    /**
+     * Returns a {@link Statement} which shares one subscription to the {@link Flow.Publisher} between every
+     * statement executing it.
+     *
+     * @param publisher The publisher to share.
+     * @param replay The maximum number of recent values to replay.
+     * @param <O> The type of value the {@link Flow.Publisher} produces.
+     * @return The {@link The} instance.
+     * @see #shared(Publisher, int)
+     */
+    public static <O> The<O> sharedFlow(Flow.Publisher<O> publisher, int replay) {
+        if (replay < 0) {
+            throw new IllegalArgumentException("replay");
+        }
+        return new The<>(defaultDriver().share(defaultDriver().toContext(publisher), replay));
+    }
+
+    /**
+     * Returns a {@link Statement} that will send each line of the UTF-8 file as an individual <code>onNext</code>
+     * signal. Lines are separated by <code>'\n'</code>, and any trailing <code>'\r'</code> is removed.
+     * <p>
+     * The file is read via memory-mapped regions, and each line is only decoded once it has been requested.
+     *
+     * @param path The file to read.
+     * @return The {@link The} instance.
+     */
+    public static The<String> lines(Path path) {
+        return lines(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a {@link Statement} that will send each line of the file as an individual <code>onNext</code>
+     * signal. Lines are separated by <code>'\n'</code>, and any trailing <code>'\r'</code> is removed.
+     *
+     * @param path The file to read.
+     * @param charset The {@link Charset} the file is encoded with, which must encode ASCII as single bytes.
+     * @return The {@link The} instance.
+     * @throws IllegalArgumentException if the <code>charset</code> is not ASCII-compatible, such as UTF-16.
+     */
+    public static The<String> lines(Path path, Charset charset) {
+        return new The<>(defaultDriver().toContext(new MappedRecordPublisher(path, "\n".getBytes(charset), charset,
+                true, MappedRecordPublisher.DEFAULT_REGION_SIZE)));
+    }
+
+    /**
+     * Returns a {@link Statement} that will send each record of the UTF-8 file, separated by the
+     * <code>delimiter</code>, as an individual <code>onNext</code> signal.
+     * <p>
+     * The file is read via memory-mapped regions, and each record is only decoded once it has been requested.
+     *
+     * @param path The file to read.
+     * @param delimiter The text separating each record.
+     * @return The {@link The} instance.
+     */
+    public static The<String> records(Path path, String delimiter) {
+        return records(path, delimiter, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a {@link Statement} that will send each record of the file, separated by the <code>delimiter</code>,
+     * as an individual <code>onNext</code> signal.
+     *
+     * @param path The file to read.
+     * @param delimiter The text separating each record.
+     * @param charset The {@link Charset} the file is encoded with, which must encode ASCII as single bytes.
+     * @return The {@link The} instance.
+     * @throws IllegalArgumentException if the <code>charset</code> is not ASCII-compatible, such as UTF-16.
+     */
+    public static The<String> records(Path path, String delimiter, Charset charset) {
+        return new The<>(defaultDriver().toContext(new MappedRecordPublisher(path, delimiter.getBytes(charset), charset,
+                false, MappedRecordPublisher.DEFAULT_REGION_SIZE)));
+    }
+
+    /**
+     * Returns a {@link Statement} that will send the contents of the file in chunks of up to
+     * <code>chunkSize</code> bytes. Each chunk is a {@link PooledBuffer} from the {@link BufferPool#shared() shared}
+     * {@link BufferPool}, which is released automatically by statements that drop it. Otherwise, whoever receives
+     * it last must {@link PooledBuffer#release() release} it.
+     *
+     * @param path The file to read.
+     * @param chunkSize The maximum number of bytes per chunk.
+     * @return The {@link The} instance.
+     */
+    public static The<PooledBuffer> chunks(Path path, int chunkSize) {
+        return new The<>(defaultDriver().toContext(new FileChunkPublisher(path, chunkSize, BufferPool.shared())));
+    }
+
+    /**
+     * Returns a {@link Statement} that will connect to the <code>address</code> when executed and send each
+     * framed message received as a {@link PooledBuffer}. The socket is only read as messages are requested, and
+     * the connection is closed when the statement completes or is cancelled.
+     *
+     * @param address The address to connect to.
+     * @param framing How messages are separated.
+     * @return The {@link The} instance.
+     */
+    public static The<PooledBuffer> socket(SocketAddress address, Framing framing) {
+        return new The<>(defaultDriver().toContext(new SocketSource(address, framing, BufferPool.shared(),
+                SocketSource.DEFAULT_READ_BUFFER_SIZE)));
+    }
+
+    /**
+     * Returns a {@link Statement} that will send each framed message received on the connected
+     * <code>channel</code> as a {@link PooledBuffer}. The channel is only read as messages are requested, and is
+     * left open when the statement completes, but closed if it is cancelled so no read is left outstanding.
+     *
+     * @param channel The connected channel.
+     * @param framing How messages are separated.
+     * @return The {@link The} instance.
+     */
+    public static The<PooledBuffer> channel(AsynchronousSocketChannel channel, Framing framing) {
+        return new The<>(defaultDriver().toContext(new SocketSource(channel, framing, BufferPool.shared(),
+                SocketSource.DEFAULT_READ_BUFFER_SIZE)));
+    }
+
+    /**
+     * Returns a hot {@link Statement} which sends the values {@link Emitter#emit(Object) emitted} into it from any
+     * thread. Emitting never blocks: once its buffer of {@link EmitterPublisher#DEFAULT_CAPACITY} values is full, the
+     * oldest value is {@link EmitterPublisher.Overflow#DROP_OLDEST dropped}, including while nothing has subscribed.
+     * Use {@link #emitter(int, EmitterPublisher.Overflow)} with {@link EmitterPublisher.Overflow#BLOCK} to make
+     * emitters wait for subscribers instead.
+     *
+     * @param <O> The value type.
+     * @return The {@link Emitter}.
+     * @see #emitter(int, EmitterPublisher.Overflow)
+     */
+    public static <O> Emitter<O> emitter() {
+        return emitter(EmitterPublisher.DEFAULT_CAPACITY, EmitterPublisher.Overflow.DROP_OLDEST);
+    }
+
+    /**
+     * Returns a hot {@link Statement} which sends the values {@link Emitter#emit(Object) emitted} into it from any
+     * thread. For example:
+     * <code>
+     * The.Emitter&lt;Order&gt; orders = The.emitter(4096, EmitterPublisher.Overflow.DROP_OLDEST);
+     *
+     * Wait.until(orders).matches(order -&gt; order.filled).now(order -&gt; System.out.println("filled " + order));
+     * orders.emit(order);
+     * </code>
+     * Each execution of the statement subscribes to the same values, so every pending statement sees each value
+     * emitted after it starts.
+     *
+     * @param capacity The minimum number of values to buffer.
+     * @param overflow What to do with values emitted while the buffer is full.
+     * @param <O> The value type.
+     * @return The {@link Emitter}.
+     * @see EmitterPublisher
+     */
+    public static <O> Emitter<O> emitter(int capacity, EmitterPublisher.Overflow overflow) {
+        return new Emitter<>(new EmitterPublisher<>(capacity, overflow));
+    }
+
     /**
      * The {@link Flow.Publisher} provider.
      */
     private Context<O> context;
 
+    /**
+     * The values of a {@link #value(Object) value} or {@link #series(Object[]) series}, or <code>null</code> for other
+     * sources.
+     */
+    private final O[] values;
+
+    /**
+     * The values of any array-backed source, including primitive ones, or <code>null</code> for other sources.
+     */
+    private final ArraySource<O> array;
+
     /**
      * Constructs a new {@link The} instance with the specified {@link Flow.Publisher} {@link Supplier}.
      *
      * @param context The {@link Flow.Publisher}.
      */
     private The(Context<O> context) {
+        this(context, null, null);
+    }
+
+    private The(Context<O> context, O[] values) {
+        this(context, values, ArraySource.of(values));
+    }
+
+    private The(Context<O> context, O[] values, ArraySource<O> array) {
         this.context = context;
+        this.values = values;
+        this.array = array;
+    }
+
+    /**
+     * @return The values of a {@link #value(Object) value} or {@link #series(Object[]) series}, which other
+     * statements may split up or fold, or <code>null</code> if the values are not held in an array.
+     */
+    O[] values() {
+        return values;
+    }
+
+    /**
+     * @return The values of an array-backed source, which other statements may scan a chunk at a time, or
+     * <code>null</code> if the values are not held in an array.
+     */
+    ArraySource<O> array() {
+        return array;
     }
 
     /**
@@ -86,4 +364,54 @@ public class The<O> extends BaseStatement<O> {
     public Context<O> get() {
         return context;
     }
+
+    /**
+     * A hot {@link The} statement whose values are pushed in by {@link #emit(Object)}.
+     *
+     * @param <O> The value type.
+     * @see The#emitter(int, EmitterPublisher.Overflow)
+     */
+    public static final class Emitter<O> extends The<O> {
+
+        private final EmitterPublisher<O> publisher;
+
+        private Emitter(EmitterPublisher<O> publisher) {
+            super(defaultDriver().toContext(publisher));
+            this.publisher = publisher;
+        }
+
+        /**
+         * Emits a value to every execution of this statement. This may be called from any thread.
+         *
+         * @param value The value. May not be <code>null</code>.
+         * @return <code>true</code> if the value was accepted, or <code>false</code> if it was dropped.
+         * @see EmitterPublisher#emit(Object)
+         */
+        public boolean emit(O value) {
+            return publisher.emit(value);
+        }
+
+        /**
+         * Completes every execution once the values already emitted have been sent.
+         */
+        public void complete() {
+            publisher.complete();
+        }
+
+        /**
+         * Fails every execution with the error.
+         *
+         * @param throwable The error.
+         */
+        public void error(Throwable throwable) {
+            publisher.error(throwable);
+        }
+
+        /**
+         * @return The number of values dropped because the buffer was full.
+         */
+        public long dropped() {
+            return publisher.dropped();
+        }
+    }
 }
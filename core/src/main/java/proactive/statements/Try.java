@@ -1,13 +1,21 @@
 package proactive.statements;
 
-import proactive.core.Context;
+import org.reactivestreams.Publisher;
 import proactive.core.BaseStatement;
+import proactive.core.ChainPublisher;
+import proactive.core.Context;
+import proactive.core.ProactiveDriver;
+import proactive.core.Scheduler;
+import proactive.core.Schedulers;
 import proactive.core.Statement;
+import proactive.core.Util;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.function.Function;
 
-import static proactive.core.ProactiveDriver.defaultDriver;
-
 /**
  * Tries to resolve a {@link Statement}. Each <code>onNext</code> signal is sent to the
  * {@link #then(Function) function} {@link #then(Statement) statement} <code>then</code> (if defined).
@@ -37,6 +45,17 @@ public class Try<O> extends BaseStatement<O> {
         return new Try<>(statement);
     }
 
+    /**
+     * The maximum number of blocking {@link Call}s running at once when virtual threads are unavailable.
+     */
+    public static final int DEFAULT_BLOCKING_CONCURRENCY = 256;
+
+    /**
+     * The number of {@link Then} steps from which a chain is run by a single {@link ChainPublisher}, rather than
+     * by nesting one <code>flatMap</code> per step, so that its stack depth does not grow with its length.
+     */
+    public static final int TRAMPOLINE_DEPTH = 32;
+
     /**
      * The {@link Statement} to try resolving.
      */
@@ -51,7 +70,35 @@ public class Try<O> extends BaseStatement<O> {
     }
 
     public <T> Then<O, T> then(Statement<T> send) {
-        return then(value -> send);
+        return then(Optimizer.<O, T>sending(send));
+    }
+
+    /**
+     * Sends each value to a blocking {@link Call}, such as a JDBC query or HTTP request, which is run on the
+     * {@link Schedulers#virtual() virtual} scheduler, one thread per value. The call's result is sent onwards.
+     *
+     * @param call The blocking {@link Call}.
+     * @param <T> The type of value the call returns.
+     * @return The {@link Then} statement.
+     * @see #thenBlocking(Call, Scheduler, int)
+     */
+    public <T> Then<O, T> thenBlocking(Call<? super O, T> call) {
+        return thenBlocking(call, Schedulers.virtual(), defaultBlockingConcurrency());
+    }
+
+    /**
+     * Sends each value to a blocking {@link Call} which is run on the {@link Scheduler}, with at most
+     * <code>maxConcurrency</code> calls running at once. The call's result is sent onwards, and a <code>null</code>
+     * result is skipped.
+     *
+     * @param call The blocking {@link Call}.
+     * @param scheduler The {@link Scheduler} to run each call on.
+     * @param maxConcurrency The maximum number of calls running at once.
+     * @param <T> The type of value the call returns.
+     * @return The {@link Then} statement.
+     */
+    public <T> Then<O, T> thenBlocking(Call<? super O, T> call, Scheduler scheduler, int maxConcurrency) {
+        return new Then<>(this, blocking(driver(), call, scheduler), maxConcurrency);
     }
 
     @Override
@@ -59,14 +106,111 @@ public class Try<O> extends BaseStatement<O> {
         return that.get();
     }
 
+    /**
+     * A {@link Try} with no steps only passes on the values of its statement, so is replaced by it.
+     *
+     * @return The optimized {@link Statement}.
+     */
+    @Override
+    public Statement<O> optimize() {
+        return that.optimize();
+    }
+
+    /**
+     * A blocking function, which may throw checked exceptions. These are sent onwards as the <code>onError</code>
+     * signal.
+     *
+     * @param <I> The input type.
+     * @param <O> The output type.
+     */
+    @FunctionalInterface
+    public interface Call<I, O> {
+        O call(I value) throws Exception;
+    }
+
+    /**
+     * Provides the default limit on concurrent {@link Call}s. Virtual threads are cheap enough not to need one, but
+     * the platform thread fallback is limited to the usual <code>flatMap</code> concurrency.
+     *
+     * @return The default maximum number of calls running at once.
+     */
+    private static int defaultBlockingConcurrency() {
+        return Schedulers.isVirtual() ? Integer.MAX_VALUE : DEFAULT_BLOCKING_CONCURRENCY;
+    }
+
+    /**
+     * Wraps the {@link Call} in a function whose statements are built with the driver of the statement it belongs
+     * to, since the function itself runs on whichever thread sends the value.
+     */
+    private static <I, O> Function<I, Statement<O>> blocking(ProactiveDriver driver, Call<? super I, O> call,
+                                                             Scheduler scheduler) {
+        if (call == null) {
+            throw new NullPointerException("call");
+        } else if (scheduler == null) {
+            throw new NullPointerException("scheduler");
+        }
+        return value -> {
+            ProactiveDriver.Find.Scope scope = ProactiveDriver.Find.bind(driver);
+            try {
+                return new Called<>(() -> {
+                    try {
+                        return call.call(value);
+                    } catch (Exception e) {
+                        Util.release(value);
+                        throw e;
+                    }
+                }).runOn(scheduler);
+            } finally {
+                scope.close();
+            }
+        };
+    }
+
+    /**
+     * Produces the result of a {@link Callable}, called on subscription.
+     *
+     * @param <O> The result type.
+     */
+    private static final class Called<O> extends BaseStatement<O> {
+        private final Callable<O> callable;
+
+        private Called(Callable<O> callable) {
+            this.callable = callable;
+        }
+
+        @Override
+        public Context<O> get() {
+            return driver().fromCallable(callable);
+        }
+    }
+
+    /**
+     * Sends each value of a statement to the next. The chain of {@link Then}s is walked without recursion when
+     * executed, and chains of {@link #TRAMPOLINE_DEPTH} steps or more are run by a single {@link ChainPublisher},
+     * so chains generated with thousands of steps do not overflow the stack.
+     *
+     * @param <I> The input type.
+     * @param <O> The output type.
+     */
     public static class Then<I, O> extends BaseStatement<O> {
 
         private final Statement<I> doThat;
         private final Function<? super I, Statement<O>> thenThat;
+        private final int maxConcurrency;
 
         private Then(Statement<I> doThat, Function<? super I, Statement<O>> thenThat) {
             this.doThat = doThat;
             this.thenThat = thenThat;
+            this.maxConcurrency = 0;
+        }
+
+        private Then(Statement<I> doThat, Function<? super I, Statement<O>> thenThat, int maxConcurrency) {
+            if (maxConcurrency <= 0) {
+                throw new IllegalArgumentException("maxConcurrency");
+            }
+            this.doThat = doThat;
+            this.thenThat = thenThat;
+            this.maxConcurrency = maxConcurrency;
         }
 
         public <T> Then<O, T> then(Function<? super O, Statement<T>> execute) {
@@ -74,12 +218,101 @@ public class Try<O> extends BaseStatement<O> {
         }
 
         public <T> Then<O, T> then(Statement<T> send) {
-            return then(value -> send);
+            return then(Optimizer.<O, T>sending(send));
+        }
+
+        /**
+         * @see Try#thenBlocking(Call)
+         */
+        public <T> Then<O, T> thenBlocking(Call<? super O, T> call) {
+            return thenBlocking(call, Schedulers.virtual(), defaultBlockingConcurrency());
+        }
+
+        /**
+         * @see Try#thenBlocking(Call, Scheduler, int)
+         */
+        public <T> Then<O, T> thenBlocking(Call<? super O, T> call, Scheduler scheduler, int maxConcurrency) {
+            return new Then<>(this, blocking(driver(), call, scheduler), maxConcurrency);
         }
 
         @Override
+        @SuppressWarnings("unchecked")
         public Context<O> get() {
-            return defaultDriver().flatMap(doThat.get(), value -> thenThat.apply(value).get());
+            ArrayDeque<Then<?, ?>> chain = new ArrayDeque<>();
+            Statement<?> statement = this;
+            for (;;) {
+                if (statement instanceof Then) {
+                    chain.addFirst((Then<?, ?>) statement);
+                    statement = ((Then<?, ?>) statement).doThat;
+                } else if (statement instanceof Try) {
+                    statement = ((Try<?>) statement).that;
+                } else {
+                    break;
+                }
+            }
+            if (chain.size() >= TRAMPOLINE_DEPTH) {
+                List<Function<Object, Publisher<?>>> steps = new ArrayList<>(chain.size());
+                int[] maxConcurrency = new int[chain.size()];
+                for (Then<?, ?> then : chain) {
+                    Function<Object, Context<Object>> mapper = ((Then<Object, Object>) then).mapper();
+                    maxConcurrency[steps.size()] = then.maxConcurrency;
+                    steps.add(value -> driver().toPublisher(mapper.apply(value)));
+                }
+                Publisher<?> source = driver().toPublisher(statement.get());
+                return driver().toContext(new ChainPublisher<>(source, steps, maxConcurrency,
+                        ChainPublisher.DEFAULT_PREFETCH));
+            }
+            Context<Object> context = (Context<Object>) statement.get();
+            for (Then<?, ?> then : chain) {
+                context = ((Then<Object, Object>) then).flatMap(context);
+            }
+            return (Context<O>) context;
+        }
+
+        /**
+         * Optimizes the statement at the root of the chain, rebuilding the chain over it if it changes. Like
+         * {@link #get()}, this walks the chain without recursion.
+         *
+         * @return The optimized {@link Statement}.
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public Statement<O> optimize() {
+            ArrayDeque<Then<?, ?>> chain = new ArrayDeque<>();
+            Statement<?> statement = this;
+            while (statement instanceof Then) {
+                chain.addFirst((Then<?, ?>) statement);
+                statement = ((Then<?, ?>) statement).doThat;
+            }
+            Statement<?> root = statement.optimize();
+            if (root == statement) {
+                return this;
+            }
+            for (Then<?, ?> then : chain) {
+                Then<Object, Object> step = (Then<Object, Object>) then;
+                root = step.maxConcurrency > 0
+                        ? new Then<>((Statement<Object>) root, step.thenThat, step.maxConcurrency)
+                        : new Then<>((Statement<Object>) root, step.thenThat);
+            }
+            return (Statement<O>) root;
+        }
+
+        private Context<O> flatMap(Context<I> context) {
+            if (maxConcurrency > 0) {
+                return driver().flatMap(context, mapper(), maxConcurrency);
+            }
+            return driver().flatMap(context, mapper());
+        }
+
+        private Function<I, Context<O>> mapper() {
+            return value -> {
+                try {
+                    return thenThat.apply(value).get();
+                } catch (RuntimeException e) {
+                    Util.release(value);
+                    throw e;
+                }
+            };
         }
     }
 }
@@ -1,15 +1,21 @@
 package proactive.statements;
 
+import org.reactivestreams.Publisher;
+import proactive.core.ArraySource;
+import proactive.core.Cardinality;
+import proactive.core.CombineLatestPublisher;
 import proactive.core.Context;
 import proactive.core.BaseStatement;
+import proactive.core.ProactiveDriver;
 import proactive.core.Util;
 import proactive.core.Statement;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
-import static proactive.core.ProactiveDriver.defaultDriver;
-
 /**
  * The <code>Wait</code> {@link Statement} will check <code>next</code> signals against a {@link Predicate}.
  * If it passes, the value is sent onwards.
@@ -33,6 +39,53 @@ public class Wait<O> extends BaseStatement<O> {
         return new Wait<>(requirement);
     }
 
+    /**
+     * Creates a {@link Statement} that will wait until the latest values of all of the provided
+     * {@link Statement}s are {@link Util#isTruthy(Object) truthy} at once, then send them as a list in the same
+     * order. Each statement is only executed once, and the condition is re-checked as each of them sends a value.
+     * A different condition over the latest values can be given with {@link WaitUntilAll#matches(Predicate)}.
+     *
+     * @param requirements The {@link Statement}s to watch.
+     * @return The {@link WaitUntilAll} instance.
+     */
+    public static WaitUntilAll untilAll(Statement<?>... requirements) {
+        return new WaitUntilAll(List.of(requirements), Wait::allTruthy);
+    }
+
+    /**
+     * Creates a {@link Statement} that will wait until any of the provided {@link Statement}s sends a
+     * {@link Util#isTruthy(Object) truthy} value, then send it.
+     *
+     * @param requirements The {@link Statement}s to watch.
+     * @param <O> The type being waited for.
+     * @return The {@link WaitUntilAny} instance.
+     */
+    @SafeVarargs
+    public static <O> WaitUntilAny<O> untilAny(Statement<? extends O>... requirements) {
+        List<Statement<? extends O>> statements = new ArrayList<>(requirements.length);
+        for (Statement<? extends O> requirement : requirements) {
+            statements.add(requirement);
+        }
+        return new WaitUntilAny<>(List.copyOf(statements), Util::isTruthy);
+    }
+
+    private static boolean allTruthy(CombineLatestPublisher.Latest latest) {
+        for (int i = 0; i < latest.size(); i++) {
+            if (!Util.isTruthy(latest.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Publisher<?>> publishers(ProactiveDriver driver, List<? extends Statement<?>> statements) {
+        List<Publisher<?>> publishers = new ArrayList<>(statements.size());
+        for (Statement<?> statement : statements) {
+            publishers.add(driver.toPublisher(statement.get()));
+        }
+        return publishers;
+    }
+
     private final Statement<O> requirement;
 
     /**
@@ -73,12 +126,176 @@ public class Wait<O> extends BaseStatement<O> {
         return matches((O check) -> !Util.areEqual(check, value));
     }
 
+    /**
+     * Only checks the newest value whenever the {@link Predicate} is ready for another, dropping any which arrived
+     * in between. Use this for sources which send state updates faster than they can be checked.
+     *
+     * @return The new {@link Wait} instance.
+     * @see proactive.core.CoalescingPublisher#latest(org.reactivestreams.Publisher)
+     */
+    public Wait<O> latest() {
+        return new Wait<>(Coalesced.latest(requirement));
+    }
+
+    /**
+     * Only checks the newest value once per <code>period</code>.
+     *
+     * @param period The sampling period.
+     * @return The new {@link Wait} instance.
+     */
+    public Wait<O> sampled(Duration period) {
+        return new Wait<>(Coalesced.sample(requirement, period));
+    }
+
+    /**
+     * Only checks the newest value once no other has arrived for the <code>timeout</code>.
+     *
+     * @param timeout The quiet time.
+     * @return The new {@link Wait} instance.
+     */
+    public Wait<O> debounced(Duration timeout) {
+        return new Wait<>(Coalesced.debounce(requirement, timeout));
+    }
+
     /**
      * @return the {@link Context}.
      */
     @Override
     public Context<O> get() {
-        return defaultDriver().find(requirement.get(), Util::isTruthy);
+        return find(driver(), requirement, Util::isTruthy);
+    }
+
+    /**
+     * Removes a {@link Wait} directly inside this one, since it only sends a truthy value.
+     *
+     * @return The optimized {@link Statement}.
+     */
+    @Override
+    public Statement<O> optimize() {
+        Statement<O> requirement = this.requirement.optimize();
+        if (requirement instanceof Wait) {
+            return requirement;
+        }
+        return requirement == this.requirement ? this : new Wait<>(requirement);
+    }
+
+    /**
+     * Finds the first value of the requirement which matches the {@link Predicate}. The values of an array-backed
+     * {@link The} are scanned a chunk at a time rather than tested as each is sent.
+     *
+     * @param driver The {@link ProactiveDriver}.
+     * @param requirement The requirement.
+     * @param predicate The predicate.
+     * @param <O> The value type.
+     * @return The {@link Context}.
+     */
+    @SuppressWarnings("unchecked")
+    private static <O> Context<O> find(ProactiveDriver driver, Statement<O> requirement,
+                                       Predicate<? super O> predicate) {
+        ArraySource<O> array = requirement instanceof The ? ((The<O>) requirement).array() : null;
+        if (array != null) {
+            return driver.toContext(array.find(releasingUnmatched(predicate)), Cardinality.OPTIONAL);
+        }
+        return driver.find(requirement.get(), releasingUnmatched(predicate));
+    }
+
+    /**
+     * Wraps the {@link Predicate} so that any value which does not match is {@link Util#release(Object) released}.
+     *
+     * @param predicate The predicate to wrap.
+     * @param <O> The value type.
+     * @return The wrapped {@link Predicate}.
+     */
+    static <O> Predicate<O> releasingUnmatched(Predicate<? super O> predicate) {
+        return value -> {
+            if (predicate.test(value)) {
+                return true;
+            }
+            Util.release(value);
+            return false;
+        };
+    }
+
+    /**
+     * Waits for a condition over the latest values of several {@link Statement}s.
+     *
+     * @see Wait#untilAll(Statement[])
+     */
+    public static class WaitUntilAll extends BaseStatement<List<Object>> {
+
+        private final List<Statement<?>> requirements;
+        private final Predicate<? super CombineLatestPublisher.Latest> condition;
+
+        private WaitUntilAll(List<Statement<?>> requirements, Predicate<? super CombineLatestPublisher.Latest> condition) {
+            this.requirements = requirements;
+            this.condition = condition;
+        }
+
+        /**
+         * Specifies the condition to check the latest values against. It is given a view of the current values
+         * rather than a copy, so should not keep it.
+         *
+         * @param condition The condition.
+         * @return The new {@link WaitUntilAll} instance.
+         */
+        public WaitUntilAll matches(Predicate<? super CombineLatestPublisher.Latest> condition) {
+            return new WaitUntilAll(requirements, condition);
+        }
+
+        @Override
+        public Context<List<Object>> get() {
+            return driver().first(driver().toContext(new CombineLatestPublisher<>(
+                    publishers(driver(), requirements), condition, CombineLatestPublisher.Latest::toList)));
+        }
+    }
+
+    /**
+     * Waits for any of several {@link Statement}s to send a matching value.
+     *
+     * @param <O> The type being waited for.
+     * @see Wait#untilAny(Statement[])
+     */
+    public static class WaitUntilAny<O> extends BaseStatement<O> {
+
+        private final List<Statement<? extends O>> requirements;
+        private final Predicate<? super O> predicate;
+
+        private WaitUntilAny(List<Statement<? extends O>> requirements, Predicate<? super O> predicate) {
+            this.requirements = requirements;
+            this.predicate = predicate;
+        }
+
+        /**
+         * Specifies a {@link Predicate} to check values against.
+         *
+         * @param predicate The predicate.
+         * @return The new {@link WaitUntilAny} instance.
+         */
+        public WaitUntilAny<O> matches(Predicate<? super O> predicate) {
+            return new WaitUntilAny<>(requirements, predicate);
+        }
+
+        /**
+         * Specifies the value to wait for.
+         *
+         * @param value The value to require.
+         * @return The new {@link WaitUntilAny} instance.
+         */
+        public WaitUntilAny<O> is(O value) {
+            return matches(check -> Util.areEqual(check, value));
+        }
+
+        /**
+         * Tests each value once, as it arrives, rather than rescanning the latest value of every requirement.
+         *
+         * @return The {@link Context}.
+         */
+        @Override
+        public Context<O> get() {
+            return driver().first(driver().toContext(new CombineLatestPublisher<O>(publishers(driver(), requirements),
+                    latest -> predicate.test(latest.get(latest.updated())), latest -> latest.get(latest.updated()),
+                    false)));
+        }
     }
 
     public static class WaitUntilMatches<O> extends BaseStatement<O> {
@@ -99,7 +316,18 @@ public class Wait<O> extends BaseStatement<O> {
          */
         @Override
         public Context<O> get() {
-            return defaultDriver().find(requirement.get(), predicate);
+            return find(driver(), requirement, predicate);
+        }
+
+        /**
+         * Optimizes the requirement.
+         *
+         * @return The optimized {@link Statement}.
+         */
+        @Override
+        public Statement<O> optimize() {
+            Statement<O> requirement = this.requirement.optimize();
+            return requirement == this.requirement ? this : new WaitUntilMatches<>(requirement, predicate);
         }
     }
 }
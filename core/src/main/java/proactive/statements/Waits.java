@@ -0,0 +1,142 @@
+package proactive.statements;
+
+import org.reactivestreams.Publisher;
+import proactive.core.BaseStatement;
+import proactive.core.Cardinality;
+import proactive.core.Context;
+import proactive.core.ProactiveDriver;
+import proactive.core.Statement;
+import proactive.core.WaitRegistry;
+
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static proactive.core.ProactiveDriver.defaultDriver;
+
+/**
+ * A registry of many {@link Wait}-like statements over one source {@link Statement}. Each statement it creates
+ * sends the first matching value, then completes, as {@link Wait#until(Statement)} does.
+ * <p>
+ * Unlike separate {@link Wait}s, the source is only executed once for all pending statements, and waits for a key
+ * {@link #is(Object) equal} to a value or {@link #between(Object, Object) between} two values are indexed, so each
+ * value only visits the waits it matches. This keeps the cost of each value constant however many statements are
+ * waiting. For example:
+ * <code>
+ * Waits&lt;Order, String&gt; orders = Waits.on(The.publisher(feed), order -&gt; order.id);
+ *
+ * orders.is("order-1").now(order -&gt; System.out.println("filled " + order));
+ * </code>
+ *
+ * @param <O> The type of value being waited for.
+ * @param <K> The key values are indexed by.
+ * @see WaitRegistry
+ */
+public class Waits<O, K> {
+
+    /**
+     * Creates a {@link Waits} registry indexing the values themselves. Values must be {@link Comparable} to use
+     * {@link #between(Object, Object) between}.
+     *
+     * @param source The statement providing values.
+     * @param <O> The value type.
+     * @return The {@link Waits} registry.
+     */
+    public static <O> Waits<O, O> on(Statement<O> source) {
+        return on(source, Function.identity());
+    }
+
+    /**
+     * Creates a {@link Waits} registry indexing the key of each value. Keys must be {@link Comparable} to use
+     * {@link #between(Object, Object) between}.
+     *
+     * @param source The statement providing values.
+     * @param key Provides the key of each value.
+     * @param <O> The value type.
+     * @param <K> The key type.
+     * @return The {@link Waits} registry.
+     */
+    @SuppressWarnings("unchecked")
+    public static <O, K> Waits<O, K> on(Statement<O> source, Function<? super O, K> key) {
+        return on(source, key, (Comparator<? super K>) Comparator.naturalOrder());
+    }
+
+    /**
+     * Creates a {@link Waits} registry indexing the key of each value, ordered by the {@link Comparator}.
+     *
+     * @param source The statement providing values.
+     * @param key Provides the key of each value.
+     * @param order Orders keys.
+     * @param <O> The value type.
+     * @param <K> The key type.
+     * @return The {@link Waits} registry.
+     */
+    public static <O, K> Waits<O, K> on(Statement<O> source, Function<? super O, K> key, Comparator<? super K> order) {
+        ProactiveDriver driver = defaultDriver();
+        return new Waits<>(new WaitRegistry<>(() -> driver.toPublisher(source.get()), key, order));
+    }
+
+    private final WaitRegistry<O, K> registry;
+
+    private Waits(WaitRegistry<O, K> registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Waits for a value whose key is equal to <code>key</code>.
+     *
+     * @param key The key to wait for.
+     * @return The {@link Pending} statement.
+     */
+    public Pending<O> is(K key) {
+        return new Pending<>(registry.equalTo(key));
+    }
+
+    /**
+     * Waits for a value whose key is between <code>from</code> and <code>to</code>, inclusive.
+     *
+     * @param from The lowest key to wait for.
+     * @param to The highest key to wait for.
+     * @return The {@link Pending} statement.
+     */
+    public Pending<O> between(K from, K to) {
+        return new Pending<>(registry.between(from, to));
+    }
+
+    /**
+     * Waits for a value matching the {@link Predicate}. These waits are not indexed, and are tested against every
+     * value.
+     *
+     * @param predicate The {@link Predicate}.
+     * @return The {@link Pending} statement.
+     */
+    public Pending<O> matches(Predicate<? super O> predicate) {
+        return new Pending<>(registry.matching(predicate));
+    }
+
+    /**
+     * @return The number of executing statements which have not yet matched.
+     */
+    public int pending() {
+        return registry.pending();
+    }
+
+    /**
+     * A {@link Statement} waiting on a {@link Waits} registry.
+     *
+     * @param <O> The type of value being waited for.
+     */
+    public static class Pending<O> extends BaseStatement<O> {
+
+        private final Publisher<O> wait;
+
+        private Pending(Publisher<O> wait) {
+            this.wait = wait;
+        }
+
+        @Override
+        public Context<O> get() {
+            return driver().toContext(wait, Cardinality.OPTIONAL);
+        }
+    }
+}
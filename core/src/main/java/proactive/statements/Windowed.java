@@ -0,0 +1,241 @@
+package proactive.statements;
+
+import proactive.core.BaseStatement;
+import proactive.core.Context;
+import proactive.core.Statement;
+import proactive.core.aggregate.Aggregator;
+import proactive.core.aggregate.Aggregators;
+import proactive.core.aggregate.Summary;
+import proactive.core.aggregate.Window;
+import proactive.core.aggregate.WindowPublisher;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Defines a {@link Windowed} > {@link Over over} > aggregate {@link Statement}, which sends the result of
+ * aggregating the values of another {@link Statement} over each {@link Window}. Each value is added to a running
+ * {@link Aggregator} as it arrives rather than being buffered, so windows of any length use constant memory. For
+ * example:
+ * <code>
+ * Check.that(Windowed.avg(latencies, Duration.ofSeconds(1)))
+ *     .matches(avg -&gt; avg &gt; 100)
+ *     .then(avg -&gt; ...);
+ * </code>
+ * Windows without any values send nothing.
+ *
+ * @param <O> The result type.
+ * @see WindowPublisher
+ */
+public class Windowed<O> extends BaseStatement<O> {
+
+    /**
+     * Creates a {@link Windowed} for the values of the provided {@link Statement}.
+     *
+     * @param statement The statement providing values.
+     * @param <I> The value type.
+     * @return The {@link Of} instance.
+     */
+    public static <I> Of<I> of(Statement<I> statement) {
+        return new Of<>(statement);
+    }
+
+    /**
+     * Counts the values in consecutive windows of the <code>duration</code>.
+     *
+     * @param statement The statement providing values.
+     * @param duration The duration of each window.
+     * @return The {@link Windowed} statement.
+     */
+    public static Windowed<Long> count(Statement<?> statement, Duration duration) {
+        return of(statement).over(Window.tumbling(duration)).count();
+    }
+
+    /**
+     * Sums the values in consecutive windows of the <code>duration</code>.
+     *
+     * @param statement The statement providing values.
+     * @param duration The duration of each window.
+     * @return The {@link Windowed} statement.
+     */
+    public static Windowed<Double> sum(Statement<? extends Number> statement, Duration duration) {
+        return of(statement).over(Window.tumbling(duration)).sum(Number::doubleValue);
+    }
+
+    /**
+     * Averages the values in consecutive windows of the <code>duration</code>.
+     *
+     * @param statement The statement providing values.
+     * @param duration The duration of each window.
+     * @return The {@link Windowed} statement.
+     */
+    public static Windowed<Double> avg(Statement<? extends Number> statement, Duration duration) {
+        return of(statement).over(Window.tumbling(duration)).avg(Number::doubleValue);
+    }
+
+    /**
+     * Finds the least value in consecutive windows of the <code>duration</code>.
+     *
+     * @param statement The statement providing values.
+     * @param duration The duration of each window.
+     * @return The {@link Windowed} statement.
+     */
+    public static Windowed<Double> min(Statement<? extends Number> statement, Duration duration) {
+        return of(statement).over(Window.tumbling(duration)).min(Number::doubleValue);
+    }
+
+    /**
+     * Finds the greatest value in consecutive windows of the <code>duration</code>.
+     *
+     * @param statement The statement providing values.
+     * @param duration The duration of each window.
+     * @return The {@link Windowed} statement.
+     */
+    public static Windowed<Double> max(Statement<? extends Number> statement, Duration duration) {
+        return of(statement).over(Window.tumbling(duration)).max(Number::doubleValue);
+    }
+
+    /**
+     * Estimates a percentile of the values in consecutive windows of the <code>duration</code>.
+     *
+     * @param statement The statement providing values.
+     * @param percentile The percentile, from 0 to 100. For example, 99 for the 99th percentile.
+     * @param duration The duration of each window.
+     * @return The {@link Windowed} statement.
+     */
+    public static Windowed<Double> percentile(Statement<? extends Number> statement, double percentile,
+                                              Duration duration) {
+        return of(statement).over(Window.tumbling(duration)).percentile(Number::doubleValue, percentile);
+    }
+
+    /**
+     * Estimates the number of distinct values in consecutive windows of the <code>duration</code>.
+     *
+     * @param statement The statement providing values.
+     * @param duration The duration of each window.
+     * @return The {@link Windowed} statement.
+     */
+    public static Windowed<Long> distinct(Statement<?> statement, Duration duration) {
+        return of(statement).over(Window.tumbling(duration)).distinct(Function.identity());
+    }
+
+    private final Statement<?> values;
+    private final Window window;
+    private final Aggregator<?, ?, ? extends O> aggregator;
+
+    private Windowed(Statement<?> values, Window window, Aggregator<?, ?, ? extends O> aggregator) {
+        this.values = values;
+        this.window = window;
+        this.aggregator = aggregator;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Context<O> get() {
+        return driver().toContext(new WindowPublisher<>(driver().toPublisher(values.get()),
+                window, (Aggregator<Object, Object, ? extends O>) aggregator));
+    }
+
+    /**
+     * Defines the source of a {@link Windowed} statement.
+     *
+     * @param <I> The value type.
+     */
+    public static class Of<I> {
+
+        private final Statement<I> values;
+
+        private Of(Statement<I> values) {
+            this.values = values;
+        }
+
+        /**
+         * Specifies the windows to aggregate over.
+         *
+         * @param window The {@link Window}.
+         * @return The {@link Over} instance.
+         */
+        public Over<I> over(Window window) {
+            if (window == null) {
+                throw new NullPointerException("window");
+            }
+            return new Over<>(values, window);
+        }
+    }
+
+    /**
+     * Defines the aggregate of a {@link Windowed} statement.
+     *
+     * @param <I> The value type.
+     */
+    public static class Over<I> {
+
+        private final Statement<I> values;
+        private final Window window;
+
+        private Over(Statement<I> values, Window window) {
+            this.values = values;
+            this.window = window;
+        }
+
+        /**
+         * Aggregates each window with the {@link Aggregator}.
+         *
+         * @param aggregator The {@link Aggregator}.
+         * @param <R> The result type.
+         * @return The {@link Windowed} statement.
+         * @see Aggregators
+         */
+        public <R> Windowed<R> aggregate(Aggregator<? super I, ?, ? extends R> aggregator) {
+            if (aggregator == null) {
+                throw new NullPointerException("aggregator");
+            }
+            return new Windowed<>(values, window, aggregator);
+        }
+
+        public Windowed<Long> count() {
+            return aggregate(Aggregators.count());
+        }
+
+        public Windowed<Double> sum(ToDoubleFunction<? super I> number) {
+            return aggregate(Aggregators.sum(number));
+        }
+
+        public Windowed<Double> avg(ToDoubleFunction<? super I> number) {
+            return aggregate(Aggregators.avg(number));
+        }
+
+        public Windowed<Double> min(ToDoubleFunction<? super I> number) {
+            return aggregate(Aggregators.min(number));
+        }
+
+        public Windowed<Double> max(ToDoubleFunction<? super I> number) {
+            return aggregate(Aggregators.max(number));
+        }
+
+        public Windowed<Summary> summary(ToDoubleFunction<? super I> number) {
+            return aggregate(Aggregators.summary(number));
+        }
+
+        /**
+         * @param number Provides the number for each value.
+         * @param percentile The percentile, from 0 to 100.
+         * @return The {@link Windowed} statement, estimating the percentile.
+         */
+        public Windowed<Double> percentile(ToDoubleFunction<? super I> number, double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("percentile");
+            }
+            return aggregate(Aggregators.quantile(number, percentile / 100));
+        }
+
+        /**
+         * @param key Provides the key for each value.
+         * @return The {@link Windowed} statement, estimating the number of distinct keys.
+         */
+        public Windowed<Long> distinct(Function<? super I, ?> key) {
+            return aggregate(Aggregators.distinct(key));
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package proactive.statements;
+
+import proactive.core.BaseStatement;
+import proactive.core.Context;
+import proactive.core.Statement;
+import org.reactivestreams.Publisher;
+import proactive.core.io.AsyncFileSink;
+import proactive.core.io.Framing;
+import proactive.core.io.SocketSink;
+import proactive.core.io.SyncPolicy;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Defines a {@link Write} > {@link To to} {@link Statement}, which writes each value of another {@link Statement}
+ * to a file or socket without blocking the thread the values are sent on.
+ * <p>
+ * For example:
+ * <code>
+ * Write.of(The.series("one", "two", "three"))
+ *     .batch(100)
+ *     .linger(Duration.ofMillis(5))
+ *     .to(Paths.get("out.txt"))
+ *     .now(bytes -> System.out.println("wrote " + bytes + " bytes"));
+ * </code>
+ *
+ * @param <I> The type of value being written.
+ */
+public class Write<I> {
+
+    /**
+     * The default maximum number of values per batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    /**
+     * The default size of each batch buffer, in bytes.
+     */
+    public static final int DEFAULT_BATCH_BYTES = 64 * 1024;
+
+    /**
+     * Creates a {@link Write} for the values of the provided {@link Statement}. By default, each value is written
+     * as a UTF-8 line of its {@link String#valueOf(Object) string value}.
+     *
+     * @param statement The statement providing values to write.
+     * @param <I> The value type.
+     * @return The {@link Write} instance.
+     */
+    public static <I> Write<I> of(Statement<I> statement) {
+        return new Write<>(statement, Write::encodeLine, null, DEFAULT_BATCH_SIZE, DEFAULT_BATCH_BYTES, Duration.ZERO,
+                SyncPolicy.NONE, false);
+    }
+
+    private static ByteBuffer encodeLine(Object value) {
+        return ByteBuffer.wrap((value + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private final Statement<I> values;
+    private final Function<? super I, ByteBuffer> encoder;
+    private final Framing framing;
+    private final int batchSize;
+    private final int batchBytes;
+    private final Duration linger;
+    private final SyncPolicy syncPolicy;
+    private final boolean append;
+
+    private Write(Statement<I> values, Function<? super I, ByteBuffer> encoder, Framing framing, int batchSize,
+                  int batchBytes, Duration linger, SyncPolicy syncPolicy, boolean append) {
+        this.values = values;
+        this.encoder = encoder;
+        this.framing = framing;
+        this.batchSize = batchSize;
+        this.batchBytes = batchBytes;
+        this.linger = linger;
+        this.syncPolicy = syncPolicy;
+        this.append = append;
+    }
+
+    /**
+     * Specifies how each value is serialized. The returned {@link ByteBuffer} is owned by the writer.
+     *
+     * @param encoder The encoding function.
+     * @return The new {@link Write} instance.
+     */
+    public Write<I> encodedBy(Function<? super I, ByteBuffer> encoder) {
+        return new Write<>(values, encoder, framing, batchSize, batchBytes, linger, syncPolicy, append);
+    }
+
+    /**
+     * Specifies how each encoded value is framed, so it can be read back as a separate message.
+     *
+     * @param framing The {@link Framing}.
+     * @return The new {@link Write} instance.
+     */
+    public Write<I> framedBy(Framing framing) {
+        return new Write<>(values, encoder, framing, batchSize, batchBytes, linger, syncPolicy, append);
+    }
+
+    /**
+     * Specifies the maximum number of values written in a single batch.
+     *
+     * @param size The batch size.
+     * @return The new {@link Write} instance.
+     */
+    public Write<I> batch(int size) {
+        return new Write<>(values, encoder, framing, size, batchBytes, linger, syncPolicy, append);
+    }
+
+    /**
+     * Specifies the maximum number of bytes written in a single batch. Two direct buffers of this size are
+     * allocated for each execution.
+     *
+     * @param bytes The batch size in bytes.
+     * @return The new {@link Write} instance.
+     */
+    public Write<I> batchBytes(int bytes) {
+        return new Write<>(values, encoder, framing, batchSize, bytes, linger, syncPolicy, append);
+    }
+
+    /**
+     * Specifies how long a partial batch may wait for more values before it is written. By default a partial
+     * batch is written as soon as the previous write has completed.
+     *
+     * @param linger The linger time.
+     * @return The new {@link Write} instance.
+     */
+    public Write<I> linger(Duration linger) {
+        return new Write<>(values, encoder, framing, batchSize, batchBytes, linger, syncPolicy, append);
+    }
+
+    /**
+     * Specifies when written data is forced to the storage device.
+     *
+     * @param syncPolicy The {@link SyncPolicy}.
+     * @return The new {@link Write} instance.
+     */
+    public Write<I> sync(SyncPolicy syncPolicy) {
+        return new Write<>(values, encoder, framing, batchSize, batchBytes, linger, syncPolicy, append);
+    }
+
+    /**
+     * Specifies that values are appended to the file rather than replacing its contents.
+     *
+     * @return The new {@link Write} instance.
+     */
+    public Write<I> appending() {
+        return new Write<>(values, encoder, framing, batchSize, batchBytes, linger, syncPolicy, true);
+    }
+
+    /**
+     * Defines the file to write to.
+     *
+     * @param path The file.
+     * @return The {@link To} {@link Statement}.
+     */
+    public To<I> to(Path path) {
+        Function<? super I, ByteBuffer> encoder = framing == null ? this.encoder : value -> framing.frame(this.encoder.apply(value));
+        return new To<>(values, source -> new AsyncFileSink<>(source, path, append, encoder, batchSize, batchBytes,
+                linger.toNanos(), syncPolicy));
+    }
+
+    /**
+     * Defines the connected socket channel to write to. Values are written in batches of up to the
+     * {@link #batch(int) batch} size with a single gathering write. The channel is left open once all values have
+     * been written.
+     *
+     * @param channel The channel.
+     * @return The {@link To} {@link Statement}.
+     */
+    public To<I> to(AsynchronousSocketChannel channel) {
+        return new To<>(values, source -> new SocketSink<>(source, channel, encoder, framing, batchSize));
+    }
+
+    /**
+     * A {@link Statement} writing values to a file or socket. It sends the total number of bytes written once all
+     * values have been written.
+     *
+     * @param <I> The type of value being written.
+     */
+    public static class To<I> extends BaseStatement<Long> {
+
+        private final Statement<I> values;
+        private final Function<Publisher<I>, Publisher<Long>> sink;
+
+        private To(Statement<I> values, Function<Publisher<I>, Publisher<Long>> sink) {
+            this.values = values;
+            this.sink = sink;
+        }
+
+        @Override
+        public Context<Long> get() {
+            return driver().toContext(sink.apply(driver().toPublisher(values.get())));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package proactive.core.management
+
+import proactive.core.ProactiveDriver
+import proactive.statements.First
+import proactive.statements.StatementSpecification
+import proactive.statements.The
+import proactive.statements.Try
+
+import java.lang.management.ManagementFactory
+
+class StatisticsSpec extends StatementSpecification {
+
+    def cleanup() {
+        Statistics.disable()
+    }
+
+    def "statements are not metered until statistics are enabled"() {
+        given:
+        def statistics = Statistics.forStatement(Try.Then)
+        def subscriptions = statistics.subscriptions
+
+        when:
+        now(Try.resolving(The.series(1, 2)).then({ The.value(it) }))
+
+        then:
+        results == [1, 2]
+        !Statistics.enabled
+        statistics.subscriptions == subscriptions
+    }
+
+    def "enabled statistics count executions of each statement type"() {
+        given:
+        Statistics.enable()
+        def statement = Statistics.forStatement(Try.Then)
+        def driver = Statistics.forDriver(ProactiveDriver.Find.defaultDriver())
+        def subscriptions = statement.subscriptions
+        def values = statement.values
+        def completions = statement.completed
+        def driverSubscriptions = driver.subscriptions
+
+        when:
+        now(Try.resolving(The.series(1, 2, 3)).then({ The.value(it * 2) }))
+
+        then:
+        results == [2, 4, 6]
+        statement.subscriptions == subscriptions + 1
+        statement.values == values + 3
+        statement.completed == completions + 1
+        statement.inFlight == 0
+        driver.subscriptions >= driverSubscriptions + 1
+        driver.driverType == ProactiveDriver.Find.defaultDriver().class.name
+    }
+
+    def "cancelled and failed executions are counted"() {
+        given:
+        Statistics.enable()
+        def statement = Statistics.forStatement(Try.Then)
+        def errors = statement.errors
+        def first = Statistics.forStatement(First)
+        def completions = first.completed
+
+        when:
+        now(Try.resolving(The.value(1)).then({ throw new IllegalStateException("failed") }))
+        now(First.of(The.series(1, 2, 3)))
+
+        then:
+        error instanceof IllegalStateException
+        statement.errors == errors + 1
+        first.completed == completions + 1
+    }
+
+    def "statistics are published as MXBeans"() {
+        given:
+        Statistics.enable()
+        def server = ManagementFactory.platformMBeanServer
+        def statementName = Statistics.objectName("Statement", Try.Then.name)
+        def driverName = Statistics.objectName("Driver", ProactiveDriver.Find.defaultDriver().class.name)
+
+        when:
+        now(Try.resolving(The.value(1)).then({ The.value(it) }))
+
+        then:
+        server.isRegistered(statementName)
+        server.isRegistered(driverName)
+        server.getAttribute(statementName, "Subscriptions") == Statistics.forStatement(Try.Then).subscriptions
+        server.getAttribute(driverName, "DriverType") == ProactiveDriver.Find.defaultDriver().class.name
+    }
+}
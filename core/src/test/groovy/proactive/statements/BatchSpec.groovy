@@ -0,0 +1,111 @@
+package proactive.statements
+
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import proactive.core.ProactiveDriver
+import reactor.core.publisher.DirectProcessor
+import reactor.core.publisher.Flux
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicLong
+
+class BatchSpec extends StatementSpecification {
+
+    def "batch by size"() {
+        when:
+        now(Batch.of(The.series(1, 2, 3, 4, 5, 6, 7)).size(3))
+
+        then:
+        completed
+        results == [[1, 2, 3], [4, 5, 6], [7]]
+    }
+
+    def "batch by bytes"() {
+        given:
+        def batch = Batch.of(The.series("aa", "bbb", "c", "dddddd", "e")).size(10).maxBytes(5, { it.length() as long })
+
+        when:
+        now(batch)
+
+        then:
+        completed
+        results == [["aa", "bbb"], ["c"], ["dddddd"], ["e"]]
+        batch.statistics().byteFlushes == 3
+        batch.statistics().completionFlushes == 1
+    }
+
+    def "batch lingers for partial batches"() {
+        given:
+        def feed = DirectProcessor.<Integer>create()
+        def batch = Batch.of(The.publisher(feed)).size(100).linger(Duration.ofMillis(50))
+
+        when:
+        now(batch)
+        (1..3).each { feed.onNext(it) }
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert results == [[1, 2, 3]]
+        }
+        batch.statistics().lingerFlushes == 1
+
+        when:
+        feed.onNext(4)
+        feed.onComplete()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        results == [[1, 2, 3], [4]]
+        batch.statistics().fillRatio == 0.02d
+    }
+
+    def "batch honours backpressure"() {
+        given:
+        def emitted = new AtomicLong()
+        def source = Flux.range(1, 10000).doOnNext({ emitted.incrementAndGet() })
+        def received = []
+        def subscription = null
+
+        when:
+        ProactiveDriver.Find.defaultDriver().subscribe(Batch.of(The.publisher(source)).size(10).get(), new Subscriber<List<Integer>>() {
+            void onSubscribe(Subscription s) {
+                subscription = s
+                s.request(1)
+            }
+
+            void onNext(List<Integer> batch) {
+                received << batch
+            }
+
+            void onError(Throwable t) {
+            }
+
+            void onComplete() {
+            }
+        })
+
+        then:
+        received == [(1..10).toList()]
+        emitted.get() <= 40
+
+        when:
+        subscription.request(2)
+
+        then:
+        received.size() == 3
+        received[2] == (21..30).toList()
+        emitted.get() <= 60
+    }
+
+    def "batch sends error"() {
+        when:
+        now(Batch.of(The.publisher(Flux.just(1, 2).concatWith(Flux.error(new IllegalStateException("failed"))))).size(10))
+
+        then:
+        error instanceof IllegalStateException
+        results.isEmpty()
+    }
+}
@@ -1,7 +1,11 @@
 package proactive.statements
 
+import proactive.core.io.BufferPool
+import reactor.core.publisher.DirectProcessor
 import spock.lang.Unroll
 
+import java.time.Duration
+
 class CheckSpec extends StatementSpecification {
     @Unroll
     def "check that #a then #output"() {
@@ -74,6 +78,36 @@ class CheckSpec extends StatementSpecification {
         completed
     }
 
+    def "check that releases unmatched values"() {
+        given:
+        def buffer = new BufferPool(16, 64, 256, 4).allocate(8)
+
+        when:
+        now(Check.that(The.value(buffer)).matches { false }.then(The.value("success")))
+
+        then:
+        results == []
+        buffer.refCnt() == 0
+        completed
+    }
+
+    def "check that releases matched values sent to a statement"() {
+        given:
+        def pool = new BufferPool(16, 64, 256, 4)
+        def matched = pool.allocate(8)
+        def unmatched = pool.allocate(8)
+
+        when:
+        now(Check.that(The.value(matched)).matches { true }.then(The.value("then")))
+        now(Check.that(The.value(unmatched)).matches { false }.then(The.value("then")).otherwise(The.value("otherwise")))
+
+        then:
+        results == ["then", "otherwise"]
+        matched.refCnt() == 0
+        unmatched.refCnt() == 0
+        completed
+    }
+
     def "check that matches then"() {
         when:
         now(Check.that(The.value(10)).matches({ it % 2 == 0 }).then(The.value("success")))
@@ -83,4 +117,70 @@ class CheckSpec extends StatementSpecification {
         error == null
         completed
     }
-}
\ No newline at end of file
+
+    def "check debounced value then function"() {
+        given:
+        def feed = DirectProcessor.<Integer>create()
+
+        when:
+        now(Check.that(The.publisher(feed)).debounced(Duration.ofSeconds(10)).matches({ it > 1 }).then({ The.value(it * 10) }))
+        (1..3).each { feed.onNext(it) }
+        feed.onComplete()
+
+        then:
+        results == [30]
+        completed
+    }
+
+    def "check debounced value waits for a quiet period after a steady stream"() {
+        given:
+        def feed = DirectProcessor.<Integer>create()
+        def received = [].asSynchronized()
+
+        when:
+        Check.that(The.publisher(feed)).debounced(Duration.ofMillis(100)).matches({ true })
+                .then({ The.value(it) }).now({ received << it })
+        (1..100).each {
+            feed.onNext(it)
+            Thread.sleep(2)
+        }
+        Thread.sleep(400)
+
+        then:
+        received == [100]
+    }
+
+    def "check over an array sends the survivors of each chunk"() {
+        when:
+        now(Check.that(The.longs((1L..1000L) as long[])).matches({ it % 200 == 0 }).then({ The.value(it) }))
+
+        then:
+        results == [200L, 400L, 600L, 800L, 1000L]
+        error == null
+        completed
+    }
+
+    def "check over an array fails if the predicate throws"() {
+        when:
+        now(Check.that(The.series(1, 2)).matches({ throw new IllegalStateException("failed") }).then({ The.value(it) }))
+
+        then:
+        results == []
+        error instanceof IllegalStateException
+    }
+
+    def "check of a null value never tests it"() {
+        given:
+        int tested = 0
+
+        when:
+        now(Check.that(The.value(null)).matches({ tested++; true }).then({ The.value("sent") }))
+        now(Wait.until(The.value(null)).matches({ tested++; true }))
+
+        then:
+        results == []
+        tested == 0
+        error == null
+        completed
+    }
+}
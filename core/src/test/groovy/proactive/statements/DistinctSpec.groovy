@@ -0,0 +1,112 @@
+package proactive.statements
+
+import proactive.core.DuplicateFilter
+
+import java.time.Duration
+
+class DistinctSpec extends StatementSpecification {
+
+    def "distinct drops repeated values"() {
+        when:
+        now(Distinct.of(The.series(1, 2, 1, 3, 2, 4)).lru(100))
+
+        then:
+        completed
+        results == [1, 2, 3, 4]
+    }
+
+    def "distinct by key"() {
+        when:
+        now(Distinct.of(The.series("apple", "avocado", "banana", "blueberry", "cherry")).by({ it[0] }).lru(100))
+
+        then:
+        completed
+        results == ["apple", "banana", "cherry"]
+    }
+
+    def "lru forgets least recently seen keys"() {
+        given:
+        def distinct = Distinct.of(The.series(1, 2, 3, 1, 4, 2)).lru(3)
+
+        when:
+        now(distinct)
+
+        then:
+        completed
+        results == [1, 2, 3, 4, 2]
+        distinct.statistics().size == 3
+        distinct.statistics().evictions == 2
+        distinct.statistics().duplicates == 1
+        distinct.statistics().passed == 5
+    }
+
+    def "expiring forgets keys after ttl"() {
+        given:
+        def filter = DuplicateFilter.expiring(Duration.ofMillis(50), 100)
+
+        expect:
+        filter.firstSeen("a")
+        !filter.firstSeen("a")
+
+        when:
+        Thread.sleep(100)
+
+        then:
+        filter.firstSeen("a")
+        filter.evictions == 1
+    }
+
+    def "expiring keeps at most max size"() {
+        given:
+        def filter = DuplicateFilter.expiring(Duration.ofMinutes(1), 2)
+
+        expect:
+        filter.firstSeen(1)
+        filter.firstSeen(2)
+        filter.firstSeen(3)
+        filter.firstSeen(1)
+        !filter.firstSeen(3)
+        filter.size == 2
+    }
+
+    def "bloom drops duplicates in fixed memory"() {
+        given:
+        def distinct = Distinct.of(The.series((1..20000).collect { it % 1000 }.toArray(new Integer[0]))).bloom(10000, 0.01)
+
+        when:
+        now(distinct)
+
+        then:
+        completed
+        results.size() <= 1000
+        results.size() >= 980
+        distinct.statistics().memoryBytes < 30000
+        distinct.statistics().hitRate >= 0.95
+    }
+
+    def "bloom false positive rate holds as keys age out"() {
+        given:
+        def filter = DuplicateFilter.bloom(1000, 0.01)
+        (1..100000).each { filter.firstSeen(it) }
+
+        when:
+        def dropped = (1000001..1010000).count { !filter.firstSeen(it) }
+
+        then:
+        dropped < 200
+        filter.size <= 2000
+    }
+
+    def "statement shares filter between executions"() {
+        given:
+        def distinct = Distinct.of(The.series(1, 2)).lru(10)
+
+        when:
+        now(distinct)
+        now(distinct)
+
+        then:
+        results == [1, 2]
+        distinct.statistics().duplicates == 2
+    }
+}
@@ -0,0 +1,153 @@
+package proactive.statements
+
+import proactive.core.Schedulers
+
+import java.util.concurrent.atomic.AtomicBoolean
+
+class OptimizerSpec extends StatementSpecification {
+    def "first of a single-valued statement is removed"() {
+        given:
+        def wait = Wait.until(The.series(false, 2, 3))
+
+        expect:
+        First.of(wait).optimize().is(wait)
+        First.of(First.of(wait)).optimize().is(wait)
+
+        when:
+        now(First.of(wait))
+
+        then:
+        results == [2]
+        completed
+    }
+
+    def "nested waits are fused"() {
+        given:
+        def inner = Wait.until(The.series(false, 1))
+
+        expect:
+        Wait.until(inner).optimize().is(inner)
+    }
+
+    def "checks of constants are tested each time they run"() {
+        given:
+        def flag = new AtomicBoolean()
+        def statement = Check.that(The.value(1)).matches({ flag.get() }).then(The.value("on"))
+
+        expect:
+        !(statement.optimize() instanceof The)
+
+        when:
+        now(statement)
+
+        then:
+        results == []
+        error == null
+        completed
+
+        when:
+        results.clear()
+        flag.set(true)
+        now(statement)
+
+        then:
+        results == ["on"]
+        error == null
+        completed
+    }
+
+    def "otherwise branches of constants are chosen each time they run"() {
+        given:
+        def flag = new AtomicBoolean()
+        def statement = Check.that(The.value(1)).matches({ flag.get() }).then(The.value("on")).otherwise(The.value("off"))
+
+        when:
+        now(statement)
+        flag.set(true)
+        now(statement)
+
+        then:
+        results == ["off", "on"]
+    }
+
+    def "waits on constants are tested each time they run"() {
+        given:
+        def flag = new AtomicBoolean()
+        def statement = Wait.until(The.value(1)).matches({ flag.get() })
+
+        when:
+        now(statement)
+        flag.set(true)
+        now(statement)
+
+        then:
+        results == [1]
+    }
+
+    def "identical branches skip the check"() {
+        given:
+        def send = The.value("either")
+        def statement = Check.that(The.series(1, 2)).matches({ it > 1 }).then(send).otherwise(send)
+
+        expect:
+        statement.optimize() instanceof Try.Then
+
+        when:
+        now(statement)
+
+        then:
+        results == ["either", "either"]
+        completed
+    }
+
+    def "try without steps is removed"() {
+        given:
+        def series = The.series(1, 2)
+
+        expect:
+        Try.resolving(series).optimize().is(series)
+        Try.resolving(First.of(series)).optimize() instanceof First
+    }
+
+    def "try chains are rebuilt over an optimized root"() {
+        when:
+        def statement = Try.resolving(First.of(Wait.until(The.series(false, 5, 6))))
+                .then({ The.value(it + 1) })
+                .then({ The.value(it * 2) })
+
+        then:
+        statement.optimize() != statement
+
+        when:
+        now(statement)
+
+        then:
+        results == [12]
+        completed
+    }
+
+    def "scheduled statements are rebuilt over an optimized statement"() {
+        given:
+        def wait = Wait.until(The.series(false, 3))
+        def statement = First.of(wait).emitOn(Schedulers.immediate())
+
+        expect:
+        statement.optimize() != statement
+        wait.runOn(Schedulers.immediate()).with { it.optimize().is(it) }
+
+        when:
+        now(statement)
+
+        then:
+        results == [3]
+        completed
+    }
+
+    def "checks which throw are left to fail when executed"() {
+        when:
+        now(Check.that(The.value(1)).matches({ throw new IllegalStateException("failed") }).then(The.value(2)))
+
+        then:
+        error instanceof IllegalStateException
+    }
+}
@@ -0,0 +1,79 @@
+package proactive.statements
+
+import reactor.core.publisher.Mono
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+
+class ParallelSpec extends StatementSpecification {
+    def "parallel series keeps order"() {
+        given:
+        def values = (1..1000).toArray(new Integer[0])
+
+        when:
+        now(Parallel.of(The.series(values)).chunk(64).then({ The.value(it * 2) }))
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        error == null
+        results == (1..1000).collect { it * 2 }
+    }
+
+    def "parallel series runs chunks on fork-join threads"() {
+        given:
+        def threads = [].asSynchronized()
+
+        when:
+        now(Parallel.of(The.series(1, 2, 3, 4)).chunk(1).then({
+            threads << Thread.currentThread().name
+            Check.that(The.value(it)).matches({ it % 2 == 0 }).then({ The.value("even") }).otherwise({ The.value("odd") })
+        }))
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        results == ["odd", "even", "odd", "even"]
+        threads.every { it.contains("ForkJoinPool") }
+    }
+
+    def "parallel chunk keeps order of asynchronous values"() {
+        when:
+        now(Parallel.of(The.series(1, 2, 3, 4)).chunk(4).then({ value ->
+            The.publisher(Mono.delay(Duration.ofMillis((5 - value) * 20)).map({ value }))
+        }))
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        error == null
+        results == [1, 2, 3, 4]
+    }
+
+    def "parallel publisher values keep order"() {
+        when:
+        now(Parallel.of(Try.resolving(The.series(3, 2, 1))).then({ value ->
+            Thread.sleep(value * 20)
+            The.series(value, value * 10)
+        }))
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        results == [3, 30, 2, 20, 1, 10]
+    }
+
+    def "parallel sends error"() {
+        when:
+        now(Parallel.of(The.series(1, 2)).then({ throw new IllegalStateException("failed") }))
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert error instanceof IllegalStateException
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package proactive.statements
+
+import proactive.core.Schedulers
+import spock.util.concurrent.PollingConditions
+
+class PartitionedSpec extends StatementSpecification {
+    def loops = Schedulers.newEventLoops("partitioned-spec", 4, 1024)
+
+    def cleanup() {
+        loops*.dispose()
+    }
+
+    def "partitioned series keeps order per key"() {
+        given:
+        def values = (1..1000).toArray(new Integer[0])
+
+        when:
+        now(Partitioned.of(The.series(values)).by({ it % 10 }).on(loops).prefetch(16).then({ The.value(it) }))
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        error == null
+        results.size() == 1000
+        (0..9).every { key -> results.findAll { it % 10 == key } == (1..1000).findAll { it % 10 == key } }
+    }
+
+    def "partitioned series with a single key never stalls"() {
+        given:
+        def values = (1..20000).toArray(new Integer[0])
+
+        when:
+        now(Partitioned.of(The.series(values)).by({ 0 }).on(loops).prefetch(1).then({ The.value(it) }))
+
+        then:
+        new PollingConditions(timeout: 10).eventually {
+            assert completed
+        }
+        error == null
+        results == values.toList()
+    }
+
+    def "partitioned series runs each key on one thread"() {
+        given:
+        def threads = [:].asSynchronized()
+
+        when:
+        now(Partitioned.of(The.series(1, 2, 3, 4, 5, 6, 7, 8)).by({ it % 3 }).on(loops).then({
+            threads.computeIfAbsent(it % 3, { [] as Set }) << Thread.currentThread().name
+            The.series(it, it * 10)
+        }))
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        results.size() == 16
+        threads.values().every { it.size() == 1 && it.first().startsWith("partitioned-spec-") }
+    }
+
+    def "partitioned sends error"() {
+        when:
+        now(Partitioned.of(The.series(1, 2, 3)).by({ it }).on(loops).then({
+            if (it == 2) {
+                throw new IllegalStateException("failed")
+            }
+            The.value(it)
+        }))
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert error instanceof IllegalStateException
+        }
+        !completed
+    }
+}
@@ -1,5 +1,32 @@
 package proactive.statements
 
+import org.reactivestreams.Publisher
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import proactive.core.AdapterSupport
+import proactive.core.ArraySource
+import proactive.core.BaseStatement
+import proactive.core.Cardinality
+import proactive.core.Context
+import proactive.core.EmitterPublisher
+import proactive.core.ProactiveDriver
+import proactive.core.Schedulers
+import proactive.core.io.BufferPool
+import proactive.core.io.Framing
+import proactive.core.io.MappedRecordPublisher
+import proactive.core.io.PooledBuffer
+import proactive.core.io.SocketSource
+import reactor.core.publisher.DirectProcessor
+import reactor.core.publisher.Flux
+import spock.util.concurrent.PollingConditions
+
+import java.nio.ByteBuffer
+import java.nio.channels.AsynchronousServerSocketChannel
+import java.nio.channels.AsynchronousSocketChannel
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+
 class TheSpec extends StatementSpecification {
     def "value"() {
         when:
@@ -21,6 +48,173 @@ class TheSpec extends StatementSpecification {
         completed
     }
 
+    def "cardinality is carried through single-valued statements"() {
+        expect:
+        The.value(1).get().cardinality() == Cardinality.ONE
+        The.value(null).get().cardinality() == Cardinality.EMPTY
+        The.series(1, 2).get().cardinality() == Cardinality.MANY
+        Wait.until(The.series(1, 2)).get().cardinality() == Cardinality.OPTIONAL
+        Try.resolving(The.value(1)).then({ The.value(it) }).get().cardinality() == Cardinality.MANY
+    }
+
+    def "primitive arrays"() {
+        when:
+        now(The.ints(1, 2))
+        now(The.longs(3L))
+        now(The.doubles(4.5d, 5.5d))
+
+        then:
+        results == [1, 2, 3L, 4.5d, 5.5d]
+        error == null
+        completed
+        The.ints().get().cardinality() == Cardinality.EMPTY
+        The.longs(1L).get().cardinality() == Cardinality.ONE
+    }
+
+    def "array sources send only what is requested"() {
+        given:
+        def received = []
+        Subscription subscription = null
+        def done = false
+
+        when:
+        ArraySource.ofInts((0..999) as int[]).filter({ it % 2 == 0 }).subscribe(new Subscriber<Integer>() {
+            void onSubscribe(Subscription s) { subscription = s }
+            void onNext(Integer value) { received << value }
+            void onError(Throwable t) {}
+            void onComplete() { done = true }
+        })
+        subscription.request(3)
+
+        then:
+        received == [0, 2, 4]
+        !done
+
+        when:
+        subscription.request(Long.MAX_VALUE)
+
+        then:
+        received.size() == 500
+        received.last() == 998
+        done
+    }
+
+    def "emitter sends emitted values"() {
+        given:
+        def emitter = The.<Integer>emitter()
+
+        when:
+        now(emitter)
+        emitter.emit(1)
+        emitter.emit(2)
+        emitter.complete()
+
+        then:
+        results == [1, 2]
+        error == null
+        completed
+        !emitter.emit(3)
+    }
+
+    def "emitter overflow policies"() {
+        given:
+        def emitter = The.<Integer>emitter(2, overflow)
+
+        when:
+        def accepted = [1, 2, 3].collect { emitter.emit(it) }
+        now(emitter)
+        emitter.complete()
+
+        then:
+        accepted == expectedAccepted
+        results == expected
+        emitter.dropped() == 1
+        (error != null) == failed
+
+        where:
+        overflow                               | expectedAccepted     | expected | failed
+        EmitterPublisher.Overflow.DROP_NEWEST  | [true, true, false]  | [1, 2]   | false
+        EmitterPublisher.Overflow.DROP_OLDEST  | [true, true, true]   | [2, 3]   | false
+        EmitterPublisher.Overflow.FAIL         | [true, true, false]  | []       | true
+    }
+
+    def "emitter feeds pending waits"() {
+        given:
+        def emitter = The.<Integer>emitter()
+
+        when:
+        now(Wait.until(emitter).matches({ it > 5 }))
+        (1..10).each { emitter.emit(it) }
+
+        then:
+        results == [6]
+        completed
+    }
+
+    def "default emitter never blocks before anything subscribes"() {
+        given:
+        def emitter = The.<Integer>emitter()
+
+        when:
+        def accepted = (1..EmitterPublisher.DEFAULT_CAPACITY + 10).every { emitter.emit(it) }
+
+        then:
+        accepted
+        emitter.dropped() == 10
+    }
+
+    def "emitter skips subscribers cancelled while a value is sent"() {
+        given:
+        def publisher = new EmitterPublisher<PooledBuffer>(4, EmitterPublisher.Overflow.BLOCK)
+        def buffer = new BufferPool(16, 64, 256, 4).allocate(8)
+        Subscription second = null
+        publisher.subscribe([
+                onSubscribe: { Subscription s -> s.request(10) },
+                onNext     : { second.cancel(); results << it },
+                onError    : { error = it },
+                onComplete : {}
+        ] as Subscriber)
+        publisher.subscribe([
+                onSubscribe: { Subscription s -> second = s; s.request(10) },
+                onNext     : { results << it },
+                onError    : { error = it },
+                onComplete : {}
+        ] as Subscriber)
+
+        when:
+        publisher.emit(buffer)
+
+        then:
+        results == [buffer]
+        buffer.refCnt() == 1
+    }
+
+    def "emitter accepts values from many threads"() {
+        given:
+        def emitter = The.<Integer>emitter(64, EmitterPublisher.Overflow.BLOCK)
+        def conditions = new PollingConditions(timeout: 10)
+        now(emitter)
+
+        when:
+        def threads = (0..<4).collect { producer ->
+            Thread.start {
+                for (int i = 0; i < 10000; i++) {
+                    emitter.emit(producer * 10000 + i)
+                }
+            }
+        }
+        threads*.join()
+        emitter.complete()
+
+        then:
+        conditions.eventually {
+            assert completed
+        }
+        results.size() == 40000
+        results.toSet().size() == 40000
+        emitter.dropped() == 0
+    }
+
     def "reactive publisher"() {
         when:
         now(The.publisher( Flux.just(1, 2, 3)))
@@ -40,4 +234,357 @@ class TheSpec extends StatementSpecification {
         error == null
         completed
     }
+
+    def "adapter round trips do not wrap"() {
+        given:
+        def driver = ProactiveDriver.Find.defaultDriver()
+        def publisher = Flux.just(1, 2, 3)
+        def context = The.series(1, 2, 3).get()
+
+        expect:
+        AdapterSupport.toPublisher(AdapterSupport.toFlowPublisher(publisher)).is(publisher)
+        driver.toFlowPublisher(context).is(context)
+        driver.toContext(driver.toFlowPublisher(context)).is(context)
+    }
+
+    def "contexts from another driver are adopted"() {
+        given:
+        def foreign = new Context<Integer>() {
+            @Override
+            Cardinality cardinality() {
+                Cardinality.MANY
+            }
+
+            @Override
+            Publisher<Integer> publisher() {
+                Flux.just(1, 2, 3)
+            }
+        }
+        def statement = new BaseStatement<Integer>() {
+            @Override
+            Context<Integer> get() {
+                foreign
+            }
+        }
+
+        when:
+        now(Check.that(statement).matches({ it > 1 }).then({ The.value(it * 10) }))
+
+        then:
+        results == [20, 30]
+        error == null
+        completed
+    }
+
+    def "statements keep the driver bound when they were built"() {
+        given:
+        def bound = Mock(ProactiveDriver)
+        def statement
+
+        when:
+        def scope = ProactiveDriver.Find.bind(bound)
+        try {
+            statement = First.of(The.value(1))
+        } finally {
+            scope.close()
+        }
+
+        then:
+        1 * bound.just(1)
+        ProactiveDriver.Find.defaultDriver() != bound
+
+        when:
+        statement.now()
+
+        then:
+        1 * bound.first(_)
+        1 * bound.subscribe(_)
+    }
+
+    def "parallel and partitioned statements bind their driver when building each value's statement"() {
+        given:
+        def bound = ProactiveDriver.Find.defaultDriver().getClass().newInstance()
+        def loops = Schedulers.newEventLoops("driver-spec", 2, 16)
+        def found = [].asSynchronized()
+        def parallel
+        def partitioned
+
+        when:
+        def scope = ProactiveDriver.Find.bind(bound)
+        try {
+            parallel = Parallel.of(The.series(1, 2, 3, 4)).chunk(1).then({
+                found << ProactiveDriver.Find.find()
+                The.value(it)
+            })
+            partitioned = Partitioned.of(The.series(5, 6, 7, 8)).by({ it % 2 }).on(loops).then({
+                found << ProactiveDriver.Find.find()
+                The.value(it)
+            })
+        } finally {
+            scope.close()
+        }
+        parallel.await()
+        partitioned.await()
+
+        then:
+        found.size() == 8
+        found.every { it.is(bound) }
+
+        cleanup:
+        loops*.dispose()
+    }
+
+    def "lines"() {
+        given:
+        Path file = tempFile("one\ntwo\r\n\nthree")
+
+        when:
+        now(The.lines(file))
+
+        then:
+        results == ["one", "two", "", "three"]
+        error == null
+        completed
+
+        cleanup:
+        Files.delete(file)
+    }
+
+    def "records"() {
+        given:
+        Path file = tempFile("a;;bb;;;;ccc;;")
+
+        when:
+        now(The.records(file, ";;"))
+
+        then:
+        results == ["a", "bb", "", "ccc"]
+        error == null
+        completed
+
+        cleanup:
+        Files.delete(file)
+    }
+
+    def "records spanning mapped regions"() {
+        given:
+        Path file = tempFile("alpha,beta,gamma-delta-epsilon,z")
+
+        when:
+        now(The.publisher(new MappedRecordPublisher(file, ",".bytes, StandardCharsets.UTF_8, false, 4)))
+
+        then:
+        results == ["alpha", "beta", "gamma-delta-epsilon", "z"]
+        error == null
+        completed
+
+        cleanup:
+        Files.delete(file)
+    }
+
+    def "records honour demand"() {
+        given:
+        Path file = tempFile("1\n2\n3")
+        Subscription subscription = null
+        Subscriber<String> subscriber = Mock() {
+            onSubscribe(_) >> { Subscription s -> subscription = s }
+        }
+        new MappedRecordPublisher(file, "\n".bytes, StandardCharsets.UTF_8, true, 1024).subscribe(subscriber)
+
+        when:
+        subscription.request(2)
+
+        then:
+        1 * subscriber.onNext("1")
+        1 * subscriber.onNext("2")
+        0 * subscriber.onComplete()
+
+        when:
+        subscription.request(2)
+
+        then:
+        1 * subscriber.onNext("3")
+        1 * subscriber.onComplete()
+
+        cleanup:
+        Files.delete(file)
+    }
+
+    def "chunks"() {
+        given:
+        Path file = tempFile("0123456789")
+
+        when:
+        now(The.chunks(file, 4))
+
+        then:
+        results*.buffer()*.remaining() == [4, 4, 2]
+        error == null
+        completed
+
+        cleanup:
+        results*.release()
+        Files.delete(file)
+    }
+
+    def "socket"() {
+        given:
+        def server = AsynchronousServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.loopbackAddress, 0))
+        def accepted = server.accept()
+
+        when:
+        now(Try.resolving(The.socket(server.localAddress, Framing.delimited("\n".bytes, 16))).then({
+            def text = StandardCharsets.UTF_8.decode(it.buffer()).toString()
+            it.release()
+            The.value(text)
+        }))
+        def peer = accepted.get()
+        peer.write(ByteBuffer.wrap("a\nbb\n".bytes)).get()
+        peer.close()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        results == ["a", "bb"]
+        error == null
+
+        cleanup:
+        server?.close()
+    }
+
+    def "socket fails a frame which fills the buffer without a delimiter"() {
+        given:
+        def server = AsynchronousServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.loopbackAddress, 0))
+        def accepted = server.accept()
+        def maxFrameLength = 128 * 1024
+
+        when:
+        now(The.socket(server.localAddress, Framing.delimited("\n".bytes, maxFrameLength)))
+        def peer = accepted.get()
+        def frame = new byte[maxFrameLength + 1]
+        Arrays.fill(frame, (byte) 'x')
+        peer.write(ByteBuffer.wrap(frame)).get()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert error instanceof IOException
+        }
+        results == []
+
+        cleanup:
+        peer?.close()
+        server?.close()
+    }
+
+    def "channel is closed when cancelled with a read outstanding"() {
+        given:
+        def server = AsynchronousServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.loopbackAddress, 0))
+        def accepted = server.accept()
+        def client = AsynchronousSocketChannel.open()
+        client.connect(server.localAddress).get()
+        def peer = accepted.get()
+        Subscription subscription = null
+        new SocketSource(client, Framing.delimited("\n".bytes, 16), BufferPool.shared(), 64).subscribe([
+                onSubscribe: { Subscription s -> subscription = s; s.request(1) },
+                onNext     : { results << it },
+                onError    : { error = it },
+                onComplete : { completed = true }
+        ] as Subscriber)
+
+        when:
+        subscription.cancel()
+
+        then:
+        !client.open
+        peer.read(ByteBuffer.allocate(1)).get() == -1
+        results == []
+        error == null
+
+        cleanup:
+        client?.close()
+        peer?.close()
+        server?.close()
+    }
+
+    def "lines rejects charsets which are not ASCII-compatible"() {
+        when:
+        The.lines(Files.createTempDirectory("the").resolve("utf16.txt"), StandardCharsets.UTF_16)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "lines of missing file"() {
+        when:
+        now(The.lines(Files.createTempDirectory("the").resolve("missing.txt")))
+
+        then:
+        results == []
+        error instanceof IOException
+        !completed
+    }
+
+    private static Path tempFile(String content) {
+        Path file = Files.createTempFile("the", ".txt")
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8))
+        return file
+    }
+
+    def "shared publisher is subscribed once"() {
+        given:
+        def feed = DirectProcessor.<Integer>create()
+        def subscriptions = 0
+        def shared = The.shared(feed.doOnSubscribe({ subscriptions++ }))
+        def first = []
+        def second = []
+
+        when:
+        Wait.until(shared).matches({ it > 1 }).now({ first << it })
+        Wait.until(shared).matches({ it > 2 }).now({ second << it })
+        feed.onNext(1)
+        feed.onNext(2)
+        feed.onNext(3)
+
+        then:
+        subscriptions == 1
+        first == [2]
+        second == [3]
+        !feed.hasDownstreams()
+    }
+
+    def "shared publisher replays recent values"() {
+        given:
+        def feed = DirectProcessor.<Integer>create()
+        def shared = The.shared(feed, 2)
+        def late = []
+
+        when:
+        shared.now({})
+        feed.onNext(1)
+        feed.onNext(2)
+        feed.onNext(3)
+        shared.now({ late << it })
+        feed.onNext(4)
+
+        then:
+        late == [2, 3, 4]
+    }
+
+    def "shared flow publisher"() {
+        given:
+        def feed = DirectProcessor.<Integer>create()
+        def shared = The.sharedFlow(AdapterSupport.toFlowPublisher(feed), 1)
+        def late = []
+
+        when:
+        shared.now({})
+        feed.onNext(1)
+        feed.onNext(2)
+        shared.now({ late << it })
+        feed.onNext(3)
+
+        then:
+        late == [2, 3]
+    }
 }
@@ -1,5 +1,15 @@
 package proactive.statements
 
+import proactive.core.Context
+import proactive.core.Priority
+import proactive.core.Schedulers
+import proactive.core.Statement
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.function.Consumer
+
 class TrySpec extends StatementSpecification {
     def "try value"() {
         when:
@@ -60,4 +70,262 @@ class TrySpec extends StatementSpecification {
         error == null
         completed
     }
+
+    def "try value then function run on scheduler"() {
+        given:
+        def scheduler = Schedulers.newBounded("try-spec", 1, 16)
+        def threads = []
+
+        when:
+        now(Try.resolving(The.series(1, 2)).then({
+            threads << Thread.currentThread().name
+            The.value(it * 10)
+        }).runOn(scheduler))
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        results == [10, 20]
+        threads == ["try-spec-1", "try-spec-1"]
+
+        cleanup:
+        scheduler.dispose()
+    }
+
+    def "bounded schedulers need unique names until disposed"() {
+        given:
+        def scheduler = Schedulers.newBounded("try-unique-spec", 1, 16)
+
+        when:
+        Schedulers.newBounded("try-unique-spec", 1, 16)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        scheduler.dispose()
+        scheduler = Schedulers.newBounded("try-unique-spec", 1, 16)
+
+        then:
+        scheduler.name() == "try-unique-spec"
+
+        cleanup:
+        scheduler.dispose()
+    }
+
+    def "try value emit on scheduler"() {
+        given:
+        def scheduler = Schedulers.newBounded("try-emit-spec", 1, 16)
+        def threads = []
+
+        when:
+        Try.resolving(The.series(1, 2)).emitOn(scheduler).now({
+            threads << Thread.currentThread().name
+            results << it
+        }, { error = it }, { completed = true })
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        results == [1, 2]
+        threads == ["try-emit-spec-1", "try-emit-spec-1"]
+
+        cleanup:
+        scheduler.dispose()
+    }
+
+    def "try series then blocking call"() {
+        when:
+        Try.resolving(The.series(1, 2, 3))
+                .thenBlocking({ Thread.sleep(10); it * 10 } as Try.Call)
+                .now({ results << it }, { error = it }, { completed = true })
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        results.sort() == [10, 20, 30]
+        error == null
+    }
+
+    def "try value then blocking call throwing checked exception"() {
+        when:
+        now(Try.resolving(The.value(1)).thenBlocking({ throw new IOException("failed") } as Try.Call))
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert error instanceof IOException
+        }
+        results == []
+    }
+
+    def "try series then blocking call on scheduler awaited"() {
+        given:
+        def scheduler = Schedulers.newBounded("try-blocking-spec", 2, 16)
+
+        when:
+        def last = Try.resolving(The.series(1, 2, 3))
+                .thenBlocking({ Thread.currentThread().name } as Try.Call, scheduler, 2)
+                .await()
+
+        then:
+        last.startsWith("try-blocking-spec-")
+
+        cleanup:
+        scheduler.dispose()
+    }
+
+    def "await rethrows error"() {
+        when:
+        Try.resolving(The.value(1)).then({ throw new IllegalStateException("failed") }).await()
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "await empty"() {
+        expect:
+        Try.resolving(The.series()).await() == null
+    }
+
+    def "await on any statement"() {
+        given:
+        def series = The.series(1, 2, 3)
+        def statement = new Statement<Integer>() {
+            void now() {
+                series.now()
+            }
+
+            void now(Consumer<? super Integer> next, Consumer<? super Throwable> error, Runnable complete,
+                     Runnable subscribe) {
+                series.now(next, error, complete, subscribe)
+            }
+
+            void after(Duration delay) {
+                series.after(delay)
+            }
+
+            void after(Duration delay, Consumer<? super Integer> next, Consumer<? super Throwable> error,
+                       Runnable complete, Runnable subscribe) {
+                series.after(delay, next, error, complete, subscribe)
+            }
+
+            Context<Integer> get() {
+                series.get()
+            }
+        }
+
+        expect:
+        statement.await() == 3
+    }
+
+    def "try value with priority"() {
+        given:
+        def threads = []
+
+        when:
+        now(Try.resolving(The.value(1)).then({
+            threads << Thread.currentThread().name
+            The.value(it * 10)
+        }).withPriority(Priority.INTERACTIVE))
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        results == [10]
+        threads.every { it.startsWith("proactive-priority-") }
+    }
+
+    def "try values at priorities share threads by weight"() {
+        given:
+        def scheduler = Schedulers.newPriority("try-priority-spec", 1, 64, Duration.ofMinutes(1))
+        def gate = new CountDownLatch(1)
+        def order = [].asSynchronized()
+        scheduler.execute({ gate.await() })
+
+        when:
+        (1..16).each { value ->
+            Try.resolving(The.value("batch")).then({ order << it; The.value(it) }).runOn(scheduler.at(Priority.BATCH)).now()
+            Try.resolving(The.value("interactive")).then({ order << it; The.value(it) }).runOn(scheduler.at(Priority.INTERACTIVE)).now()
+        }
+        gate.countDown()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert order.size() == 32
+        }
+        order.take(16).count { it == "interactive" } >= 15
+        order.contains("batch")
+
+        cleanup:
+        scheduler.dispose()
+    }
+
+    def "try deep chain of then steps"() {
+        given:
+        def chain = Try.resolving(The.series(0, 100)).then({ The.value(it + 1) })
+        (2..10000).each { chain = chain.then({ The.value(it + 1) }) }
+
+        when:
+        now(chain)
+
+        then:
+        error == null
+        completed
+        results.sort() == [10000, 10100]
+    }
+
+    def "try deep chain of then steps fanning out"() {
+        given:
+        def chain = Try.resolving(The.value(1)).then({ The.series(it, it) })
+        (2..10).each { chain = chain.then({ The.series(it, it) }) }
+        (11..40).each { chain = chain.then({ The.value(it) }) }
+
+        when:
+        now(chain)
+
+        then:
+        completed
+        results.size() == 1024
+    }
+
+    def "try deep chain across schedulers"() {
+        given:
+        def chain = Try.resolving(The.series(1, 2, 3)).then({ The.value(it) })
+        (2..2000).each { step ->
+            chain = step % 100 == 0
+                    ? chain.thenBlocking({ it + 1 }, Schedulers.blocking(), 2)
+                    : chain.then({ The.value(it + 1) })
+        }
+
+        when:
+        def result = chain.await()
+
+        then:
+        [2000, 2001, 2002].contains(result)
+    }
+
+    def "try deep chain sends error"() {
+        given:
+        def chain = Try.resolving(The.value(1)).then({ The.value(it) })
+        (2..1000).each { step ->
+            chain = chain.then({
+                if (step == 500) {
+                    throw new IllegalStateException("failed")
+                }
+                The.value(it)
+            })
+        }
+
+        when:
+        now(chain)
+
+        then:
+        error instanceof IllegalStateException
+        !completed
+        results.isEmpty()
+    }
 }
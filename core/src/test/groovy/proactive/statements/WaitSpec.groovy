@@ -1,5 +1,11 @@
 package proactive.statements
 
+import proactive.core.io.BufferPool
+import reactor.core.publisher.DirectProcessor
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+
 class WaitSpec extends StatementSpecification {
 
     def "wait until value true"() {
@@ -43,6 +49,21 @@ class WaitSpec extends StatementSpecification {
     }
 
 
+    def "wait until releases unmatched values"() {
+        given:
+        def pool = new BufferPool(16, 64, 256, 4)
+        def (a, b, c) = [pool.allocate(8), pool.allocate(8), pool.allocate(8)]
+
+        when:
+        now(Wait.until(The.series(a, b, c)).matches { it.is(b) })
+
+        then:
+        results == [b]
+        a.refCnt() == 0
+        b.refCnt() == 1
+        c.refCnt() == 1
+    }
+
     def "wait until value matches"() {
         when:
         now(Wait.until(The.series(2, 4, 6, 8, 10)).matches {it % 3 == 0})
@@ -52,4 +73,161 @@ class WaitSpec extends StatementSpecification {
         error == null
         completed
     }
+
+    def "wait until latest value"() {
+        when:
+        now(Wait.until(The.series(1, 2, 3, 4)).latest().matches({ it > 2 }))
+
+        then:
+        results == [3]
+        completed
+    }
+
+    def "wait until sampled value"() {
+        given:
+        def feed = DirectProcessor.<Integer>create()
+        def checked = []
+
+        when:
+        now(Wait.until(The.publisher(feed)).sampled(Duration.ofMillis(50)).matches({ checked << it; it > 0 }))
+        (1..100).each { feed.onNext(it) }
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        results == [100]
+        checked == [100]
+    }
+
+    def "wait until debounced value"() {
+        given:
+        def feed = DirectProcessor.<Integer>create()
+
+        when:
+        now(Wait.until(The.publisher(feed)).debounced(Duration.ofMillis(50)).matches({ it % 2 == 0 }))
+        (1..10).each { feed.onNext(it) }
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        results == [10]
+    }
+
+    def "wait until all truthy"() {
+        given:
+        def a = DirectProcessor.<Boolean>create()
+        def b = DirectProcessor.<String>create()
+
+        when:
+        now(Wait.untilAll(The.publisher(a), The.publisher(b)))
+        a.onNext(false)
+        b.onNext("b")
+        a.onNext(true)
+
+        then:
+        results == [[true, "b"]]
+        completed
+        !a.hasDownstreams()
+        !b.hasDownstreams()
+    }
+
+    def "wait until latest values match"() {
+        given:
+        def low = DirectProcessor.<Integer>create()
+        def high = DirectProcessor.<Integer>create()
+        def subscriptions = 0
+
+        when:
+        now(Wait.untilAll(The.publisher(low.doOnSubscribe({ subscriptions++ })), The.publisher(high))
+                .matches({ it.has(0) && it.has(1) && it.get(1) - it.get(0) > 10 }))
+        low.onNext(5)
+        high.onNext(10)
+        high.onNext(12)
+        low.onNext(1)
+
+        then:
+        results == [[1, 12]]
+        subscriptions == 1
+    }
+
+    def "wait until all sources complete unmatched"() {
+        when:
+        now(Wait.untilAll(The.series(true, false), The.series(false)))
+
+        then:
+        results == []
+        completed
+    }
+
+    def "wait until any"() {
+        given:
+        def a = DirectProcessor.<Integer>create()
+        def b = DirectProcessor.<Integer>create()
+
+        when:
+        now(Wait.untilAny(The.publisher(a), The.publisher(b)).matches({ it > 3 }))
+        a.onNext(1)
+        b.onNext(2)
+        b.onNext(4)
+        a.onNext(5)
+
+        then:
+        results == [4]
+        completed
+    }
+
+    def "wait until any tests each value once"() {
+        given:
+        def a = DirectProcessor.<Integer>create()
+        def b = DirectProcessor.<Integer>create()
+        def tested = []
+
+        when:
+        now(Wait.untilAny(The.publisher(a), The.publisher(b)).matches({ tested << it; it > 3 }))
+        a.onNext(1)
+        b.onNext(2)
+        a.onNext(3)
+        b.onNext(4)
+
+        then:
+        tested == [1, 2, 3, 4]
+        results == [4]
+        completed
+    }
+
+    def "wait until any keeps a match followed by other values"() {
+        when:
+        now(Wait.untilAny(The.series(1, 5, 2), The.series(3)).matches({ it == 5 }))
+
+        then:
+        results == [5]
+        error == null
+        completed
+    }
+
+    def "wait over an array scans until the first match"() {
+        given:
+        int tested = 0
+
+        when:
+        now(Wait.until(The.ints((0..999) as int[])).matches({ tested++; it > 700 }))
+
+        then:
+        results == [701]
+        tested == 702
+        error == null
+        completed
+    }
+
+    def "wait over an array with no match"() {
+        when:
+        now(Wait.until(The.series(false, null, false)))
+
+        then:
+        results == []
+        error == null
+        completed
+    }
 }
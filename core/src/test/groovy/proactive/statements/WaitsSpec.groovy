@@ -0,0 +1,94 @@
+package proactive.statements
+
+import reactor.core.publisher.DirectProcessor
+
+class WaitsSpec extends StatementSpecification {
+    def feed = DirectProcessor.<Integer>create()
+    def waits = Waits.on(The.publisher(feed))
+
+    def "waits is value"() {
+        when:
+        now(waits.is(2))
+        feed.onNext(1)
+        feed.onNext(2)
+
+        then:
+        results == [2]
+        completed
+        waits.pending() == 0
+        !feed.hasDownstreams()
+    }
+
+    def "waits between values"() {
+        given:
+        def low = []
+        def high = []
+
+        when:
+        waits.between(1, 5).now({ low << it })
+        waits.between(4, 10).now({ high << it })
+        feed.onNext(0)
+        feed.onNext(11)
+        feed.onNext(7)
+        feed.onNext(3)
+
+        then:
+        high == [7]
+        low == [3]
+        waits.pending() == 0
+    }
+
+    def "waits matches predicate"() {
+        when:
+        now(waits.matches({ it % 3 == 0 }))
+        feed.onNext(2)
+        feed.onNext(9)
+
+        then:
+        results == [9]
+        completed
+    }
+
+    def "waits many keys share one subscription"() {
+        given:
+        def subscriptions = 0
+        def keyed = Waits.on(The.publisher(feed.doOnSubscribe({ subscriptions++ })), { it.intdiv(10) })
+
+        when:
+        (0..<10000).each { key -> keyed.is(key).now({ results << it }) }
+        (0..<10000).each { key -> keyed.between(key, key + 1).now({ results << it }) }
+        (0..<10000).each { feed.onNext(it * 10 + 5) }
+
+        then:
+        subscriptions == 1
+        results.size() == 20000
+        keyed.pending() == 0
+    }
+
+    def "waits complete when source completes"() {
+        when:
+        now(waits.is(1))
+        feed.onComplete()
+
+        then:
+        results == []
+        completed
+    }
+
+    def "waits reconnect once all have matched"() {
+        given:
+        def statement = waits.between(1, 2)
+
+        when:
+        def second = []
+        statement.now({ results << it })
+        statement.now({ second << it })
+        feed.onNext(2)
+        now(waits.is(3))
+        feed.onNext(3)
+
+        then:
+        results == [2, 3]
+        second == [2]
+    }
+}
@@ -0,0 +1,178 @@
+package proactive.statements
+
+import proactive.core.aggregate.Aggregators
+import proactive.core.aggregate.Window
+import reactor.core.publisher.DirectProcessor
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+
+class WindowedSpec extends StatementSpecification {
+
+    def "tumbling count windows"() {
+        when:
+        now(Windowed.of(The.series(1, 2, 3, 4, 5, 6, 7)).over(Window.tumbling(3)).sum({ it as double }))
+
+        then:
+        completed
+        results == [6d, 15d, 7d]
+    }
+
+    def "sliding count windows"() {
+        when:
+        now(Windowed.of(The.series(1, 5, 2, 8, 3, 1, 4)).over(Window.sliding(4, 2)).max({ it as double }))
+
+        then:
+        completed
+        results == [8d, 8d, 4d]
+    }
+
+    def "sliding count windows shorter than one window"() {
+        when:
+        now(Windowed.of(The.series(1, 2, 3)).over(Window.sliding(10, 5)).count())
+
+        then:
+        completed
+        results == [3L]
+    }
+
+    def "sliding min over many panes"() {
+        given:
+        def values = (1..1000).collect { (it * 7919) % 1000 }
+
+        when:
+        now(Windowed.of(The.series(values.toArray(new Integer[0]))).over(Window.sliding(100, 10)).min({ it as double }))
+
+        then:
+        completed
+        results.size() == 91
+        results == (0..90).collect { start -> values.subList(start * 10, start * 10 + 100).min() as double }
+    }
+
+    def "timed tumbling windows"() {
+        given:
+        def feed = DirectProcessor.<Integer>create()
+
+        when:
+        now(Windowed.avg(The.publisher(feed), Duration.ofMillis(100)))
+        (1..4).each { feed.onNext(it) }
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert results == [2.5d]
+        }
+
+        when:
+        feed.onNext(10)
+        feed.onComplete()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        results == [2.5d, 10d]
+    }
+
+    def "timed sliding windows"() {
+        given:
+        def feed = DirectProcessor.<Integer>create()
+
+        when:
+        now(Windowed.of(The.publisher(feed)).over(Window.sliding(Duration.ofMillis(200), Duration.ofMillis(50))).count())
+        (1..5).each { feed.onNext(it) }
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert results.size() >= 4
+        }
+        results.take(4) == [5L, 5L, 5L, 5L]
+
+        when:
+        feed.onComplete()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        !results.contains(0L)
+    }
+
+    def "session windows"() {
+        given:
+        def feed = DirectProcessor.<Integer>create()
+
+        when:
+        now(Windowed.of(The.publisher(feed)).over(Window.session(Duration.ofMillis(100))).count())
+        (1..3).each { feed.onNext(it) }
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert results == [3L]
+        }
+
+        when:
+        (1..2).each { feed.onNext(it) }
+        feed.onComplete()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert completed
+        }
+        results == [3L, 2L]
+    }
+
+    def "percentile within accuracy"() {
+        when:
+        now(Windowed.of(The.series((1..10000).toArray(new Integer[0]))).over(Window.tumbling(10000))
+                .percentile({ it as double }, 99))
+
+        then:
+        completed
+        results.size() == 1
+        Math.abs(results[0] - 9900d) / 9900d <= 0.01
+    }
+
+    def "distinct count within error"() {
+        when:
+        now(Windowed.of(The.series((1..20000).collect { it % 5000 }.toArray(new Integer[0])))
+                .over(Window.tumbling(20000)).distinct({ it }))
+
+        then:
+        completed
+        results.size() == 1
+        Math.abs(results[0] - 5000) / 5000d <= 0.05
+    }
+
+    def "custom aggregator"() {
+        when:
+        now(Windowed.of(The.series("a", "bb", "ccc")).over(Window.tumbling(2))
+                .aggregate(Aggregators.of({ new StringBuilder() }, { acc, value -> acc.append(value) },
+                        { left, right -> new StringBuilder(left).append(right) }, { it.toString() })))
+
+        then:
+        completed
+        results == ["abb", "ccc"]
+    }
+
+    def "aggregator failure sends error"() {
+        when:
+        now(Windowed.of(The.series(1, 2, 3)).over(Window.tumbling(2)).sum({
+            if (it == 2) {
+                throw new IllegalStateException("failed")
+            }
+            it as double
+        }))
+
+        then:
+        error instanceof IllegalStateException
+        !completed
+    }
+
+    def "window size must be a multiple of its slide"() {
+        when:
+        Window.sliding(10, 3)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
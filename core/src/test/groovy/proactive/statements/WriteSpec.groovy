@@ -0,0 +1,132 @@
+package proactive.statements
+
+import proactive.core.io.Framing
+import proactive.core.io.SyncPolicy
+import spock.util.concurrent.PollingConditions
+
+import java.nio.ByteBuffer
+import java.nio.channels.AsynchronousServerSocketChannel
+import java.nio.channels.AsynchronousSocketChannel
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Duration
+
+class WriteSpec extends StatementSpecification {
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+    Path file = Files.createTempFile("write", ".txt")
+
+    def cleanup() {
+        Files.deleteIfExists(file)
+    }
+
+    def "write series to file"() {
+        when:
+        now(Write.of(The.series("one", "two", "three")).to(file))
+
+        then:
+        conditions.eventually {
+            assert completed
+        }
+        results == [14L]
+        error == null
+        Files.readAllLines(file) == ["one", "two", "three"]
+    }
+
+    def "write in small batches"() {
+        given:
+        def values = (1..100).toArray(new Integer[0])
+
+        when:
+        now(Write.of(The.series(values)).batch(3).batchBytes(8).linger(Duration.ofMillis(1)).sync(SyncPolicy.EACH_BATCH).to(file))
+
+        then:
+        conditions.eventually {
+            assert completed
+        }
+        error == null
+        Files.readAllLines(file) == (1..100).collect { it.toString() }
+        results == [Files.size(file)]
+    }
+
+    def "write values larger than a batch"() {
+        when:
+        now(Write.of(The.series("a", "bbbbbbbbbbbb", "c")).batchBytes(4).sync(SyncPolicy.ON_COMPLETE).to(file))
+
+        then:
+        conditions.eventually {
+            assert completed
+        }
+        error == null
+        Files.readAllLines(file) == ["a", "bbbbbbbbbbbb", "c"]
+    }
+
+    def "write with encoder appending"() {
+        given:
+        Files.write(file, "start:".getBytes(StandardCharsets.UTF_8))
+
+        when:
+        now(Write.of(The.series(1, 2, 3)).encodedBy({ ByteBuffer.wrap([it] as byte[]) }).appending().to(file))
+
+        then:
+        conditions.eventually {
+            assert completed
+        }
+        results == [3L]
+        (Files.readAllBytes(file) as List) == ("start:".getBytes(StandardCharsets.UTF_8) as List) + [1, 2, 3]
+    }
+
+    def "write fails when the encoder throws"() {
+        when:
+        now(Write.of(The.series(1, 2, 3)).encodedBy({ if (it == 2) throw new IllegalStateException("bad"); ByteBuffer.wrap([it] as byte[]) }).to(file))
+
+        then:
+        conditions.eventually {
+            assert error instanceof IllegalStateException
+        }
+        !completed
+    }
+
+    def "write to socket"() {
+        given:
+        def server = AsynchronousServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.loopbackAddress, 0))
+        def accepted = server.accept()
+        def client = AsynchronousSocketChannel.open()
+        client.connect(server.localAddress).get()
+        def peer = accepted.get()
+        def framing = Framing.lengthPrefixed(1024)
+        def received = []
+
+        when:
+        now(Write.of(The.series("one", "two", "three")).encodedBy { ByteBuffer.wrap(it.bytes) }.framedBy(framing).batch(2).to(client))
+        The.channel(peer, framing).now({
+            received << StandardCharsets.UTF_8.decode(it.buffer()).toString()
+            it.release()
+        }, {})
+
+        then:
+        conditions.eventually {
+            assert completed
+            assert received == ["one", "two", "three"]
+        }
+        results == [23L]
+        error == null
+
+        cleanup:
+        client?.close()
+        peer?.close()
+        server?.close()
+    }
+
+    def "write empty statement"() {
+        when:
+        now(Write.of(The.series()).to(file))
+
+        then:
+        conditions.eventually {
+            assert completed
+        }
+        results == [0L]
+        Files.size(file) == 0
+    }
+}
@@ -5,10 +5,16 @@ import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import proactive.core.Context;
 import proactive.core.AdapterSupport;
+import proactive.core.Cardinality;
 import proactive.core.ProactiveDriver;
+import proactive.core.Scheduler;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Flow;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -19,68 +25,168 @@ import java.util.function.Predicate;
  */
 public class Reactor3ProactiveDriver implements ProactiveDriver {
 
+    /**
+     * Reactor schedulers wrapping each {@link Scheduler.Kind#CUSTOM custom} {@link Scheduler}.
+     */
+    private final ConcurrentMap<Scheduler, reactor.core.scheduler.Scheduler> schedulers = new ConcurrentHashMap<>();
+
     @Override
     public <T> Context<T> empty() {
-        return toContext(Mono.empty());
+        return toContext(Mono.empty(), Cardinality.EMPTY);
     }
 
     @Override
     public <T> Context<T> filter(Context<T> context, Predicate<? super T> predicate) {
-        Publisher<T> publisher = toPublisher(context);
-        if (publisher instanceof Mono) {
-            return toContext(Mono.from(publisher).filter(predicate));
+        Cardinality cardinality = context.cardinality();
+        if (cardinality.isSingle()) {
+            return toContext(toMono(context).filter(predicate), cardinality.filtered());
         } else {
-            return toContext(Flux.from(publisher).filter(predicate));
+            return toContext(toFlux(context).filter(predicate), cardinality);
         }
     }
 
     @Override
     public <I, T> Context<T> flatMap(Context<I> context, Function<? super I, ? extends Context<T>> mapper) {
-        Publisher<I> publisher = toPublisher(context);
-        if (publisher instanceof Mono) {
-            return toContext(Mono.from(publisher).flatMapMany(value -> toPublisher(mapper.apply(value))));
+        Cardinality cardinality = context.cardinality();
+        if (cardinality.isSingle()) {
+            return toContext(toMono(context).flatMapMany(value -> toPublisher(mapper.apply(value))), cardinality.flatMapped());
+        } else {
+            return toContext(toFlux(context).flatMap(value -> toPublisher(mapper.apply(value))), cardinality);
+        }
+    }
+
+    @Override
+    public <I, T> Context<T> flatMap(Context<I> context, Function<? super I, ? extends Context<T>> mapper, int maxConcurrency) {
+        Cardinality cardinality = context.cardinality();
+        if (cardinality.isSingle()) {
+            return flatMap(context, mapper);
         } else {
-            return toContext(Flux.from(publisher).flatMap(value -> toPublisher(mapper.apply(value))));
+            return toContext(toFlux(context).flatMap(value -> toPublisher(mapper.apply(value)), maxConcurrency), cardinality);
         }
     }
 
+    @Override
+    public <I, T> Context<T> flatMapSequential(Context<I> context, Function<? super I, ? extends Context<T>> mapper, int maxConcurrency) {
+        Cardinality cardinality = context.cardinality();
+        if (cardinality.isSingle()) {
+            return flatMap(context, mapper);
+        } else {
+            return toContext(toFlux(context).flatMapSequential(value -> toPublisher(mapper.apply(value)), maxConcurrency), cardinality);
+        }
+    }
+
+    @Override
+    public <T> Context<T> fromCallable(Callable<? extends T> callable) {
+        return toContext(Mono.fromCallable(callable), Cardinality.OPTIONAL);
+    }
+
     @Override
     @SafeVarargs
     public final <T> Context<T> just(T... values) {
-        return toContext(Flux.just(values));
+        if (values.length == 1) {
+            return just(values[0]);
+        }
+        return toContext(Flux.just(values), Cardinality.of(values.length));
     }
 
     @Override
     public <T> Context<T> just(T value) {
         if (value == null) {
-            return toContext(Mono.empty());
+            return empty();
         } else {
-            return toContext(Mono.just(value));
+            return toContext(Mono.just(value), Cardinality.ONE);
         }
     }
 
     @Override
     public <T> Context<T> find(Context<T> context, Predicate<? super T> predicate) {
-        Publisher<T> publisher = toPublisher(context);
-        if (publisher instanceof Mono) {
-            return toContext(Mono.from(publisher).filter(predicate));
+        Cardinality cardinality = context.cardinality();
+        if (cardinality.isSingle()) {
+            return filter(context, predicate);
         } else {
-            return toContext(Flux.from(publisher).filter(predicate).next());
+            return toContext(toFlux(context).filter(predicate).next(), Cardinality.OPTIONAL);
         }
     }
 
     @Override
     public <T> Context<T> first(Context<T> context) {
-        return toContext(Mono.from(toPublisher(context)));
+        if (context.cardinality().isSingle()) {
+            return context;
+        }
+        return toContext(toFlux(context).next(), Cardinality.OPTIONAL);
     }
 
     @Override
     public <T> Context<T> log(Context<T> context, String category) {
-        Publisher<T> publisher = toPublisher(context);
-        if (publisher instanceof Mono) {
-            return toContext(Mono.from(publisher).log(category));
+        Cardinality cardinality = context.cardinality();
+        if (cardinality.isSingle()) {
+            return toContext(toMono(context).log(category), cardinality);
         } else {
-            return toContext(Flux.from(publisher).log(category));
+            return toContext(toFlux(context).log(category), cardinality);
+        }
+    }
+
+    @Override
+    public <T> Context<T> share(Context<T> context, int replay) {
+        Cardinality cardinality = context.cardinality();
+        Flux<T> flux = toFlux(context);
+        if (replay > 0) {
+            return toContext(flux.replay(replay).refCount(), cardinality);
+        } else {
+            return toContext(flux.publish().refCount(), cardinality);
+        }
+    }
+
+    @Override
+    public <T> Context<T> subscribeOn(Context<T> context, Scheduler scheduler) {
+        Cardinality cardinality = context.cardinality();
+        if (cardinality.isSingle()) {
+            return toContext(toMono(context).subscribeOn(toReactorScheduler(scheduler)), cardinality);
+        } else {
+            return toContext(toFlux(context).subscribeOn(toReactorScheduler(scheduler)), cardinality);
+        }
+    }
+
+    @Override
+    public <T> Context<T> publishOn(Context<T> context, Scheduler scheduler) {
+        Cardinality cardinality = context.cardinality();
+        if (cardinality.isSingle()) {
+            return toContext(toMono(context).publishOn(toReactorScheduler(scheduler)), cardinality);
+        } else {
+            return toContext(toFlux(context).publishOn(toReactorScheduler(scheduler)), cardinality);
+        }
+    }
+
+    /**
+     * @param context A {@link Context} of at most one value.
+     * @return Its {@link Mono}.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> toMono(Context<T> context) {
+        Publisher<T> publisher = toPublisher(context);
+        return publisher instanceof Mono ? (Mono<T>) publisher : Mono.from(publisher);
+    }
+
+    private <T> Flux<T> toFlux(Context<T> context) {
+        return Flux.from(toPublisher(context));
+    }
+
+    /**
+     * Maps a {@link Scheduler} onto the equivalent Reactor scheduler.
+     *
+     * @param scheduler The {@link Scheduler}.
+     * @return The Reactor scheduler.
+     */
+    private reactor.core.scheduler.Scheduler toReactorScheduler(Scheduler scheduler) {
+        switch (scheduler.kind()) {
+            case IMMEDIATE:
+                return Schedulers.immediate();
+            case COMPUTATION:
+                return Schedulers.parallel();
+            case BLOCKING:
+                return Schedulers.elastic();
+            default:
+                return schedulers.computeIfAbsent(scheduler, Schedulers::fromExecutor);
         }
     }
 
@@ -91,11 +197,10 @@ public class Reactor3ProactiveDriver implements ProactiveDriver {
 
     @Override
     public <T> void subscribe(Context<T> context) {
-        Publisher<T> publisher = toPublisher(context);
-        if (publisher instanceof Mono) {
-            Mono.from(publisher).subscribe();
+        if (context.cardinality().isSingle()) {
+            toMono(context).subscribe();
         } else {
-            Flux.from(publisher).subscribe();
+            toFlux(context).subscribe();
         }
     }
 
@@ -111,8 +216,8 @@ public class Reactor3ProactiveDriver implements ProactiveDriver {
             };
         }
 
-        if (publisher instanceof Mono) {
-            Mono.from(publisher).subscribe(nextConsumer, errorConsumer, completeConsumer, subConsumer);
+        if (context.cardinality().isSingle()) {
+            toMono(context).subscribe(nextConsumer, errorConsumer, completeConsumer, subConsumer);
         } else {
             Flux.from(publisher).subscribe(nextConsumer, errorConsumer, completeConsumer, subConsumer);
         }
@@ -123,39 +228,73 @@ public class Reactor3ProactiveDriver implements ProactiveDriver {
         if (context instanceof ReactorContext) {
             return ((ReactorContext<T>) context).publisher;
         } else {
-            throw new IllegalArgumentException("Unsupported Context instance.");
+            return context.publisher();
+        }
+    }
+
+    @Override
+    public <T> Context<T> adopt(Context<T> context) {
+        if (context instanceof ReactorContext) {
+            return context;
         }
+        return toContext(context.publisher(), context.cardinality());
     }
 
     @Override
     public <T> Context<T> toContext(Publisher<T> publisher) {
-        return new ReactorContext<>(publisher);
+        return new ReactorContext<>(publisher, publisher instanceof Mono ? Cardinality.OPTIONAL : Cardinality.MANY);
+    }
+
+    @Override
+    public <T> Context<T> toContext(Publisher<T> publisher, Cardinality cardinality) {
+        if (cardinality.isSingle() && !(publisher instanceof Mono)) {
+            publisher = Mono.from(publisher);
+        }
+        return new ReactorContext<>(publisher, cardinality);
     }
 
     @Override
     public <T> Context<T> toContext(Flow.Publisher<T> flowPublisher) {
-        return new ReactorContext<>(AdapterSupport.toPublisher(flowPublisher));
+        if (flowPublisher instanceof ReactorContext) {
+            return (ReactorContext<T>) flowPublisher;
+        }
+        return toContext(AdapterSupport.toPublisher(flowPublisher));
     }
 
     @Override
     public <T> Flow.Publisher<T> toFlowPublisher(Context<T> context) {
-        if (context instanceof ReactorContext) {
-            return AdapterSupport.toFlowPublisher(((ReactorContext<T>) context).publisher);
-        } else {
-            throw new IllegalArgumentException("Unsupported Context instance.");
-        }
+        return (ReactorContext<T>) adopt(context);
     }
 
     /**
-     * Implementation of {@link Context} for the Reactor API.
+     * Implementation of {@link Context} for the Reactor API. Contexts of at most one value always hold a
+     * {@link Mono}. A context is also the {@link Flow.Publisher} of its values, so
+     * converting it to one allocates nothing.
      *
      * @param <T> The type of value being handled.
      */
-    private static class ReactorContext<T> implements Context<T> {
+    private static class ReactorContext<T> implements Context<T>, Flow.Publisher<T> {
         private final Publisher<T> publisher;
+        private final Cardinality cardinality;
 
-        private ReactorContext(Publisher<T> publisher) {
+        private ReactorContext(Publisher<T> publisher, Cardinality cardinality) {
             this.publisher = publisher;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public Cardinality cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public Publisher<T> publisher() {
+            return publisher;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super T> subscriber) {
+            publisher.subscribe(AdapterSupport.toSubscriber(subscriber));
         }
     }
 }
@@ -1,59 +1,118 @@
 package proactive.rxjava2;
 
 import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import io.reactivex.exceptions.OnErrorNotImplementedException;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.schedulers.Schedulers;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import proactive.core.AdapterSupport;
+import proactive.core.Cardinality;
 import proactive.core.Context;
 import proactive.core.ProactiveDriver;
+import proactive.core.Scheduler;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Flow;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+/**
+ * Implementation of the {@link ProactiveDriver} for <a href="https://github.com/ReactiveX/RxJava">RxJava 2</a>.
+ * Contexts known to send exactly one value are held as a {@link Single}, and those sending at most one as a
+ * {@link Maybe}, rather than as a {@link Flowable}.
+ */
 public class RxJava2ProactiveDriver implements ProactiveDriver {
+
+    /**
+     * RxJava schedulers wrapping each {@link Scheduler.Kind#CUSTOM custom} {@link Scheduler}.
+     */
+    private final ConcurrentMap<Scheduler, io.reactivex.Scheduler> schedulers = new ConcurrentHashMap<>();
+
     @Override
     public <T> Context<T> empty() {
-        return toContext(Flowable.empty());
+        return new RxJavaContext<>(Maybe.empty(), Cardinality.EMPTY);
     }
 
     @Override
     public <T> Context<T> filter(Context<T> context, Predicate<? super T> predicate) {
-        Flowable<T> pub = toFlowable(context);
-        return toContext(pub.filter(predicate::test));
+        Cardinality cardinality = context.cardinality();
+        if (cardinality.isSingle()) {
+            return new RxJavaContext<>(toMaybe(context).filter(predicate::test), cardinality.filtered());
+        }
+        return new RxJavaContext<>(toFlowable(context).filter(predicate::test), cardinality);
     }
 
     @Override
     public <T> Context<T> find(Context<T> context, Predicate<? super T> predicate) {
-        Flowable<T> pub = toFlowable(context);
-        return toContext(pub.filter(predicate::test).firstElement().toFlowable());
-    }
-
-    private <T> Flowable<T> toFlowable(Context<T> context) {
-        return Flowable.fromPublisher(toPublisher(context));
+        if (context.cardinality().isSingle()) {
+            return filter(context, predicate);
+        }
+        return new RxJavaContext<>(toFlowable(context).filter(predicate::test).firstElement(), Cardinality.OPTIONAL);
     }
 
     @Override
     public <T> Context<T> first(Context<T> context) {
-        return toContext(toFlowable(context).firstElement().toFlowable());
+        if (context.cardinality().isSingle()) {
+            return context;
+        }
+        return new RxJavaContext<>(toFlowable(context).firstElement(), Cardinality.OPTIONAL);
     }
 
     @Override
     public <I, T> Context<T> flatMap(Context<I> context, Function<? super I, ? extends Context<T>> mapper) {
-        return toContext(toFlowable(context).flatMap(value -> toPublisher(mapper.apply(value))));
+        Cardinality cardinality = context.cardinality();
+        if (cardinality.isSingle()) {
+            return new RxJavaContext<>(toMaybe(context).flatMapPublisher(value -> toPublisher(mapper.apply(value))),
+                    cardinality.flatMapped());
+        }
+        return new RxJavaContext<>(toFlowable(context).flatMap(value -> toPublisher(mapper.apply(value))), cardinality);
+    }
+
+    @Override
+    public <I, T> Context<T> flatMap(Context<I> context, Function<? super I, ? extends Context<T>> mapper, int maxConcurrency) {
+        if (context.cardinality().isSingle()) {
+            return flatMap(context, mapper);
+        }
+        return new RxJavaContext<>(toFlowable(context).flatMap(value -> toPublisher(mapper.apply(value)), maxConcurrency),
+                Cardinality.MANY);
+    }
+
+    @Override
+    public <I, T> Context<T> flatMapSequential(Context<I> context, Function<? super I, ? extends Context<T>> mapper, int maxConcurrency) {
+        if (context.cardinality().isSingle()) {
+            return flatMap(context, mapper);
+        }
+        return new RxJavaContext<>(toFlowable(context).concatMapEager(value -> toPublisher(mapper.apply(value)), maxConcurrency,
+                Flowable.bufferSize()), Cardinality.MANY);
+    }
+
+    @Override
+    public <T> Context<T> fromCallable(Callable<? extends T> callable) {
+        return new RxJavaContext<>(Maybe.<T>fromCallable(callable), Cardinality.OPTIONAL);
     }
 
     @Override
     public <T> Context<T> just(T value) {
-        return toContext(Flowable.just(value));
+        if (value == null) {
+            return empty();
+        }
+        return new RxJavaContext<>(Single.just(value), Cardinality.ONE);
     }
 
     @SafeVarargs
     @Override
     public final <T> Context<T> just(T... values) {
-        return toContext(Flowable.fromArray(values));
+        if (values.length == 1) {
+            return just(values[0]);
+        }
+        return new RxJavaContext<>(Flowable.fromArray(values), Cardinality.of(values.length));
     }
 
     @Override
@@ -62,6 +121,58 @@ public class RxJava2ProactiveDriver implements ProactiveDriver {
         return context;
     }
 
+    @Override
+    public <T> Context<T> share(Context<T> context, int replay) {
+        if (replay > 0) {
+            return toContext(toFlowable(context).replay(replay).refCount(), context.cardinality());
+        } else {
+            return toContext(toFlowable(context).publish().refCount(), context.cardinality());
+        }
+    }
+
+    @Override
+    public <T> Context<T> subscribeOn(Context<T> context, Scheduler scheduler) {
+        RxJavaContext<T> rx = rxContext(context);
+        io.reactivex.Scheduler rxScheduler = toRxScheduler(scheduler);
+        if (rx.single != null) {
+            return new RxJavaContext<>(rx.single.subscribeOn(rxScheduler), rx.cardinality);
+        } else if (rx.maybe != null) {
+            return new RxJavaContext<>(rx.maybe.subscribeOn(rxScheduler), rx.cardinality);
+        }
+        return new RxJavaContext<>(toFlowable(context).subscribeOn(rxScheduler), rx.cardinality);
+    }
+
+    @Override
+    public <T> Context<T> publishOn(Context<T> context, Scheduler scheduler) {
+        RxJavaContext<T> rx = rxContext(context);
+        io.reactivex.Scheduler rxScheduler = toRxScheduler(scheduler);
+        if (rx.single != null) {
+            return new RxJavaContext<>(rx.single.observeOn(rxScheduler), rx.cardinality);
+        } else if (rx.maybe != null) {
+            return new RxJavaContext<>(rx.maybe.observeOn(rxScheduler), rx.cardinality);
+        }
+        return new RxJavaContext<>(toFlowable(context).observeOn(rxScheduler), rx.cardinality);
+    }
+
+    /**
+     * Maps a {@link Scheduler} onto the equivalent RxJava scheduler.
+     *
+     * @param scheduler The {@link Scheduler}.
+     * @return The RxJava scheduler.
+     */
+    private io.reactivex.Scheduler toRxScheduler(Scheduler scheduler) {
+        switch (scheduler.kind()) {
+            case IMMEDIATE:
+                return Schedulers.trampoline();
+            case COMPUTATION:
+                return Schedulers.computation();
+            case BLOCKING:
+                return Schedulers.io();
+            default:
+                return schedulers.computeIfAbsent(scheduler, Schedulers::from);
+        }
+    }
+
     @Override
     public <T> void subscribe(Context<T> context, Subscriber<? super T> subscriber) {
         toFlowable(context).subscribe(subscriber);
@@ -69,60 +180,160 @@ public class RxJava2ProactiveDriver implements ProactiveDriver {
 
     @Override
     public <T> void subscribe(Context<T> context) {
-        toFlowable(context).subscribe();
+        RxJavaContext<T> rx = rxContext(context);
+        if (rx.single != null) {
+            rx.single.subscribe();
+        } else if (rx.maybe != null) {
+            rx.maybe.subscribe();
+        } else {
+            rx.flowable.subscribe();
+        }
     }
 
     @Override
     public <T> void subscribe(Context<T> context, Consumer<? super T> nextConsumer, Consumer<? super Throwable> errorConsumer, Runnable completeConsumer, Runnable subscribeConsumer) {
-        io.reactivex.functions.Consumer<? super Subscription> rxSubscribeConsumer = subscription -> {
-            subscribeConsumer.run();
-            subscription.request(Long.MAX_VALUE);
-        };
+        RxJavaContext<T> rx = rxContext(context);
+        io.reactivex.functions.Consumer<T> onNext = nextConsumer == null ? value -> { } : nextConsumer::accept;
+        io.reactivex.functions.Consumer<Throwable> onError = errorConsumer == null
+                ? throwable -> RxJavaPlugins.onError(new OnErrorNotImplementedException(throwable))
+                : errorConsumer::accept;
+        io.reactivex.functions.Action onComplete = completeConsumer == null ? () -> { } : completeConsumer::run;
 
         //noinspection ResultOfMethodCallIgnored
-        toFlowable(context).subscribe(
-                nextConsumer::accept,
-                errorConsumer::accept,
-                completeConsumer::run,
-                rxSubscribeConsumer
-        );
+        if (rx.single != null || rx.maybe != null) {
+            Maybe<T> maybe = rx.single != null ? rx.single.toMaybe() : rx.maybe;
+            if (subscribeConsumer != null) {
+                maybe = maybe.doOnSubscribe(disposable -> subscribeConsumer.run());
+            }
+            maybe.subscribe(value -> {
+                onNext.accept(value);
+                onComplete.run();
+            }, onError, onComplete);
+        } else {
+            io.reactivex.functions.Consumer<? super Subscription> onSubscribe = subscription -> {
+                if (subscribeConsumer != null) {
+                    subscribeConsumer.run();
+                }
+                subscription.request(Long.MAX_VALUE);
+            };
+            rx.flowable.subscribe(onNext, onError, onComplete, onSubscribe);
+        }
+    }
+
+    private <T> Flowable<T> toFlowable(Context<T> context) {
+        return rxContext(context).flowable();
+    }
+
+    /**
+     * @param context A {@link Context} of at most one value.
+     * @return Its {@link Maybe}.
+     */
+    private <T> Maybe<T> toMaybe(Context<T> context) {
+        RxJavaContext<T> rx = rxContext(context);
+        if (rx.maybe != null) {
+            return rx.maybe;
+        } else if (rx.single != null) {
+            return rx.single.toMaybe();
+        }
+        return rx.flowable.firstElement();
+    }
+
+    private <T> RxJavaContext<T> rxContext(Context<T> context) {
+        return (RxJavaContext<T>) adopt(context);
+    }
+
+    @Override
+    public <T> Context<T> adopt(Context<T> context) {
+        if (context instanceof RxJavaContext) {
+            return context;
+        }
+        return toContext(context.publisher(), context.cardinality());
     }
 
     @Override
     public <T> Context<T> toContext(Publisher<T> publisher) {
-        return new RxJavaContext<>(publisher);
+        return new RxJavaContext<>(Flowable.fromPublisher(publisher), Cardinality.MANY);
+    }
+
+    @Override
+    public <T> Context<T> toContext(Publisher<T> publisher, Cardinality cardinality) {
+        if (cardinality.isSingle()) {
+            return new RxJavaContext<>(Flowable.fromPublisher(publisher).firstElement(), cardinality);
+        }
+        return toContext(publisher);
     }
 
     @Override
     public <T> Context<T> toContext(Flow.Publisher<T> flowPublisher) {
-        return new RxJavaContext<>(AdapterSupport.toPublisher(flowPublisher));
+        if (flowPublisher instanceof RxJavaContext) {
+            return (RxJavaContext<T>) flowPublisher;
+        }
+        return toContext(AdapterSupport.toPublisher(flowPublisher));
     }
 
     @Override
     public <T> Flow.Publisher<T> toFlowPublisher(Context<T> context) {
-        return AdapterSupport.toFlowPublisher(toPublisher(context));
+        return rxContext(context);
     }
 
     @Override
     public <T> Publisher<T> toPublisher(Context<T> context) {
-        if (context instanceof RxJavaContext) {
-            return ((RxJavaContext<T>) context).publisher;
-        } else {
-            throw new IllegalArgumentException("context");
-        }
+        return toFlowable(context);
     }
 
     /**
-     * Implementation of {@link Context} for the Reactor API.
+     * Implementation of {@link Context} for the RxJava API, holding a {@link Single}, a {@link Maybe} or a
+     * {@link Flowable} by its {@link Cardinality}. Single-valued contexts convert to a {@link Flowable} only when
+     * one is needed. A context is also the {@link Flow.Publisher} of its values, so
+     * converting it to one allocates nothing.
      *
      * @param <T> The type of value being handled.
      */
-    private static class RxJavaContext<T> implements Context<T> {
-        private final Publisher<T> publisher;
+    private static class RxJavaContext<T> implements Context<T>, Flow.Publisher<T> {
+        private final Single<T> single;
+        private final Maybe<T> maybe;
+        private final Cardinality cardinality;
+        private Flowable<T> flowable;
 
-        private RxJavaContext(Publisher<T> publisher) {
-            this.publisher = publisher;
+        private RxJavaContext(Single<T> single, Cardinality cardinality) {
+            this.single = single;
+            this.maybe = null;
+            this.cardinality = cardinality;
+        }
+
+        private RxJavaContext(Maybe<T> maybe, Cardinality cardinality) {
+            this.single = null;
+            this.maybe = maybe;
+            this.cardinality = cardinality;
         }
-    }
 
+        private RxJavaContext(Flowable<T> flowable, Cardinality cardinality) {
+            this.single = null;
+            this.maybe = null;
+            this.flowable = flowable;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public Cardinality cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public Publisher<T> publisher() {
+            return flowable();
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super T> subscriber) {
+            flowable().subscribe(AdapterSupport.toSubscriber(subscriber));
+        }
+
+        private Flowable<T> flowable() {
+            if (flowable == null) {
+                flowable = single != null ? single.toFlowable() : maybe.toFlowable();
+            }
+            return flowable;
+        }
+    }
 }